@@ -1,13 +1,19 @@
 package rocks.bastion;
 
 import rocks.bastion.core.Assertions;
+import rocks.bastion.core.BastionContext;
 import rocks.bastion.core.BastionFactory;
 import rocks.bastion.core.HttpRequest;
+import rocks.bastion.core.PreparedRequest;
 import rocks.bastion.core.builder.BastionBuilder;
 import rocks.bastion.core.builder.ExecuteRequestBuilder;
 import rocks.bastion.core.builder.PostExecutionBuilder;
 import rocks.bastion.core.configuration.Configuration;
+import rocks.bastion.core.configuration.ConfigurationWatcher;
 import rocks.bastion.core.configuration.GlobalRequestAttributes;
+import rocks.bastion.core.feed.DataFeeder;
+import rocks.bastion.core.feed.RequestFeed;
+import rocks.bastion.core.load.LoadTest;
 import rocks.bastion.core.resource.ResourceLoader;
 
 import static java.util.Objects.requireNonNull;
@@ -44,6 +50,9 @@ import static java.util.Objects.requireNonNull;
  * <li>{@link rocks.bastion.core.builder.AssertionsBuilder#withAssertions(Assertions)}: Specify what test assertions to apply to the response. We recommend supplying the
  * assertions as a lambda or using one of the available subclass implementations of {@link Assertions}.</li>
  * <li>{@link ExecuteRequestBuilder#call()}: Starts the Bastion test by executing the HTTP request.</li>
+ * <li>{@link ExecuteRequestBuilder#callAsync()}: Starts the Bastion test on a background thread, returning a
+ * {@link java.util.concurrent.CompletableFuture} which completes once the test has finished. Use this to overlap many
+ * requests instead of waiting on each one in turn.</li>
  * </ul>
  * <p>
  * You cannot call any of the methods above before any of the methods listed before it. Therefore, in your test, you should call
@@ -131,6 +140,15 @@ import static java.util.Objects.requireNonNull;
  * {@link GlobalRequestAttributes#addRouteParam(String, String) route parameters} to all requests you make using Bastion. You can also
  * {@link GlobalRequestAttributes#setGlobalRequestTimeout(long) configure the timeout} which applies to requests.
  * </p>
+ * <h1>Load Tests</h1>
+ * <p>
+ * The same request definitions can also be used to measure performance. {@link Bastion#load(HttpRequest)} returns a
+ * {@link LoadTest} which sends the request repeatedly from a number of concurrent workers, for a number of iterations or
+ * for a fixed duration. The run ends with a {@link rocks.bastion.core.load.LoadTestSummary summary} containing the throughput,
+ * the number of errors and a histogram of the latencies, which your tests can assert on. To send a different request for
+ * every row of a CSV or JSON Lines file, create a {@link RequestFeed} using a {@link DataFeeder} and pass it to
+ * {@link Bastion#load(RequestFeed)}.
+ * </p>
  * <h1>Groovy Tests</h1>
  * <p>
  * Certain features of Bastion such as the {@link rocks.bastion.core.json.JsonRequest} and the {@link rocks.bastion.core.json.JsonResponseAssertions}
@@ -184,11 +202,85 @@ public final class Bastion {
         return BastionFactory.getDefaultBastionFactory().getBastion("", request);
     }
 
+    /**
+     * <p>
+     * Starts building a load test which will execute the specified HTTP request repeatedly. The first parameter is a descriptive
+     * string that appears in the summary of the run. The method returns a {@link LoadTest} which lets you specify the number of
+     * workers, how long to run for and which assertions to run on a sample of the responses.
+     * </p>
+     *
+     * @param message A descriptive message for this load test.
+     * @param request The HTTP request that Bastion will execute repeatedly.
+     * @return A load test which can be further specified and then run.
+     */
+    public static LoadTest load(String message, HttpRequest request) {
+        return BastionFactory.getDefaultBastionFactory().getLoadTest(message, request);
+    }
+
+    /**
+     * <p>
+     * Starts building a load test which will execute the specified HTTP request repeatedly. The method returns a {@link LoadTest}
+     * which lets you specify the number of workers, how long to run for and which assertions to run on a sample of the responses.
+     * </p>
+     *
+     * @param request The HTTP request that Bastion will execute repeatedly.
+     * @return A load test which can be further specified and then run.
+     */
+    public static LoadTest load(HttpRequest request) {
+        return BastionFactory.getDefaultBastionFactory().getLoadTest("", request);
+    }
+
+    /**
+     * <p>
+     * Starts building a load test which will execute the requests of the specified feed, taking each request from the feed
+     * only when a worker is ready to send it. The first parameter is a descriptive string that appears in the summary of the
+     * run. Unless the feed is circular, the run ends once every request in the feed has been sent.
+     * </p>
+     *
+     * @param message A descriptive message for this load test.
+     * @param feed    The feed of HTTP requests that Bastion will execute.
+     * @return A load test which can be further specified and then run.
+     */
+    public static LoadTest load(String message, RequestFeed feed) {
+        return BastionFactory.getDefaultBastionFactory().getLoadTest(message, feed);
+    }
+
+    /**
+     * <p>
+     * Starts building a load test which will execute the requests of the specified feed, taking each request from the feed
+     * only when a worker is ready to send it. Unless the feed is circular, the run ends once every request in the feed has
+     * been sent.
+     * </p>
+     *
+     * @param feed The feed of HTTP requests that Bastion will execute.
+     * @return A load test which can be further specified and then run.
+     */
+    public static LoadTest load(RequestFeed feed) {
+        return BastionFactory.getDefaultBastionFactory().getLoadTest("", feed);
+    }
+
+    /**
+     * <p>
+     * Resolves the specified HTTP request against the global configuration so that it can be executed any number of times,
+     * including concurrently, without being resolved again. Unlike {@link #request(HttpRequest)}, a prepared request
+     * does not run any assertions: each execution returns the raw response.
+     * </p>
+     *
+     * @param request The HTTP request to prepare.
+     * @return The prepared request.
+     */
+    public static PreparedRequest prepare(HttpRequest request) {
+        return PreparedRequest.prepare(request, BastionFactory.getDefaultBastionFactory().getConfiguration());
+    }
+
     /**
      * <p>
      * Loads Bastion's configuration from the provided resource location. The resource location should be a valid .yml file that
      * corresponds to the same schema as a {@link Configuration}.
      * </p>
+     * <p>
+     * Inside a {@link BastionContext}, only the context's configuration is replaced.
+     * </p>
      *
      * @see Configuration
      * @see ResourceLoader
@@ -202,7 +294,25 @@ public final class Bastion {
 
     /**
      * <p>
-     * Starts building or modifying the configuration of the {@link GlobalRequestAttributes} for Bastion.
+     * Loads Bastion's configuration from the provided file, as with {@link #loadConfiguration(String)}, and then watches the
+     * file for changes. Whenever the file changes and is still a valid configuration, its global request attributes, such
+     * as headers carrying authentication tokens, replace the current ones atomically: requests in progress are not
+     * affected, and pooled connections are kept. Close the returned watcher to stop watching the file.
+     * </p>
+     *
+     * @see ConfigurationWatcher
+     * @param resourceLocation The location of the Bastion configuration file on the file system.
+     * @return The started watcher.
+     */
+    public static ConfigurationWatcher watchConfiguration(String resourceLocation) {
+        requireNonNull(resourceLocation, "The resource location cannot be null.");
+        return BastionFactory.watchConfiguration(resourceLocation);
+    }
+
+    /**
+     * <p>
+     * Starts building or modifying the configuration of the {@link GlobalRequestAttributes} for Bastion. Inside a
+     * {@link BastionContext}, these are the context's global request attributes.
      * </p>
      *
      * @return The configured global request attributes.
@@ -211,6 +321,34 @@ public final class Bastion {
         return BastionFactory.getDefaultBastionFactory().getConfiguration().getGlobalRequestAttributes();
     }
 
+    /**
+     * <p>
+     * Opens a {@link BastionContext} on the current thread which uses the configuration loaded from the provided resource
+     * location. Until the context is closed, Bastion requests, {@link #globals()} and {@link #loadConfiguration(String)}
+     * on this thread, and on the tasks it starts using {@link ExecuteRequestBuilder#callAsync()}, use the context's own
+     * configuration and leave that of other threads alone. Use it in a try-with-resources statement.
+     * </p>
+     *
+     * @param resourceLocation The resource location for the Bastion configuration.
+     * @return The open context, which must be closed by the current thread.
+     */
+    public static BastionContext withConfiguration(String resourceLocation) {
+        return BastionContext.open(resourceLocation);
+    }
+
+    /**
+     * <p>
+     * Opens a {@link BastionContext} on the current thread which uses the provided configuration.
+     * </p>
+     *
+     * @param configuration The configuration to use inside the context.
+     * @return The open context, which must be closed by the current thread.
+     * @see #withConfiguration(String)
+     */
+    public static BastionContext withConfiguration(Configuration configuration) {
+        return BastionContext.open(configuration);
+    }
+
     private Bastion() {
         // This class should not be instantiated.
     }
@@ -1,12 +1,17 @@
 package rocks.bastion.core;
 
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import rocks.bastion.core.builder.*;
 import rocks.bastion.core.configuration.Configuration;
 import rocks.bastion.core.event.*;
 import rocks.bastion.core.view.*;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static java.lang.String.format;
 
@@ -19,10 +24,17 @@ import static java.lang.String.format;
  */
 public class BastionBuilderImpl<MODEL> implements BastionBuilder<MODEL>, ResponseDecodersRegistrar, BastionEventPublisher, PostExecutionBuilder<MODEL> {
 
+    /**
+     * Background threads used by {@link #callAsync()} when the user does not supply an executor. Bastion requests spend most
+     * of their time blocked on I/O so the pool grows on demand rather than being bound to the number of processors.
+     */
+    private static final ExecutorService ASYNC_EXECUTOR = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("bastion-async-%d").build());
+
     private State currentState;
     private String message;
     private Collection<BastionListener> bastionListenerCollection;
-    private List<ResponseDecoder> modelConverters;
+    private ResponseDecoderRegistry modelConverters;
     private HttpRequest request;
     private Class<MODEL> modelType;
     private boolean suppressAssertions;
@@ -36,7 +48,7 @@ public class BastionBuilderImpl<MODEL> implements BastionBuilder<MODEL>, Respons
         Objects.requireNonNull(message);
         Objects.requireNonNull(request);
         bastionListenerCollection = new LinkedList<>();
-        modelConverters = new LinkedList<>();
+        modelConverters = new ResponseDecoderRegistry();
         this.message = message;
         this.request = request;
         modelType = null;
@@ -94,25 +106,19 @@ public class BastionBuilderImpl<MODEL> implements BastionBuilder<MODEL>, Respons
     @Override
     public PostExecutionBuilder<? extends MODEL> call() {
         transitionToState(State.ASSERTIONS, State.EXECUTED);
-        modelResponse = null;
-        Response response = null;
-        try {
-            notifyListenersCallStarted(new BastionStartedEvent(request));
-            response = new RequestExecutor(request, getConfiguration()).execute();
-            bindings = decodeBindings(response);
-            model = extractModel();
-            modelResponse = new ModelResponse<>(response, model, bindings);
-            executeAssertions(modelResponse);
-            return this;
-        } catch (AssertionError error) {
-            notifyListenersCallFailed(new BastionFailureEvent(request, response, error));
-            return this;
-        } catch (Throwable throwable) {
-            notifyListenersCallError(new BastionErrorEvent(request, response, throwable));
-            return this;
-        } finally {
-            notifyListenersCallFinished(new BastionFinishedEvent(request, response));
-        }
+        return execute();
+    }
+
+    @Override
+    public CompletableFuture<PostExecutionBuilder<? extends MODEL>> callAsync() {
+        return callAsync(ASYNC_EXECUTOR);
+    }
+
+    @Override
+    public CompletableFuture<PostExecutionBuilder<? extends MODEL>> callAsync(Executor executor) {
+        Objects.requireNonNull(executor);
+        transitionToState(State.ASSERTIONS, State.EXECUTED);
+        return CompletableFuture.supplyAsync(BastionContext.propagate(this::execute), executor);
     }
 
     @Override
@@ -151,7 +157,7 @@ public class BastionBuilderImpl<MODEL> implements BastionBuilder<MODEL>, Respons
     @Override
     public void registerModelConverter(ResponseDecoder decoder) {
         Objects.requireNonNull(decoder);
-        modelConverters.add(decoder);
+        modelConverters.register(decoder);
     }
 
     public void setConfiguration(Configuration configuration) {
@@ -162,6 +168,28 @@ public class BastionBuilderImpl<MODEL> implements BastionBuilder<MODEL>, Respons
         return configuration;
     }
 
+    private PostExecutionBuilder<? extends MODEL> execute() {
+        modelResponse = null;
+        Response response = null;
+        try {
+            notifyListenersCallStarted(new BastionStartedEvent(request));
+            response = new RequestExecutor(request, getConfiguration()).execute();
+            bindings = decodeBindings(response);
+            model = extractModel();
+            modelResponse = new ModelResponse<>(response, model, bindings);
+            executeAssertions(modelResponse);
+            return this;
+        } catch (AssertionError error) {
+            notifyListenersCallFailed(new BastionFailureEvent(request, response, error));
+            return this;
+        } catch (Throwable throwable) {
+            notifyListenersCallError(new BastionErrorEvent(request, response, throwable));
+            return this;
+        } finally {
+            notifyListenersCallFinished(new BastionFinishedEvent(request, response));
+        }
+    }
+
     private String getDescriptiveText() {
         if (Strings.isNullOrEmpty(message)) {
             return request.name();
@@ -177,7 +205,7 @@ public class BastionBuilderImpl<MODEL> implements BastionBuilder<MODEL>, Respons
     }
 
     private Bindings decodeBindings(Response response) {
-        ViewBinder binder = new ViewBinder(response, modelConverters);
+        ViewBinder binder = new ViewBinder(response, modelConverters.getDecoders(response));
         return binder.bind(new DecodingHints(modelType));
     }
 
@@ -0,0 +1,237 @@
+package rocks.bastion.core;
+
+import rocks.bastion.Bastion;
+import rocks.bastion.core.configuration.BastionConfigurationLoader;
+import rocks.bastion.core.configuration.Configuration;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>A scope inside which Bastion uses its own {@link BastionFactory} and {@link Configuration} instead of the process-wide
+ * {@link BastionFactory#getDefaultBastionFactory() default factory}. While a context is open on a thread, every call made on
+ * that thread to {@link Bastion#request(HttpRequest)}, {@link Bastion#load(HttpRequest)}, {@link Bastion#prepare(HttpRequest)},
+ * {@link Bastion#globals()} and {@link Bastion#loadConfiguration(String)} uses and changes the context's factory only. This
+ * lets test classes which target different environments or tenants run at the same time in one JVM.</p>
+ * <p>A context is opened with try-with-resources, and closing it restores whatever was in effect before:</p>
+ * <pre>{@code
+ * try (BastionContext context = BastionContext.open("classpath:/tenant-a.yml")) {
+ *     Bastion.globals().addHeader("X-Tenant", "a");
+ *     Bastion.request(...).call();
+ * }
+ * }</pre>
+ * <p>or around a lambda, using {@link #run(Configuration, Runnable)} or {@link #call(Configuration, Supplier)}. Contexts
+ * can be nested; the innermost one is used.</p>
+ * <p>A context belongs to the thread which opened it. It is carried over to the task started by
+ * {@link rocks.bastion.core.builder.ExecuteRequestBuilder#callAsync() callAsync()} and to the workers of a
+ * {@link rocks.bastion.core.load.LoadTest load test}. Other tasks handed to another thread, such as those submitted to an
+ * executor or chained onto a {@link java.util.concurrent.CompletableFuture}, must be wrapped using one of the
+ * {@code propagate} methods to see the context. Threads never inherit a context by themselves, so that pooled threads
+ * cannot keep a context after the task which needed it is done.</p>
+ */
+public final class BastionContext implements AutoCloseable {
+
+    private static final ThreadLocal<BastionContext> CURRENT = new ThreadLocal<>();
+
+    private final BastionFactory factory;
+    private final BastionContext enclosing;
+    private final Thread owner;
+    private boolean closed;
+
+    private BastionContext(BastionFactory factory, BastionContext enclosing) {
+        this.factory = factory;
+        this.enclosing = enclosing;
+        owner = Thread.currentThread();
+    }
+
+    /**
+     * Opens a context on the current thread which uses a new {@link DefaultBastionFactory} with a new, empty
+     * {@link Configuration}.
+     *
+     * @return The open context, which must be closed by the current thread
+     */
+    public static BastionContext open() {
+        return open(new Configuration());
+    }
+
+    /**
+     * Opens a context on the current thread which uses a new {@link DefaultBastionFactory} with the specified configuration.
+     *
+     * @param configuration The non-{@literal null} configuration to use inside the context
+     * @return The open context, which must be closed by the current thread
+     */
+    public static BastionContext open(Configuration configuration) {
+        requireNonNull(configuration, "Configuration should not be null.");
+        DefaultBastionFactory factory = new DefaultBastionFactory();
+        factory.setConfiguration(configuration);
+        return open(factory);
+    }
+
+    /**
+     * Opens a context on the current thread which uses a new {@link DefaultBastionFactory} with the configuration loaded from
+     * the specified resource, as with {@link Bastion#loadConfiguration(String)}.
+     *
+     * @param resourceLocation The non-{@literal null} location of the configuration file
+     * @return The open context, which must be closed by the current thread
+     */
+    public static BastionContext open(String resourceLocation) {
+        requireNonNull(resourceLocation, "The resource location cannot be null.");
+        return open(new BastionConfigurationLoader(resourceLocation).load());
+    }
+
+    /**
+     * Opens a context on the current thread which uses the specified factory.
+     *
+     * @param factory The non-{@literal null} factory to use inside the context
+     * @return The open context, which must be closed by the current thread
+     */
+    public static BastionContext open(BastionFactory factory) {
+        requireNonNull(factory, "The Bastion factory cannot be null");
+        BastionContext context = new BastionContext(factory, CURRENT.get());
+        CURRENT.set(context);
+        return context;
+    }
+
+    /**
+     * Runs the specified action inside a context which uses the specified configuration.
+     *
+     * @param configuration The non-{@literal null} configuration to use inside the context
+     * @param action        The non-{@literal null} action to run
+     */
+    public static void run(Configuration configuration, Runnable action) {
+        requireNonNull(action);
+        try (BastionContext ignored = open(configuration)) {
+            action.run();
+        }
+    }
+
+    /**
+     * Gets a result inside a context which uses the specified configuration.
+     *
+     * @param configuration The non-{@literal null} configuration to use inside the context
+     * @param action        The non-{@literal null} action which provides the result
+     * @param <T>           The type of result
+     * @return The result provided by the action
+     */
+    public static <T> T call(Configuration configuration, Supplier<T> action) {
+        requireNonNull(action);
+        try (BastionContext ignored = open(configuration)) {
+            return action.get();
+        }
+    }
+
+    /**
+     * Gets the innermost context open on the current thread, including a context carried over to the current task.
+     *
+     * @return The current context, or an {@link Optional#empty() empty Optional} if Bastion uses the default factory
+     */
+    public static Optional<BastionContext> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Wraps the specified task so that it runs inside the context which is current now, on whichever thread it runs on.
+     * If no context is current now, the task runs outside any context.
+     *
+     * @param task The non-{@literal null} task to wrap
+     * @return A task which runs the specified task inside the current context
+     */
+    public static Runnable propagate(Runnable task) {
+        requireNonNull(task);
+        BastionContext captured = CURRENT.get();
+        return () -> {
+            BastionContext previous = enter(captured);
+            try {
+                task.run();
+            } finally {
+                enter(previous);
+            }
+        };
+    }
+
+    /**
+     * Wraps the specified task so that it runs inside the context which is current now, on whichever thread it runs on.
+     *
+     * @param task The non-{@literal null} task to wrap
+     * @param <T>  The type of result
+     * @return A task which runs the specified task inside the current context
+     * @see #propagate(Runnable)
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        requireNonNull(task);
+        BastionContext captured = CURRENT.get();
+        return () -> {
+            BastionContext previous = enter(captured);
+            try {
+                return task.get();
+            } finally {
+                enter(previous);
+            }
+        };
+    }
+
+    /**
+     * Wraps the specified executor so that every task given to it runs inside the context which is current at the time the
+     * task is given, such as when passing it to {@link java.util.concurrent.CompletableFuture#thenApplyAsync(java.util.function.Function, Executor)}.
+     *
+     * @param executor The non-{@literal null} executor to wrap
+     * @return An executor which propagates the current context to its tasks
+     */
+    public static Executor propagate(Executor executor) {
+        requireNonNull(executor);
+        return task -> executor.execute(propagate(task));
+    }
+
+    /**
+     * @return The factory of the current context, or {@literal null} if no context is current
+     */
+    static BastionFactory currentFactory() {
+        BastionContext context = CURRENT.get();
+        return (context == null) ? null : context.factory;
+    }
+
+    private static BastionContext enter(BastionContext context) {
+        BastionContext previous = CURRENT.get();
+        if (context == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(context);
+        }
+        return previous;
+    }
+
+    /**
+     * @return The factory used inside this context
+     */
+    public BastionFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     * @return The configuration used inside this context
+     */
+    public Configuration getConfiguration() {
+        return factory.getConfiguration();
+    }
+
+    /**
+     * Closes this context, restoring the context which was current when it was opened. Contexts must be closed by the thread
+     * which opened them, innermost first. Closing a context more than once has no effect.
+     *
+     * @throws IllegalStateException if this context is not the innermost context open on the current thread
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        if ((Thread.currentThread() != owner) || (CURRENT.get() != this)) {
+            throw new IllegalStateException("A Bastion context must be closed by the thread which opened it, innermost context first");
+        }
+        closed = true;
+        enter(enclosing);
+    }
+}
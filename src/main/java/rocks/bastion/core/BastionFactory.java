@@ -4,6 +4,9 @@ import rocks.bastion.Bastion;
 import rocks.bastion.core.builder.BastionBuilder;
 import rocks.bastion.core.configuration.BastionConfigurationLoader;
 import rocks.bastion.core.configuration.Configuration;
+import rocks.bastion.core.configuration.ConfigurationWatcher;
+import rocks.bastion.core.feed.RequestFeed;
+import rocks.bastion.core.load.LoadTest;
 
 import static java.util.Objects.requireNonNull;
 
@@ -12,38 +15,60 @@ import static java.util.Objects.requireNonNull;
  * <i>Default</i> factory which is used by the {@link Bastion#request(String, HttpRequest)} method. Subclasses will generally
  * implement the {@link BastionFactory#prepareBastion(BastionBuilderImpl)} to further configure the instance with any additional
  * features necessary.
+ * <p>
+ * The default factory and each factory's configuration are published safely to all threads, so requests can be started
+ * from many threads at once, such as when tests run in parallel. Replacing the configuration, for example using
+ * {@link #loadConfiguration(String)}, swaps in the new configuration atomically: requests already started keep the
+ * configuration they started with.
+ * <p>
+ * A {@link BastionContext} replaces the default factory for the thread which opens it, so that tests running in parallel
+ * can each use their own factory and configuration.
  */
 public abstract class BastionFactory {
 
-    private static BastionFactory defaultBastionFactory = null;
+    private static volatile BastionFactory defaultBastionFactory = null;
 
-    private boolean suppressAssertions = false;
-    private Configuration configuration;
+    private volatile boolean suppressAssertions = false;
+    private volatile Configuration configuration;
 
     /**
      * Gets the {@link BastionFactory} which is designated as the "Default" factory. This factory is the one used
-     * when a user calls the {@link Bastion#request(String, HttpRequest)} method.
+     * when a user calls the {@link Bastion#request(String, HttpRequest)} method. Inside a {@link BastionContext}, the
+     * context's factory is returned instead.
      *
      * @return A non-null factory instance which is considered to be the "Default."
      */
-    public static synchronized BastionFactory getDefaultBastionFactory() {
-        if (defaultBastionFactory == null) {
-            setDefaultBastionFactory(new DefaultBastionFactory());
+    public static BastionFactory getDefaultBastionFactory() {
+        BastionFactory factory = BastionContext.currentFactory();
+        if (factory != null) {
+            return factory;
         }
-        return defaultBastionFactory;
+        factory = defaultBastionFactory;
+        if (factory == null) {
+            synchronized (BastionFactory.class) {
+                factory = defaultBastionFactory;
+                if (factory == null) {
+                    factory = new DefaultBastionFactory();
+                    defaultBastionFactory = factory;
+                }
+            }
+        }
+        return factory;
     }
 
     /**
      * Designate a new factory instance as the "Default". This changes which factory is used when users call the
      * {@link Bastion#request(String, HttpRequest)} method allowing external systems to modify Bastion functionality. For example,
      * a test library could potentially register a new factory which will register event listeners for when Bastion calls
-     * start/end to display them in a UI.
+     * start/end to display them in a UI. Threads inside a {@link BastionContext} keep using the context's factory.
      *
      * @param defaultBastionFactory The factory instance to designate as "Default". Cannot be {@literal null}.
      */
     public static void setDefaultBastionFactory(BastionFactory defaultBastionFactory) {
         requireNonNull(defaultBastionFactory, "The default Bastion factory cannot be null");
-        BastionFactory.defaultBastionFactory = defaultBastionFactory;
+        synchronized (BastionFactory.class) {
+            BastionFactory.defaultBastionFactory = defaultBastionFactory;
+        }
     }
 
     public static Configuration loadConfiguration(String resourceLocation) {
@@ -53,6 +78,19 @@ public abstract class BastionFactory {
         return bastionFactory.getConfiguration();
     }
 
+    /**
+     * Loads the configuration from the specified file, as with {@link #loadConfiguration(String)}, and keeps applying the
+     * file's global request attributes to that configuration whenever the file changes, until the returned watcher is
+     * closed.
+     *
+     * @param resourceLocation The location of a configuration file on the file system
+     * @return The started watcher
+     * @see ConfigurationWatcher
+     */
+    public static ConfigurationWatcher watchConfiguration(String resourceLocation) {
+        return new ConfigurationWatcher(resourceLocation, loadConfiguration(resourceLocation)).start();
+    }
+
     public Configuration getConfiguration() {
         return configuration;
     }
@@ -82,6 +120,34 @@ public abstract class BastionFactory {
         return bastion;
     }
 
+    /**
+     * Construct and initialise a new {@link LoadTest} which will repeatedly execute the specified {@code request} using this
+     * factory's configuration.
+     *
+     * @param message A non-{@literal null} String which describes the load test. Appears in the summary of the run.
+     * @param request A non-{@literal null} instance of a {@linkplain HttpRequest} which will be performed repeatedly.
+     * @return A configured load test which the user can further specify and run.
+     */
+    public LoadTest getLoadTest(String message, HttpRequest request) {
+        LoadTest loadTest = new LoadTest(message, request, getConfiguration());
+        prepareLoadTest(loadTest);
+        return loadTest;
+    }
+
+    /**
+     * Construct and initialise a new {@link LoadTest} which will execute the requests of the specified {@code feed} using
+     * this factory's configuration.
+     *
+     * @param message A non-{@literal null} String which describes the load test. Appears in the summary of the run.
+     * @param feed    A non-{@literal null} {@linkplain RequestFeed} whose requests will be performed.
+     * @return A configured load test which the user can further specify and run.
+     */
+    public LoadTest getLoadTest(String message, RequestFeed feed) {
+        LoadTest loadTest = new LoadTest(message, feed, getConfiguration());
+        prepareLoadTest(loadTest);
+        return loadTest;
+    }
+
     /**
      * Configures whether {@link BastionBuilderImpl} objects returned by this factory should be configured to suppress assertions or
      * not. When set to suppress assertions, Bastion will execute the HTTP request as normal but will skip executing any assertions
@@ -101,4 +167,13 @@ public abstract class BastionFactory {
      * @param bastion The builder instance to configure.
      */
     protected abstract void prepareBastion(BastionBuilderImpl<?> bastion);
+
+    /**
+     * Configures the specified {@link LoadTest}. Factory subclasses may override this method to register the model converters
+     * used to decode the responses on which assertions are run. Does nothing by default.
+     *
+     * @param loadTest The load test to configure.
+     */
+    protected void prepareLoadTest(LoadTest loadTest) {
+    }
 }
@@ -2,9 +2,11 @@ package rocks.bastion.core;
 
 import rocks.bastion.core.configuration.Configuration;
 import rocks.bastion.core.event.*;
+import rocks.bastion.core.load.LoadTest;
 import rocks.bastion.core.view.JsonResponseDecoder;
 import rocks.bastion.core.view.ResponseDecoder;
 import rocks.bastion.core.view.ResponseDecodersRegistrar;
+import rocks.bastion.core.view.StreamingJsonResponseDecoder;
 import rocks.bastion.core.view.StringResponseDecoder;
 
 /**
@@ -18,6 +20,8 @@ import rocks.bastion.core.view.StringResponseDecoder;
  * <li>{@link JsonResponseDecoder} - Binds an HTTP response with content-type {@code application/json} to
  * a Java-based object using the
  * <a href="https://fasterxml.github.io/jackson-databind/javadoc/2.0.0/com/fasterxml/jackson/databind/ObjectMapper.html">Jackson Object Mappe</a>.</li>
+ * <li>{@link StreamingJsonResponseDecoder} - Binds a {@link rocks.bastion.core.view.JsonArrayView} which streams the
+ * elements of a JSON array in the response without parsing the whole response.</li>
  * </ul>
  */
 public class DefaultBastionFactory extends BastionFactory implements BastionListener {
@@ -61,8 +65,14 @@ public class DefaultBastionFactory extends BastionFactory implements BastionList
         bastion.registerListener(this);
     }
 
+    @Override
+    protected void prepareLoadTest(LoadTest loadTest) {
+        registerModelConverters(loadTest);
+    }
+
     protected void registerModelConverters(ResponseDecodersRegistrar bastion) {
-        bastion.registerModelConverter(new JsonResponseDecoder());
+        bastion.registerModelConverter(new JsonResponseDecoder(getConfiguration().getJsonMappers()));
+        bastion.registerModelConverter(new StreamingJsonResponseDecoder(getConfiguration().getJsonMappers()));
         bastion.registerModelConverter(new StringResponseDecoder());
     }
 
@@ -6,13 +6,17 @@ import rocks.bastion.core.resource.ResourceLoader;
 import rocks.bastion.core.resource.ResourceNotFoundException;
 import rocks.bastion.core.resource.UnreadableResourceException;
 
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.logging.Logger;
 
 /**
  * An HTTP request which takes any arbitrary file/resource, using the data within as its content body. The {@linkplain FileRequest} will not perform
- * any conversions or validation on any user-supplied body content. Use the static factory methods, such as {@link #post(String, String)}
+ * any conversions or validation on any user-supplied body content: the resource's bytes are sent exactly as they are, so binary
+ * files such as images and archives can be uploaded. A resource which is a file on the file system is streamed from disk
+ * while the request is sent, rather than being loaded into memory; other resources are loaded as a byte array. Use the static factory methods, such as {@link #post(String, String)}
  * or {@link #delete(String, String)} to initialise a new {@linkplain FileRequest}.
  * <p>
  * By default, this request will contain no headers (except for the content-type) and no query parameters. Use the {@link #addHeader(String, String)}
@@ -152,9 +156,13 @@ public class FileRequest implements HttpRequest {
     }
 
     private final GeneralRequest generalRequest;
+    private final Object body;
 
     protected FileRequest(HttpMethod method, String url, String resource) throws UnreadableResourceException, ResourceNotFoundException {
-        generalRequest = GeneralRequest.withMethod(method, url, new ResourceLoader(resource).load());
+        generalRequest = GeneralRequest.withMethod(method, url, GeneralRequest.EMPTY_BODY);
+        ResourceLoader resourceLoader = new ResourceLoader(resource);
+        Optional<Path> resourcePath = resourceLoader.getPath();
+        body = resourcePath.isPresent() ? resourcePath.get() : resourceLoader.loadBuffer();
         guessResourceMimeType(resource);
     }
 
@@ -255,9 +263,16 @@ public class FileRequest implements HttpRequest {
         return generalRequest.routeParams();
     }
 
+    /**
+     * Returns the content of the file: a {@link java.nio.file.Path} if the resource is a file on the file system, or
+     * a new read-only {@link java.nio.ByteBuffer} over the resource's cached data on every call otherwise, so that reading
+     * one buffer does not move the position of the others.
+     *
+     * @return The content body for this request
+     */
     @Override
     public Object body() {
-        return generalRequest.body();
+        return (body instanceof ByteBuffer) ? ((ByteBuffer) body).duplicate() : body;
     }
 
     @Override
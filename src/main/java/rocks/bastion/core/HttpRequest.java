@@ -85,6 +85,11 @@ public interface HttpRequest {
      * a body. Bastion may use the content-type of this request, returned by the {@link #contentType()} method, as well as
      * the runtime type of the object returned by this method to determine how best to serialize the returned object into
      * the HTTP request's body.
+     * <p>
+     * Binary bodies are sent exactly as given: return a {@code byte[]}, a {@link java.nio.ByteBuffer}, a {@link java.nio.file.Path}
+     * or {@link java.io.File} (streamed from disk), a {@link StreamingBody} or an {@link java.io.InputStream} (which can only be
+     * sent once). Any other object is converted to a string using its {@code toString()} method and sent encoded in UTF-8.
+     * </p>
      *
      * @return An object that will serve as the content body for this request. May be {@literal null}.
      */
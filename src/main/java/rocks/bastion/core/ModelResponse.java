@@ -19,11 +19,13 @@ public class ModelResponse<MODEL> implements Response {
     private final Response response;
     private final MODEL model;
     private final Bindings views;
+    private final ResponseDocuments documents;
 
     public ModelResponse(Response response, MODEL model, Bindings views) {
         this.response = Objects.requireNonNull(response);
         this.model = model;
         this.views = Objects.requireNonNull(views);
+        documents = response.getDocuments();
     }
 
     @Override
@@ -51,6 +53,17 @@ public class ModelResponse<MODEL> implements Response {
         return response.getBody();
     }
 
+    /**
+     * Returns the documents of the response wrapped by this model response, so that assertions reuse the documents which
+     * were already parsed while decoding the response's views.
+     *
+     * @return The parsed documents of this response
+     */
+    @Override
+    public ResponseDocuments getDocuments() {
+        return documents;
+    }
+
     /**
      * Returns the designated model of this response. The model is one of the response's views which was chosen using an earlier call to
      * {@link rocks.bastion.core.builder.BindBuilder#bind(Class)}.
@@ -0,0 +1,87 @@
+package rocks.bastion.core;
+
+import rocks.bastion.core.configuration.Configuration;
+import rocks.bastion.core.transport.HttpTransport;
+import rocks.bastion.core.transport.TransportRequest;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>An {@link HttpRequest} which has been resolved once against a {@link Configuration} so that it can be sent any number
+ * of times without resolving it again. A prepared request holds the resolved URL, including query and route parameters,
+ * the merged global and request headers, and the body encoded into the form in which it is sent. Textual bodies are
+ * encoded in UTF-8 and {@link java.io.InputStream} bodies are read into memory once, so every execution sends the same bytes.</p>
+ * <p>Prepared requests are immutable and can be executed concurrently from many threads. Use them wherever the same request
+ * is sent repeatedly, such as in a load test. Global settings such as the global headers and timeout are captured when
+ * the request is prepared, so later changes to them do not affect a prepared request. Requests are sent using the
+ * configuration's {@link HttpTransport} current at the time of each execution.</p>
+ */
+public final class PreparedRequest {
+
+    private final String name;
+    private final TransportRequest transportRequest;
+    private final Configuration configuration;
+    private final long reportedTimeout;
+
+    PreparedRequest(String name, TransportRequest transportRequest, Configuration configuration, long reportedTimeout) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(transportRequest);
+        Objects.requireNonNull(configuration);
+        this.name = name;
+        this.transportRequest = transportRequest;
+        this.configuration = configuration;
+        this.reportedTimeout = reportedTimeout;
+    }
+
+    /**
+     * Resolves the given request against the given configuration.
+     *
+     * @param request       The non-{@literal null} request to prepare
+     * @param configuration The non-{@literal null} configuration providing the global request attributes and the transport
+     * @return The prepared request
+     * @throws IllegalStateException if the request's URL does not contain one of its route parameters
+     */
+    public static PreparedRequest prepare(HttpRequest request, Configuration configuration) {
+        return new RequestExecutor(request, configuration).prepare();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getMethod() {
+        return transportRequest.getMethod();
+    }
+
+    public String getUrl() {
+        return transportRequest.getUri().toString();
+    }
+
+    public List<ApiHeader> getHeaders() {
+        return transportRequest.getHeaders();
+    }
+
+    /**
+     * Sends this request and retrieves the response. This method may be called any number of times, including concurrently.
+     *
+     * @return The HTTP response retrieved from the remote server
+     * @throws AssertionError if the response was not received before the request's timeout elapsed
+     */
+    public Response execute() {
+        try {
+            return configuration.getTransport().send(transportRequest);
+        } catch (InterruptedIOException exception) {
+            throw new AssertionError(String.format("Failed to receive response before timeout of [%s] ms", reportedTimeout));
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed executing request", exception);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return transportRequest.toString();
+    }
+}
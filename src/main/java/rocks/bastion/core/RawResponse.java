@@ -1,35 +1,41 @@
 package rocks.bastion.core;
 
-import com.google.common.io.ByteStreams;
 import org.apache.http.entity.ContentType;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 
+/**
+ * A {@link Response} as received from the remote server. The body is held in a {@link ResponseBody}, so it can be read
+ * any number of times.
+ */
 public class RawResponse implements Response {
 
     private int statusCode;
     private String statusText;
     private Collection<ApiHeader> headers;
-    private byte[] bodyContent;
+    private ResponseBody body;
+    private ResponseDocuments documents;
 
+    /**
+     * Creates a response, reading the whole of the given body stream into memory.
+     */
     public RawResponse(int statusCode, String statusText, Collection<ApiHeader> headers, InputStream body) {
-        try {
-            Objects.requireNonNull(statusCode);
-            Objects.requireNonNull(statusText);
-            Objects.requireNonNull(headers);
-            Objects.requireNonNull(body);
-            this.statusCode = statusCode;
-            this.statusText = statusText;
-            this.headers = headers;
-            bodyContent = ByteStreams.toByteArray(body);
-        } catch (IOException e) {
-            throw new RuntimeException("Error while reading the body input stream", e);
-        }
+        this(statusCode, statusText, headers, readIntoMemory(body));
+    }
+
+    public RawResponse(int statusCode, String statusText, Collection<ApiHeader> headers, ResponseBody body) {
+        Objects.requireNonNull(statusText);
+        Objects.requireNonNull(headers);
+        Objects.requireNonNull(body);
+        this.statusCode = statusCode;
+        this.statusText = statusText;
+        this.headers = headers;
+        this.body = body;
+        documents = new ResponseDocuments(this);
     }
 
     @Override
@@ -54,6 +60,27 @@ public class RawResponse implements Response {
 
     @Override
     public InputStream getBody() {
-        return new ByteArrayInputStream(bodyContent);
+        return body.newInputStream();
+    }
+
+    @Override
+    public ResponseDocuments getDocuments() {
+        return documents;
+    }
+
+    /**
+     * @return The body of this response, which may be held in memory or in a temporary file
+     */
+    public ResponseBody getResponseBody() {
+        return body;
+    }
+
+    private static ResponseBody readIntoMemory(InputStream body) {
+        Objects.requireNonNull(body);
+        try {
+            return ResponseBody.read(body, Long.MAX_VALUE);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading the body input stream", e);
+        }
     }
 }
@@ -1,42 +1,61 @@
 package rocks.bastion.core;
 
-import com.mashape.unirest.http.HttpResponse;
-import com.mashape.unirest.http.Unirest;
-import com.mashape.unirest.http.exceptions.UnirestException;
-import com.mashape.unirest.request.HttpRequestWithBody;
+import com.google.common.io.ByteStreams;
+import com.mashape.unirest.http.utils.URLParamEncoder;
+import org.apache.http.entity.ContentType;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
-import java.net.SocketTimeoutException;
+import java.io.UnsupportedEncodingException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import rocks.bastion.core.configuration.Configuration;
+import rocks.bastion.core.configuration.GlobalRequestAttributes;
+import rocks.bastion.core.transport.HttpTransport;
+import rocks.bastion.core.transport.TransportRequest;
 
 /**
  * Responsible for executing a Bastion remote request built using the {@link BastionBuilderImpl} builder and prepare a response object.
+ * Requests are sent using the {@link HttpTransport} of the given {@link Configuration} which, unless configured
+ * otherwise, uses a pooled HTTP client so that connections are reused across requests made with the same configuration.
+ * The executor takes a {@link GlobalRequestAttributes#snapshot() snapshot} of the global request attributes when it is
+ * constructed, so every global attribute applied to a request comes from the same snapshot.
  */
 public class RequestExecutor {
 
     private Configuration configuration;
+    private GlobalRequestAttributes.Snapshot globals;
     private HttpRequest bastionHttpRequest;
-    private com.mashape.unirest.request.HttpRequest executableHttpRequest;
     private Collection<ApiHeader> headers;
     private String resolvedUrl;
 
     public RequestExecutor(HttpRequest bastionHttpRequest, Configuration configuration) {
         Objects.requireNonNull(bastionHttpRequest);
+        Objects.requireNonNull(configuration);
         this.bastionHttpRequest = bastionHttpRequest;
         this.configuration = configuration;
-        executableHttpRequest = prepareHttpRequest();
+        globals = configuration.getGlobalRequestAttributes().snapshot();
+        resolvedUrl = bastionHttpRequest.url();
         applyHeaders();
         applyQueryParameters();
         applyRouteParameters();
-        applyBody();
     }
 
     public String getMethod() {
@@ -52,102 +71,135 @@ public class RequestExecutor {
     }
 
     /**
-     * Executes the given HTTP request and retrieves the response.
+     * Executes the given HTTP request and retrieves the response. The request is sent using the {@link HttpTransport}
+     * of the configuration given to this executor.
      *
      * @return The HTTP response retrieved from the remote server.
      */
     public Response execute() {
-        try {
-            HttpResponse<InputStream> httpResponse = performRequest();
-            return convertToRawResponse(httpResponse);
-        } catch (UnirestException exception) {
-            if (exception.getCause() instanceof SocketTimeoutException) {
-                throw new AssertionError(String.format("Failed to receive response before timeout of [%s] ms", resolveTimeoutOrFallbackToGlobal(bastionHttpRequest, configuration)));
+        return new PreparedRequest(bastionHttpRequest.name(), prepareTransportRequest(headers, bastionHttpRequest.body()),
+                configuration, resolveSocketTimeout()).execute();
+    }
+
+    /**
+     * Prepares the given HTTP request so that it can be executed any number of times. Unlike {@link #execute()}, the body
+     * is encoded into its final form once: textual bodies are encoded in UTF-8 and {@link InputStream} bodies are read
+     * into memory. Since an encoded textual body no longer carries its content type, a {@code text/plain} content type is
+     * added to the headers when the request has none, but only for methods which
+     * {@link TransportRequest#isBodyAllowed(String) send a body}, so that the request is sent with the same headers as by
+     * {@link #execute()}.
+     *
+     * @return The prepared request
+     */
+    public PreparedRequest prepare() {
+        Object body = bastionHttpRequest.body();
+        Collection<ApiHeader> preparedHeaders = headers;
+        if ((body != null) && !isBinary(body)) {
+            if (TransportRequest.isBodyAllowed(getMethod())
+                    && headers.stream().noneMatch(header -> header.getName().equalsIgnoreCase("content-type"))) {
+                preparedHeaders = new ArrayList<>(headers);
+                preparedHeaders.add(new ApiHeader("Content-Type", ContentType.create("text/plain", StandardCharsets.UTF_8).toString()));
             }
-            throw new IllegalStateException("Failed executing request", exception);
+            body = body.toString().getBytes(StandardCharsets.UTF_8);
+        } else if (body instanceof InputStream) {
+            body = readFully((InputStream) body);
         }
+        return new PreparedRequest(bastionHttpRequest.name(), prepareTransportRequest(preparedHeaders, body), configuration, resolveSocketTimeout());
     }
 
-    private com.mashape.unirest.request.HttpRequest prepareHttpRequest() {
-
-        long timeout = resolveTimeoutOrFallbackToGlobal(bastionHttpRequest, configuration);
-        Unirest.setTimeouts(timeout, timeout);
-        com.mashape.unirest.request.HttpRequest request;
-        switch (bastionHttpRequest.method().getValue()) {
-            case "GET":
-                request = Unirest.get(bastionHttpRequest.url());
-                break;
-            case "POST":
-                request = Unirest.post(bastionHttpRequest.url());
-                break;
-            case "PATCH":
-                request = Unirest.patch(bastionHttpRequest.url());
-                break;
-            case "DELETE":
-                request = Unirest.delete(bastionHttpRequest.url());
-                break;
-            case "PUT":
-                request = Unirest.put(bastionHttpRequest.url());
-                break;
-            case "OPTIONS":
-                request = Unirest.options(bastionHttpRequest.url());
-                break;
-            case "HEAD":
-                request = Unirest.head(bastionHttpRequest.url());
-                break;
-            default:
-                throw new UnsupportedOperationException(String.format("We cannot perform a request of type %s.", bastionHttpRequest.method().getValue()));
+    private TransportRequest prepareTransportRequest(Collection<ApiHeader> requestHeaders, Object body) {
+        return new TransportRequest(getMethod(), normaliseUrl(resolvedUrl), requestHeaders, body, resolveTimeoutOrFallbackToGlobal());
+    }
+
+    private static boolean isBinary(Object body) {
+        return (body instanceof byte[]) || (body instanceof ByteBuffer) || (body instanceof Path) || (body instanceof File)
+                || (body instanceof StreamingBody) || (body instanceof InputStream);
+    }
+
+    private static byte[] readFully(InputStream body) {
+        try {
+            return ByteStreams.toByteArray(body);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Could not read the request body", exception);
         }
-        return request;
     }
 
-    private static long resolveTimeoutOrFallbackToGlobal(HttpRequest request, Configuration configuration) {
-        if (request.timeout() == HttpRequest.USE_GLOBAL_TIMEOUT) {
-            return configuration.getGlobalRequestAttributes().getGlobalRequestTimeout();
-        } else {
-            return request.timeout();
+    /**
+     * @return The timeout given for the request or, if none was given, the global timeout. Returns {@link HttpRequest#USE_GLOBAL_TIMEOUT}
+     * if neither is set, in which case the transport's own timeouts apply.
+     */
+    private long resolveTimeoutOrFallbackToGlobal() {
+        if (bastionHttpRequest.timeout() != HttpRequest.USE_GLOBAL_TIMEOUT) {
+            return bastionHttpRequest.timeout();
         }
+        long globalTimeout = globals.getGlobalRequestTimeout();
+        return globalTimeout > 0 ? globalTimeout : HttpRequest.USE_GLOBAL_TIMEOUT;
+    }
+
+    private long resolveSocketTimeout() {
+        long timeout = resolveTimeoutOrFallbackToGlobal();
+        return timeout == HttpRequest.USE_GLOBAL_TIMEOUT ? configuration.getHttpClientConfiguration().getSocketTimeout() : timeout;
     }
 
     private void applyHeaders() {
-        headers = new LinkedList<>(configuration.getGlobalRequestAttributes().getGlobalHeaders());
+        headers = new LinkedList<>(globals.getGlobalHeaders());
         headers.addAll(bastionHttpRequest.headers());
         if (headers.stream().noneMatch(header -> header.getName().equalsIgnoreCase("content-type")) && bastionHttpRequest.contentType().isPresent()) {
             headers.add(new ApiHeader("Content-Type", bastionHttpRequest.contentType().get().toString()));
         }
-        headers.forEach(header -> executableHttpRequest.header(header.getName(), header.getValue()));
     }
 
     private void applyQueryParameters() {
-        List<ApiQueryParam> apiQueryParams = new ArrayList<>(configuration.getGlobalRequestAttributes().getGlobalQueryParams());
+        List<ApiQueryParam> apiQueryParams = new ArrayList<>(globals.getGlobalQueryParams());
         apiQueryParams.addAll(bastionHttpRequest.queryParams());
-        apiQueryParams.forEach(queryParam -> executableHttpRequest.queryString(queryParam.getName(), queryParam.getValue()));
-        resolvedUrl = executableHttpRequest.getUrl();
+        StringBuilder url = new StringBuilder(resolvedUrl);
+        for (ApiQueryParam queryParam : apiQueryParams) {
+            url.append(url.indexOf("?") == -1 ? '?' : '&')
+                    .append(urlEncode(queryParam.getName()))
+                    .append('=')
+                    .append(urlEncode(queryParam.getValue()));
+        }
+        resolvedUrl = url.toString();
     }
 
     private void applyRouteParameters() {
-        List<RouteParam> routeParams = new ArrayList<>(configuration.getGlobalRequestAttributes().getGlobalRouteParams());
+        List<RouteParam> routeParams = new ArrayList<>(globals.getGlobalRouteParams());
         routeParams.addAll(bastionHttpRequest.routeParams());
-        routeParams.forEach(routeParam -> executableHttpRequest.routeParam(routeParam.getName(), routeParam.getValue()));
-        resolvedUrl = executableHttpRequest.getUrl();
+        routeParams.forEach(routeParam -> {
+            Matcher matcher = Pattern.compile("\\{" + Pattern.quote(routeParam.getName()) + "\\}").matcher(resolvedUrl);
+            if (!matcher.find()) {
+                throw new IllegalStateException(String.format("Can't find route parameter name \"%s\"", routeParam.getName()));
+            }
+            resolvedUrl = matcher.replaceAll(Matcher.quoteReplacement(URLParamEncoder.encode(routeParam.getValue())));
+        });
     }
 
-    private void applyBody() {
-        if (executableHttpRequest instanceof HttpRequestWithBody) {
-            ((HttpRequestWithBody) executableHttpRequest).body(bastionHttpRequest.body().toString());
+    private static String urlEncode(String value) {
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
         }
     }
 
-    private HttpResponse<InputStream> performRequest() throws UnirestException {
-        return executableHttpRequest.asBinary();
-    }
-
-    private Response convertToRawResponse(HttpResponse<InputStream> httpResponse) {
-        return new RawResponse(httpResponse.getStatus(),
-                httpResponse.getStatusText(),
-                httpResponse.getHeaders().entrySet().stream().flatMap(header ->
-                        header.getValue().stream().map(headerValue ->
-                                new ApiHeader(header.getKey(), headerValue))).collect(Collectors.toList()),
-                httpResponse.getBody());
+    /**
+     * Escapes any characters in the path of the given URL which are not allowed to appear in a URI. The query string and
+     * fragment are kept as they are since query parameters have already been encoded.
+     */
+    private static URI normaliseUrl(String url) {
+        try {
+            URL parsedUrl = new URL(url);
+            StringBuilder normalisedUrl = new StringBuilder(new URI(parsedUrl.getProtocol(), parsedUrl.getUserInfo(), parsedUrl.getHost(),
+                    parsedUrl.getPort(), URLDecoder.decode(parsedUrl.getPath(), StandardCharsets.UTF_8.name()), null, null).toASCIIString());
+            if (parsedUrl.getQuery() != null && !parsedUrl.getQuery().trim().isEmpty()) {
+                normalisedUrl.append('?').append(parsedUrl.getQuery());
+            }
+            if (parsedUrl.getRef() != null) {
+                normalisedUrl.append('#').append(parsedUrl.getRef());
+            }
+            return URI.create(normalisedUrl.toString());
+        } catch (MalformedURLException | URISyntaxException | UnsupportedEncodingException e) {
+            throw new IllegalArgumentException(String.format("Invalid URL: %s", url), e);
+        }
     }
 }
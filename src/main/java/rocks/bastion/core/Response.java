@@ -54,4 +54,16 @@ public interface Response {
      * @return The body content sent by the remote end during this HTTP call
      */
     InputStream getBody();
+
+    /**
+     * Gets the documents parsed from this response's body, such as its JSON tree. The same instance is returned on every
+     * call, so that the body is parsed only once, however many decoders and assertions use it. By default, the documents
+     * are kept in a process-wide cache for as long as the response is in use; implementations may instead keep a
+     * {@link ResponseDocuments} created with the response.
+     *
+     * @return The parsed documents of this response
+     */
+    default ResponseDocuments getDocuments() {
+        return ResponseDocuments.of(this);
+    }
 }
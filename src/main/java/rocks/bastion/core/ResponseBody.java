@@ -0,0 +1,209 @@
+package rocks.bastion.core;
+
+import rocks.bastion.core.resource.ByteBufferInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>The content of an HTTP response body. The body is read from the network in chunks: small bodies are kept in memory
+ * while a body larger than the memory threshold is written to a temporary file as it arrives, so that a large body is
+ * never held on the heap. A body written to a file is memory-mapped the first time it is read back; a body larger than
+ * 2 GB, which is more than a single mapping can hold, is mapped in consecutive segments.</p>
+ * <p>Each call to {@link #newInputStream()} returns a new, independent stream positioned at the start of the body, so
+ * any number of decoders and assertions can read the body without interfering with each other. Temporary files are
+ * deleted once the body they belong to is no longer used, or when the JVM exits.</p>
+ */
+public final class ResponseBody {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+    private static final int MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+    private static final ReferenceQueue<ResponseBody> DISCARDED_BODIES = new ReferenceQueue<>();
+    private static final Set<TemporaryFileReference> TEMPORARY_FILES = ConcurrentHashMap.newKeySet();
+
+    private final byte[] content;
+    private final Path file;
+    private final long size;
+    private volatile List<MappedByteBuffer> mappedSegments;
+
+    private ResponseBody(byte[] content, Path file, long size) {
+        this.content = content;
+        this.file = file;
+        this.size = size;
+    }
+
+    /**
+     * Creates a body which is held in memory.
+     *
+     * @param content The non-{@literal null} content of the body. The array is not copied so it should not be modified afterwards.
+     * @return The response body
+     */
+    public static ResponseBody of(byte[] content) {
+        Objects.requireNonNull(content);
+        return new ResponseBody(content, null, content.length);
+    }
+
+    /**
+     * Reads the given stream to its end, keeping the content in memory if it is no larger than {@code memoryThreshold}
+     * bytes and writing it to a temporary file otherwise. The stream is not closed.
+     *
+     * @param stream          The non-{@literal null} stream to read the body from
+     * @param memoryThreshold The largest number of bytes to keep in memory
+     * @return The response body
+     * @throws IOException if the stream could not be read or the temporary file could not be written
+     */
+    public static ResponseBody read(InputStream stream, long memoryThreshold) throws IOException {
+        Objects.requireNonNull(stream);
+        int threshold = (int) Math.max(0, Math.min(memoryThreshold, MAX_ARRAY_SIZE));
+        byte[] buffer = new byte[Math.min(CHUNK_SIZE, Math.max(1, threshold))];
+        int length = 0;
+        int count;
+        while ((count = stream.read(buffer, length, buffer.length - length)) != -1) {
+            length += count;
+            if (length == buffer.length) {
+                if (length >= threshold) {
+                    int next = stream.read();
+                    if (next == -1) {
+                        break;
+                    }
+                    return spill(buffer, length, next, stream);
+                }
+                buffer = Arrays.copyOf(buffer, (int) Math.min(threshold, (long) buffer.length * 2));
+            }
+        }
+        return of((length == buffer.length) ? buffer : Arrays.copyOf(buffer, length));
+    }
+
+    /**
+     * @return The number of bytes in the body
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return {@literal true} if the body is held in memory; {@literal false} if it was written to a temporary file
+     */
+    public boolean isInMemory() {
+        return file == null;
+    }
+
+    /**
+     * Opens a new stream which reads the body from the start. The stream reads from memory or from the memory-mapped file,
+     * so it holds no file handle and does not need to be closed.
+     *
+     * @return A new stream over the body
+     */
+    public InputStream newInputStream() {
+        return newInputStream(MAX_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param segmentSize The largest number of bytes to map at once, if the body has not been mapped yet
+     */
+    InputStream newInputStream(int segmentSize) {
+        if (isInMemory()) {
+            return new ByteArrayInputStream(content);
+        }
+        List<MappedByteBuffer> segments;
+        try {
+            segments = getMappedSegments(segmentSize);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Error while reading the response body from " + file, exception);
+        }
+        if (segments.size() == 1) {
+            return new ByteBufferInputStream(segments.get(0));
+        }
+        List<InputStream> streams = new ArrayList<>(segments.size());
+        segments.forEach(segment -> streams.add(new ByteBufferInputStream(segment)));
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    private List<MappedByteBuffer> getMappedSegments(int segmentSize) throws IOException {
+        List<MappedByteBuffer> segments = mappedSegments;
+        if (segments == null) {
+            synchronized (this) {
+                segments = mappedSegments;
+                if (segments == null) {
+                    segments = new ArrayList<>();
+                    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                        for (long position = 0; position < size; position += segmentSize) {
+                            segments.add(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(segmentSize, size - position)));
+                        }
+                    }
+                    segments = Collections.unmodifiableList(segments);
+                    mappedSegments = segments;
+                }
+            }
+        }
+        return segments;
+    }
+
+    private static ResponseBody spill(byte[] buffer, int length, int next, InputStream stream) throws IOException {
+        deleteDiscardedFiles();
+        Path file = Files.createTempFile("bastion-response-", ".tmp");
+        file.toFile().deleteOnExit();
+        long size = length + 1;
+        try (OutputStream output = Files.newOutputStream(file)) {
+            output.write(buffer, 0, length);
+            output.write(next);
+            byte[] chunk = new byte[CHUNK_SIZE];
+            int count;
+            while ((count = stream.read(chunk)) != -1) {
+                output.write(chunk, 0, count);
+                size += count;
+            }
+        } catch (IOException | RuntimeException exception) {
+            Files.deleteIfExists(file);
+            throw exception;
+        }
+        ResponseBody body = new ResponseBody(null, file, size);
+        TEMPORARY_FILES.add(new TemporaryFileReference(body, file));
+        return body;
+    }
+
+    private static void deleteDiscardedFiles() {
+        Reference<? extends ResponseBody> reference;
+        while ((reference = DISCARDED_BODIES.poll()) != null) {
+            TemporaryFileReference fileReference = (TemporaryFileReference) reference;
+            TEMPORARY_FILES.remove(fileReference);
+            try {
+                Files.deleteIfExists(fileReference.file);
+            } catch (IOException ignored) {
+                // The file is still deleted when the JVM exits
+            }
+        }
+    }
+
+    /**
+     * Keeps track of the temporary file of a body so that the file can be deleted once the body is garbage collected.
+     */
+    private static final class TemporaryFileReference extends PhantomReference<ResponseBody> {
+
+        private final Path file;
+
+        private TemporaryFileReference(ResponseBody body, Path file) {
+            super(body, DISCARDED_BODIES);
+            this.file = file;
+        }
+    }
+}
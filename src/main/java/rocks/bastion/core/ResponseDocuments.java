@@ -0,0 +1,107 @@
+package rocks.bastion.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.CharStreams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * <p>The documents parsed from the body of a {@link Response}, such as its JSON tree or its text. Each document is parsed
+ * the first time it is requested and then kept, so the decoders and assertions which need the same document share a
+ * single parse of the body instead of each reading it again.</p>
+ * <p>A response's documents are obtained using {@link Response#getDocuments()}. A {@link ModelResponse} shares the documents
+ * of the response it wraps, so the JSON tree parsed while decoding a response's views is the same one later used by
+ * its assertions. Documents are shared, so they should be treated as read-only.</p>
+ * <p>This class is thread-safe.</p>
+ */
+public final class ResponseDocuments {
+
+    private static final Cache<Response, ResponseDocuments> SHARED_DOCUMENTS = CacheBuilder.newBuilder().weakKeys().build();
+
+    private final Supplier<InputStream> bodySupplier;
+    private final Map<Charset, String> texts;
+    private JsonNode jsonTree;
+    private IOException jsonError;
+    private boolean jsonParsed;
+
+    public ResponseDocuments(Response response) {
+        this(Objects.requireNonNull(response)::getBody);
+    }
+
+    private ResponseDocuments(Supplier<InputStream> bodySupplier) {
+        this.bodySupplier = bodySupplier;
+        texts = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the documents of a response which does not keep its own, returning the same instance for as long as the
+     * response is in use. The documents only refer to the response weakly, so that they are discarded along with it.
+     *
+     * @param response The non-{@literal null} response
+     * @return The documents of the response
+     */
+    static ResponseDocuments of(Response response) {
+        Objects.requireNonNull(response);
+        return SHARED_DOCUMENTS.asMap().computeIfAbsent(response, key -> {
+            Reference<Response> responseReference = new WeakReference<>(key);
+            return new ResponseDocuments(() -> {
+                Response referent = responseReference.get();
+                if (referent == null) {
+                    throw new IllegalStateException("The response of these documents is no longer available");
+                }
+                return referent.getBody();
+            });
+        });
+    }
+
+    /**
+     * Gets the body of the response parsed as a JSON tree, parsing it on the first call.
+     *
+     * @return The JSON tree, or {@literal null} if the body is empty
+     * @throws IOException if the body is not valid JSON. The same exception is thrown on every call.
+     */
+    public synchronized JsonNode getJson() throws IOException {
+        if (!jsonParsed) {
+            try (InputStream body = bodySupplier.get()) {
+                jsonTree = BastionFactory.getDefaultBastionFactory().getConfiguration().getJsonMappers().readTree(body);
+            } catch (IOException exception) {
+                jsonError = exception;
+            }
+            jsonParsed = true;
+        }
+        if (jsonError != null) {
+            throw jsonError;
+        }
+        return jsonTree;
+    }
+
+    /**
+     * Gets the body of the response decoded as text using the given charset, decoding it on the first call for that charset.
+     *
+     * @param charset The non-{@literal null} charset to decode the body with
+     * @return The text of the body
+     * @throws IOException if the body could not be read
+     */
+    public String getText(Charset charset) throws IOException {
+        Objects.requireNonNull(charset);
+        String text = texts.get(charset);
+        if (text == null) {
+            try (InputStreamReader body = new InputStreamReader(bodySupplier.get(), charset)) {
+                text = CharStreams.toString(body);
+            }
+            texts.putIfAbsent(charset, text);
+        }
+        return text;
+    }
+}
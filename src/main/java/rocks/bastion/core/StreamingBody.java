@@ -0,0 +1,74 @@
+package rocks.bastion.core;
+
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A request body which is streamed from an {@link InputStream} while the request is being sent, so that the body never
+ * has to be held in memory. Return an instance of this class from {@link HttpRequest#body()} to upload large content.
+ * <p>
+ * The body is given as a supplier of streams, rather than a single stream, so that the request can be sent more than once.
+ * Each time the request is sent, a new stream is opened and closed once the body is written. If the length of the body is
+ * known beforehand, use {@link #of(Supplier, long)} so that Bastion sends a {@code Content-Length} header; otherwise,
+ * use {@link #chunked(Supplier)} and the body is sent using chunked transfer encoding.
+ * </p>
+ */
+public final class StreamingBody {
+
+    /**
+     * The length of a body which is not known beforehand.
+     */
+    public static final long UNKNOWN_LENGTH = -1;
+
+    private final Supplier<? extends InputStream> streamSupplier;
+    private final long length;
+
+    private StreamingBody(Supplier<? extends InputStream> streamSupplier, long length) {
+        this.streamSupplier = Objects.requireNonNull(streamSupplier);
+        this.length = length;
+    }
+
+    /**
+     * Creates a body of a known length.
+     *
+     * @param streamSupplier A non-{@literal null} supplier which opens a new stream over the body each time it is called
+     * @param length         The number of bytes in the body
+     * @return A streaming body
+     */
+    public static StreamingBody of(Supplier<? extends InputStream> streamSupplier, long length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("The length of the body should not be negative.");
+        }
+        return new StreamingBody(streamSupplier, length);
+    }
+
+    /**
+     * Creates a body whose length is not known beforehand. It will be sent using chunked transfer encoding.
+     *
+     * @param streamSupplier A non-{@literal null} supplier which opens a new stream over the body each time it is called
+     * @return A streaming body
+     */
+    public static StreamingBody chunked(Supplier<? extends InputStream> streamSupplier) {
+        return new StreamingBody(streamSupplier, UNKNOWN_LENGTH);
+    }
+
+    /**
+     * @return A new stream over the body, which the caller must close
+     */
+    public InputStream openStream() {
+        return Objects.requireNonNull(streamSupplier.get(), "The body stream supplier returned null");
+    }
+
+    /**
+     * @return The number of bytes in the body or {@link #UNKNOWN_LENGTH} if it is not known
+     */
+    public long getLength() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return (length == UNKNOWN_LENGTH) ? "[streamed body]" : String.format("[streamed body of %d bytes]", length);
+    }
+}
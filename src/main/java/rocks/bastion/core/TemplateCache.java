@@ -0,0 +1,120 @@
+package rocks.bastion.core;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import rocks.bastion.core.resource.FileStamp;
+import rocks.bastion.core.resource.ResourceLoader;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * <p>Keeps the Mustache templates compiled by {@link TemplateContentCompiler}, shared by the whole process. A compiled
+ * {@link Template} is immutable and can be executed by many threads at once, so a template is compiled once however many
+ * times it is rendered with different variables.</p>
+ * <p>Two bounded caches, evicting the least recently used entries, are kept:</p>
+ * <ul>
+ * <li>Compiled templates, keyed by a SHA-256 fingerprint of the template text.</li>
+ * <li>Templates loaded from a resource, keyed by the resource location. A resource on the file system is only read again
+ * if its size or modification time changes, so that an edited template is picked up. Any other resource, such as one
+ * inside a JAR file, never changes while the process runs and is only read once.</li>
+ * </ul>
+ */
+final class TemplateCache {
+
+    static final int MAXIMUM_TEMPLATES = 512;
+
+    private static final Cache<String, CompiledTemplate> TEMPLATES_BY_FINGERPRINT = CacheBuilder.newBuilder().maximumSize(MAXIMUM_TEMPLATES).build();
+    private static final Cache<String, LoadedTemplate> TEMPLATES_BY_LOCATION = CacheBuilder.newBuilder().maximumSize(MAXIMUM_TEMPLATES).build();
+
+    private TemplateCache() {
+    }
+
+    /**
+     * @param compiler The non-{@literal null} compiler to compile the template with, if it is not cached
+     * @param template The non-{@literal null} template text
+     * @return The compiled template
+     */
+    static CompiledTemplate compile(Mustache.Compiler compiler, String template) {
+        Objects.requireNonNull(compiler);
+        Objects.requireNonNull(template);
+        String fingerprint = Hashing.sha256().hashString(template, StandardCharsets.UTF_8).toString();
+        try {
+            return TEMPLATES_BY_FINGERPRINT.get(fingerprint, () -> new CompiledTemplate(template, compiler.compile(template)));
+        } catch (ExecutionException | UncheckedExecutionException exception) {
+            throw propagate(exception);
+        }
+    }
+
+    /**
+     * @param compiler The non-{@literal null} compiler to compile the template with, if it is not cached
+     * @param location The non-{@literal null} resource location of the template, as accepted by {@link ResourceLoader}
+     * @return The compiled template
+     */
+    static CompiledTemplate load(Mustache.Compiler compiler, String location) {
+        Objects.requireNonNull(compiler);
+        Objects.requireNonNull(location);
+        LoadedTemplate loadedTemplate = TEMPLATES_BY_LOCATION.getIfPresent(location);
+        if ((loadedTemplate == null) || !loadedTemplate.isCurrent()) {
+            ResourceLoader resourceLoader = new ResourceLoader(location);
+            Optional<Path> path = resourceLoader.getPath();
+            FileStamp stampBeforeLoading = path.flatMap(FileStamp::of).orElse(null);
+            loadedTemplate = new LoadedTemplate(compile(compiler, resourceLoader.load()), path.orElse(null), stampBeforeLoading);
+            TEMPLATES_BY_LOCATION.put(location, loadedTemplate);
+        }
+        return loadedTemplate.template;
+    }
+
+    private static RuntimeException propagate(Exception exception) {
+        if (exception.getCause() instanceof RuntimeException) {
+            return (RuntimeException) exception.getCause();
+        }
+        return new IllegalStateException("An unexpected error occurred while compiling the template", exception.getCause());
+    }
+
+    /**
+     * A template's text together with its compiled form.
+     */
+    static final class CompiledTemplate {
+
+        private final String source;
+        private final Template template;
+
+        private CompiledTemplate(String source, Template template) {
+            this.source = source;
+            this.template = template;
+        }
+
+        String getSource() {
+            return source;
+        }
+
+        Template getTemplate() {
+            return template;
+        }
+    }
+
+    private static final class LoadedTemplate {
+
+        private final CompiledTemplate template;
+        private final Path path;
+        private final FileStamp stamp;
+
+        private LoadedTemplate(CompiledTemplate template, Path path, FileStamp stamp) {
+            this.template = template;
+            this.path = path;
+            this.stamp = stamp;
+        }
+
+        private boolean isCurrent() {
+            return (path == null) || ((stamp != null) && stamp.matches(path));
+        }
+    }
+}
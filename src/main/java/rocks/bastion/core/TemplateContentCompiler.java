@@ -16,9 +16,14 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>
  * See the <a href="https://mustache.github.io/mustache.5.html">Mustache man page</a> for an explaination of how to write Mustache
  * templates that can be interpreted by this class.
+ * <p>
+ * Compiled templates are cached by {@link TemplateCache}, so constructing a compiler for a template which has already been
+ * compiled, or {@link #fromResource(String) loaded from a resource}, does not compile it again.
  */
 public class TemplateContentCompiler {
 
+    private static final Mustache.Compiler COMPILER = getCompiler();
+
     private String template;
     private Template compiledTemplate;
     private Map<String, Object> variableAssignments;
@@ -34,6 +39,26 @@ public class TemplateContentCompiler {
         variableAssignments = new ConcurrentHashMap<>();
     }
 
+    private TemplateContentCompiler(TemplateCache.CompiledTemplate compiledTemplate) {
+        template = compiledTemplate.getSource();
+        this.compiledTemplate = compiledTemplate.getTemplate();
+        variableAssignments = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Construct a new template compiler object for the Mustache template loaded from the given resource, as described in
+     * {@link rocks.bastion.core.resource.ResourceLoader}. The resource is only read and compiled the first time it is used
+     * (and again whenever a resource on the file system changes), so rendering the same template with different variables
+     * does not repeat either step.
+     *
+     * @param templateSource The resource URL to load the Mustache template from. Cannot be {@literal null}.
+     * @return A compiler for the loaded template
+     */
+    public static TemplateContentCompiler fromResource(String templateSource) {
+        Objects.requireNonNull(templateSource);
+        return new TemplateContentCompiler(TemplateCache.load(COMPILER, templateSource));
+    }
+
     /**
      * Gets the currently set template source text. The template text is a Mustache template.
      *
@@ -95,7 +120,7 @@ public class TemplateContentCompiler {
     private void setTemplate(String template) {
         Objects.requireNonNull(template);
         this.template = template;
-        compiledTemplate = compile();
+        compiledTemplate = TemplateCache.compile(COMPILER, template).getTemplate();
     }
 
     private static Mustache.Compiler getCompiler() {
@@ -113,8 +138,4 @@ public class TemplateContentCompiler {
         }
     }
 
-    private Template compile() throws TemplateCompilationException {
-        return getCompiler().compile(template);
-    }
-
 }
@@ -1,10 +1,14 @@
 package rocks.bastion.core.builder;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * Specifies the operations available on a Bastion test builder before it has been executed.
  * At this point, a user can only perform the following operation:
  * <ul>
  * <li>{@link #call()}: Starts the Bastion test by executing the HTTP request.</li>
+ * <li>{@link #callAsync()}: Starts the Bastion test by executing the HTTP request on a background thread.</li>
  * </ul>
  * After using the {@linkplain #call()} method, the user may obtain the response, for further use in the ongoing test, using
  * methods defined in the {@link PostExecutionBuilder} interface.
@@ -23,4 +27,27 @@ public interface ExecuteRequestBuilder<MODEL> {
      */
     PostExecutionBuilder<? extends MODEL> call();
 
+    /**
+     * Instructs Bastion to perform the HTTP request, decode the response into a model and perform any assertions, without
+     * blocking the calling thread. The request is sent, and the response decoded and asserted, on a background thread owned
+     * by Bastion. Listeners are notified of the started, failed, error and finished events in the same order as they are
+     * for {@link #call()}, but on the background thread.
+     * <br><br>
+     * The returned future completes with the same fluent-builder that {@link #call()} would return. If a registered listener
+     * rethrows an assertion failure or an error (as the default Bastion listener does) then the future completes exceptionally
+     * with that throwable.
+     *
+     * @return A future which completes once the Bastion test has finished executing
+     */
+    CompletableFuture<PostExecutionBuilder<? extends MODEL>> callAsync();
+
+    /**
+     * Behaves in the same way as {@link #callAsync()} but performs the request, decoding and assertions using the supplied
+     * {@link Executor}. Use this method to bound the number of requests which Bastion will have in flight at any one time.
+     *
+     * @param executor A non-{@literal null} executor which will run the Bastion test
+     * @return A future which completes once the Bastion test has finished executing
+     */
+    CompletableFuture<PostExecutionBuilder<? extends MODEL>> callAsync(Executor executor);
+
 }
@@ -2,9 +2,11 @@ package rocks.bastion.core.configuration;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.Objects;
 
 import rocks.bastion.core.resource.ResourceLoader;
@@ -14,7 +16,11 @@ import rocks.bastion.core.resource.ResourceLoader;
  */
 public class BastionConfigurationLoader {
 
-    private static YAMLMapper mapper = new YAMLMapper();
+    /**
+     * Only properties with setters are read from YAML. Otherwise, Jackson would try to bind the state which a
+     * {@link Configuration} builds lazily, such as its {@link JsonMappers}, through the fields behind their getters.
+     */
+    private static YAMLMapper mapper = (YAMLMapper) new YAMLMapper().disable(MapperFeature.INFER_PROPERTY_MUTATORS);
 
     private String resourceLocation;
 
@@ -24,9 +30,24 @@ public class BastionConfigurationLoader {
     }
 
     public Configuration load() {
-        String resourceContent = new ResourceLoader(resourceLocation).load();
+        return parse(new ResourceLoader(resourceLocation).loadBytes(), resourceLocation);
+    }
+
+    /**
+     * Parses and validates a configuration read from the specified resource. The content is decoded using the platform's
+     * default charset, so that a configuration reloaded by a {@link ConfigurationWatcher} is read in the same way as when it
+     * was first loaded.
+     *
+     * @param content          The raw YAML content of the resource
+     * @param resourceLocation The location of the resource, for error messages
+     * @return The parsed configuration
+     * @throws InvalidConfigurationException if the content is not valid YAML or is not a valid configuration
+     */
+    static Configuration parse(byte[] content, String resourceLocation) {
+        String resourceContent = new String(content, Charset.defaultCharset());
+        Configuration configuration;
         try {
-            return mapper.readValue(resourceContent, Configuration.class);
+            configuration = mapper.readValue(resourceContent, Configuration.class);
         } catch (JsonParseException e) {
             throw new InvalidConfigurationException(String.format("Could not parse configuration content [%s] from resource [%s]. Make sure it is valid YAML.", resourceContent, resourceLocation), e);
         } catch (JsonMappingException e) {
@@ -34,5 +55,12 @@ public class BastionConfigurationLoader {
         } catch (IOException e) {
             throw new IllegalStateException(String.format("An unknown error occurred while reading the content from resource [%s}", resourceLocation));
         }
+        if (configuration == null) {
+            throw new InvalidConfigurationException(String.format("The resource [%s] does not contain any configuration.", resourceLocation));
+        }
+        if (configuration.getGlobalRequestAttributes().getGlobalRequestTimeout() < 0) {
+            throw new InvalidConfigurationException(String.format("The global request timeout from resource [%s] cannot be negative.", resourceLocation));
+        }
+        return configuration;
     }
 }
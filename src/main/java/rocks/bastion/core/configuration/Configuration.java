@@ -1,17 +1,38 @@
 package rocks.bastion.core.configuration;
 
+import org.apache.http.client.HttpClient;
 import rocks.bastion.Bastion;
+import rocks.bastion.core.transport.ApacheHttpTransport;
+import rocks.bastion.core.transport.HttpTransport;
+
+import java.util.Objects;
 
 /**
  * <p>Contains all Bastion configuration settings.</p>
  * <p>Bastion can be configured via a YAML file that can be loaded via the {@link BastionConfigurationLoader}, or programmatically via {@link Bastion#globals()}</p>
+ * <p>Each configuration owns the pooled HTTP client which is used to send requests, built lazily from its
+ * {@link HttpClientConfiguration}. Requests made with the same configuration share the pool's keep-alive connections.</p>
+ * <p>Requests are sent using the configuration's {@link HttpTransport}, which sends them over the network using the
+ * pooled HTTP client unless a different transport is set using {@link #setTransport(HttpTransport)}.</p>
+ * <p>Each configuration also owns the {@link JsonMappers} used to bind JSON responses to models and to serialize models
+ * into JSON, built lazily from its {@link JsonConfiguration}.</p>
+ * <p>A configuration can be shared by requests running on many threads. Its settings are published safely to every
+ * thread when they are replaced, and the {@link GlobalRequestAttributes global request attributes} are kept as immutable
+ * snapshots which each request takes once, when it is sent.</p>
  */
 public class Configuration {
 
-    private GlobalRequestAttributes globalRequestAttributes;
+    private volatile GlobalRequestAttributes globalRequestAttributes;
+    private volatile HttpClientConfiguration httpClientConfiguration;
+    private volatile JsonConfiguration jsonConfiguration;
+    private volatile HttpClient httpClient;
+    private volatile JsonMappers jsonMappers;
+    private volatile HttpTransport transport;
 
     public Configuration() {
         globalRequestAttributes = new GlobalRequestAttributes();
+        httpClientConfiguration = new HttpClientConfiguration();
+        jsonConfiguration = new JsonConfiguration();
     }
 
     public GlobalRequestAttributes getGlobalRequestAttributes() {
@@ -19,6 +40,124 @@ public class Configuration {
     }
 
     public void setGlobalRequestAttributes(GlobalRequestAttributes globalRequestAttributes) {
+        Objects.requireNonNull(globalRequestAttributes);
         this.globalRequestAttributes = globalRequestAttributes;
     }
-}
\ No newline at end of file
+
+    public HttpClientConfiguration getHttpClientConfiguration() {
+        return httpClientConfiguration;
+    }
+
+    /**
+     * Sets the settings for the pooled HTTP client. These only take effect if the HTTP client has not been used yet by
+     * this configuration.
+     *
+     * @param httpClientConfiguration The non-{@literal null} HTTP client settings
+     */
+    public void setHttpClientConfiguration(HttpClientConfiguration httpClientConfiguration) {
+        Objects.requireNonNull(httpClientConfiguration);
+        this.httpClientConfiguration = httpClientConfiguration;
+    }
+
+    public JsonConfiguration getJsonConfiguration() {
+        return jsonConfiguration;
+    }
+
+    /**
+     * Sets the settings for the Jackson object mapper. These only take effect if the JSON mappers have not been used yet
+     * by this configuration.
+     *
+     * @param jsonConfiguration The non-{@literal null} JSON settings
+     */
+    public void setJsonConfiguration(JsonConfiguration jsonConfiguration) {
+        Objects.requireNonNull(jsonConfiguration);
+        this.jsonConfiguration = jsonConfiguration;
+    }
+
+    /**
+     * Gets the JSON mappers which Bastion uses to bind JSON responses to models and to serialize models with this
+     * configuration. The mappers are built the first time this method is called according to the
+     * {@link #getJsonConfiguration() JSON settings} and are shared by every request made with this configuration.
+     *
+     * @return The JSON mappers for this configuration
+     * @throws InvalidConfigurationException if a configured Jackson module or naming strategy cannot be loaded
+     */
+    public JsonMappers getJsonMappers() {
+        JsonMappers mappers = jsonMappers;
+        if (mappers == null) {
+            synchronized (this) {
+                mappers = jsonMappers;
+                if (mappers == null) {
+                    mappers = new JsonMappers(jsonConfiguration);
+                    jsonMappers = mappers;
+                }
+            }
+        }
+        return mappers;
+    }
+
+    /**
+     * Gets the HTTP client which Bastion uses to send requests with this configuration. Unless one was given using
+     * {@link #setHttpClient(HttpClient)}, a pooled client is created the first time this method is called according
+     * to the {@link #getHttpClientConfiguration() HTTP client settings}.
+     *
+     * @return The HTTP client for this configuration
+     */
+    public HttpClient getHttpClient() {
+        HttpClient client = httpClient;
+        if (client == null) {
+            synchronized (this) {
+                client = httpClient;
+                if (client == null) {
+                    client = PooledHttpClient.create(httpClientConfiguration);
+                    httpClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Replaces the HTTP client used to send requests with this configuration. This is useful if you need full control
+     * over how connections are made, such as using a custom DNS resolver.
+     *
+     * @param httpClient The non-{@literal null} HTTP client to use
+     */
+    public void setHttpClient(HttpClient httpClient) {
+        Objects.requireNonNull(httpClient);
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Gets the transport which Bastion uses to send requests with this configuration. Unless one was given using
+     * {@link #setTransport(HttpTransport)}, this is an {@link ApacheHttpTransport} which sends requests using this
+     * configuration's {@link #getHttpClient() HTTP client}.
+     *
+     * @return The transport for this configuration
+     */
+    public HttpTransport getTransport() {
+        HttpTransport currentTransport = transport;
+        if (currentTransport == null) {
+            synchronized (this) {
+                currentTransport = transport;
+                if (currentTransport == null) {
+                    currentTransport = new ApacheHttpTransport(this);
+                    transport = currentTransport;
+                }
+            }
+        }
+        return currentTransport;
+    }
+
+    /**
+     * Replaces the transport used to send requests with this configuration. For example, an
+     * {@link rocks.bastion.core.transport.InProcessTransport} passes requests to handlers in the same JVM instead of
+     * sending them over the network.
+     *
+     * @param transport The non-{@literal null} transport to use
+     */
+    public void setTransport(HttpTransport transport) {
+        Objects.requireNonNull(transport);
+        this.transport = transport;
+    }
+}
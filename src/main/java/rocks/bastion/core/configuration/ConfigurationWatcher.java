@@ -0,0 +1,274 @@
+package rocks.bastion.core.configuration;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import rocks.bastion.core.resource.FileStamp;
+import rocks.bastion.core.resource.ResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>Watches a YAML configuration file and applies it to a live {@link Configuration} whenever the file changes, so that
+ * settings such as rotated authentication headers, timeouts or route parameters can be changed during a long-running
+ * test without restarting the JVM.</p>
+ * <p>The file is watched using a {@link WatchService} on a daemon thread. Its size and modification time are also checked
+ * every {@link #setPollInterval(long) poll interval}, in case the platform misses or delays an event. Whenever either
+ * suggests that the file was written, it is read again and, if its content differs from what was last read, it is parsed
+ * and validated as by {@link BastionConfigurationLoader}. If it is valid, its
+ * {@link GlobalRequestAttributes global request attributes} replace those of the target configuration in a single atomic
+ * step: requests already in progress keep the attributes they started with, and later requests see all of the new ones.
+ * If it is invalid, the target configuration is left as it is and the failure is reported, and the file is read again
+ * when it next changes, such as when an editor finishes writing it.</p>
+ * <p>The HTTP client and JSON settings in the file are not applied, so that the target configuration keeps its pooled,
+ * warm connections and its JSON mappers. Changing those settings still requires a new configuration.</p>
+ */
+public final class ConfigurationWatcher implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(ConfigurationWatcher.class.getCanonicalName());
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("bastion-configuration-watcher-%d").build();
+    private static final long DEFAULT_POLL_INTERVAL = 1000;
+    private static final long SETTLE_DELAY = 50;
+
+    private final String resourceLocation;
+    private final Path path;
+    private final Configuration target;
+    private final AtomicLong reloadCount = new AtomicLong();
+    private volatile Consumer<Configuration> reloadListener = configuration -> {
+    };
+    private volatile Consumer<RuntimeException> failureListener = exception -> LOG.log(Level.WARNING, exception.getMessage(), exception);
+    private volatile long pollInterval = DEFAULT_POLL_INTERVAL;
+    private volatile RuntimeException lastFailure;
+    private volatile FileStamp appliedStamp;
+    private volatile HashCode appliedHash;
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * @param resourceLocation The non-{@literal null} location of a configuration file on the file system, such as a
+     *                         "{@code file:}" URL, or a classpath resource which is a file, as accepted by
+     *                         {@link ResourceLoader}
+     * @param target           The non-{@literal null} configuration to apply the file's settings to
+     * @throws InvalidConfigurationException if the resource is not a file on the file system
+     */
+    public ConfigurationWatcher(String resourceLocation, Configuration target) {
+        Objects.requireNonNull(resourceLocation, "Resource location should not be null");
+        Objects.requireNonNull(target, "Configuration should not be null.");
+        this.resourceLocation = resourceLocation;
+        this.target = target;
+        path = new ResourceLoader(resourceLocation).getPath().map(Path::toAbsolutePath).orElseThrow(() ->
+                new InvalidConfigurationException(String.format("The configuration resource [%s] cannot be watched because it is not a file.", resourceLocation)));
+        appliedStamp = FileStamp.of(path).orElse(null);
+        try {
+            appliedHash = hash(Files.readAllBytes(path));
+        } catch (IOException exception) {
+            appliedHash = null;
+        }
+    }
+
+    /**
+     * Sets an action which is run on the watcher's thread after the file's settings are applied. The action receives the
+     * configuration parsed from the file.
+     *
+     * @param reloadListener The non-{@literal null} action to run after each reload
+     * @return This object (for method chaining)
+     */
+    public ConfigurationWatcher onReload(Consumer<Configuration> reloadListener) {
+        Objects.requireNonNull(reloadListener);
+        this.reloadListener = reloadListener;
+        return this;
+    }
+
+    /**
+     * Sets an action which is run on the watcher's thread when the changed file cannot be read or is not a valid
+     * configuration. By default, the failure is logged as a warning.
+     *
+     * @param failureListener The non-{@literal null} action to run after each failed reload
+     * @return This object (for method chaining)
+     */
+    public ConfigurationWatcher onFailure(Consumer<RuntimeException> failureListener) {
+        Objects.requireNonNull(failureListener);
+        this.failureListener = failureListener;
+        return this;
+    }
+
+    /**
+     * Sets how often the file's size and modification time are checked, in addition to the events of the
+     * {@link WatchService}. Defaults to 1000 milliseconds.
+     *
+     * @param pollInterval The positive interval, in milliseconds
+     * @return This object (for method chaining)
+     */
+    public ConfigurationWatcher setPollInterval(long pollInterval) {
+        if (pollInterval <= 0) {
+            throw new IllegalArgumentException("The poll interval must be positive");
+        }
+        this.pollInterval = pollInterval;
+        return this;
+    }
+
+    /**
+     * Starts watching the file. The file is not applied when the watcher starts; load it first, such as using
+     * {@link rocks.bastion.Bastion#loadConfiguration(String)}, or call {@link #reload()}.
+     *
+     * @return This object (for method chaining)
+     * @throws IllegalStateException if the watcher has already been started
+     */
+    public synchronized ConfigurationWatcher start() {
+        if (thread != null) {
+            throw new IllegalStateException("The configuration watcher has already been started");
+        }
+        try {
+            watchService = path.getFileSystem().newWatchService();
+            path.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException exception) {
+            throw new IllegalStateException(String.format("Cannot watch the configuration resource [%s]", resourceLocation), exception);
+        }
+        thread = THREAD_FACTORY.newThread(this::watch);
+        thread.start();
+        return this;
+    }
+
+    /**
+     * Reads the file and, if it is a valid configuration, applies it to the target configuration now.
+     *
+     * @return {@literal true} if the file was applied; {@literal false} if it was invalid, in which case the failure is
+     * reported to the {@link #onFailure(Consumer) failure listener}
+     */
+    public boolean reload() {
+        return reload(false);
+    }
+
+    /**
+     * @param onlyIfChanged {@literal true} to skip applying the file if its content is the same as when it was last read
+     */
+    private synchronized boolean reload(boolean onlyIfChanged) {
+        FileStamp stamp = FileStamp.of(path).orElse(null);
+        byte[] content;
+        try {
+            content = Files.readAllBytes(path);
+        } catch (IOException exception) {
+            return fail(new InvalidConfigurationException(String.format("Could not read the configuration resource [%s].", resourceLocation), exception), stamp, null);
+        }
+        HashCode hash = hash(content);
+        if (onlyIfChanged && hash.equals(appliedHash)) {
+            appliedStamp = stamp;
+            return false;
+        }
+        Configuration reloaded;
+        try {
+            reloaded = BastionConfigurationLoader.parse(content, resourceLocation);
+        } catch (RuntimeException exception) {
+            return fail(exception, stamp, hash);
+        }
+        target.getGlobalRequestAttributes().replaceWith(reloaded.getGlobalRequestAttributes().snapshot());
+        appliedStamp = stamp;
+        appliedHash = hash;
+        lastFailure = null;
+        reloadCount.incrementAndGet();
+        reloadListener.accept(reloaded);
+        return true;
+    }
+
+    /**
+     * @return The number of times the file has been applied to the target configuration
+     */
+    public long getReloadCount() {
+        return reloadCount.get();
+    }
+
+    /**
+     * @return The failure of the latest reload, or {@literal null} if it succeeded or there has been no reload
+     */
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Stops watching the file. The target configuration keeps the settings which were last applied.
+     */
+    @Override
+    public synchronized void close() {
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException exception) {
+            LOG.log(Level.FINE, "Could not close the configuration watch service", exception);
+        }
+    }
+
+    private boolean fail(RuntimeException exception, FileStamp stamp, HashCode hash) {
+        // Remember the content so that the same invalid content is not reported again until the file changes
+        appliedStamp = stamp;
+        appliedHash = hash;
+        lastFailure = exception;
+        failureListener.accept(exception);
+        return false;
+    }
+
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.poll(pollInterval, TimeUnit.MILLISECONDS);
+                boolean fileEvent = false;
+                if (key != null) {
+                    // Editors often write a file in several steps, so wait for the writes to settle and drain their events
+                    TimeUnit.MILLISECONDS.sleep(SETTLE_DELAY);
+                    fileEvent = concernsFile(key);
+                    WatchKey next;
+                    while ((next = watchService.poll()) != null) {
+                        fileEvent |= concernsFile(next);
+                    }
+                }
+                // An event is trusted even if the size and modification time look unchanged, since the modification time
+                // may be too coarse to tell apart two writes of the same length, such as a rotated token
+                FileStamp stamp = FileStamp.of(path).orElse(null);
+                if (fileEvent || ((stamp != null) && !stamp.equals(appliedStamp))) {
+                    reloadSafely();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // The watcher was closed
+        }
+    }
+
+    private boolean concernsFile(WatchKey key) {
+        boolean concernsFile = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if ((event.kind() == StandardWatchEventKinds.OVERFLOW) || path.getFileName().equals(event.context())) {
+                concernsFile = true;
+            }
+        }
+        key.reset();
+        return concernsFile;
+    }
+
+    private static HashCode hash(byte[] content) {
+        return Hashing.sha256().hashBytes(content);
+    }
+
+    private void reloadSafely() {
+        try {
+            reload(true);
+        } catch (RuntimeException exception) {
+            LOG.log(Level.WARNING, "A configuration reload listener failed", exception);
+        }
+    }
+}
@@ -1,123 +1,201 @@
 package rocks.bastion.core.configuration;
 
-import java.util.ArrayList;
-import java.util.Collection;
-
+import com.google.common.collect.ImmutableList;
 import rocks.bastion.core.ApiHeader;
 import rocks.bastion.core.ApiQueryParam;
 import rocks.bastion.core.RouteParam;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
 import static java.util.Objects.requireNonNull;
 
 /**
- * Request attributes that can be applied to all HTTP requests created by Bastion.
+ * <p>Request attributes that can be applied to all HTTP requests created by Bastion.</p>
+ * <p>The attributes are held as an immutable {@link Snapshot}. Every change copies the current snapshot, applies the change
+ * to the copy and publishes it atomically, so these attributes can be changed and read from many threads at once, such as
+ * when tests run in parallel. Reading takes no locks. A request takes the {@link #snapshot() current snapshot} once, when
+ * it is sent or prepared, so that it never sees half of a change, and changes made while it is in progress do not affect
+ * it. The collections returned by the getters belong to the current snapshot and cannot be modified; use the methods of
+ * this class to change them.</p>
  */
 public class GlobalRequestAttributes {
 
-    private Collection<ApiHeader> globalHeaders;
-    private Collection<ApiQueryParam> globalQueryParams;
-    private Collection<RouteParam> globalRouteParams;
-    private long globalRequestTimeout;
+    private final AtomicReference<Snapshot> snapshot;
 
     public GlobalRequestAttributes() {
-        clear();
+        snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    }
+
+    /**
+     * Gets the attributes as they are now. The returned snapshot never changes, even if these attributes are changed later.
+     *
+     * @return The current snapshot of the attributes
+     */
+    public Snapshot snapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Replaces all the attributes at once with those of the given snapshot, such as one taken from another set of
+     * attributes. Requests see either all of the old attributes or all of the new ones.
+     *
+     * @param replacement The non-{@literal null} snapshot to publish
+     * @return This object (for method chaining)
+     */
+    public GlobalRequestAttributes replaceWith(Snapshot replacement) {
+        requireNonNull(replacement, "replacement should not be null.");
+        snapshot.set(replacement);
+        return this;
     }
 
     /**
      * Resets all the global request attributes to their default values.
      */
     public void clear() {
-        globalHeaders = new ArrayList<>();
-        globalQueryParams = new ArrayList<>();
-        globalRouteParams = new ArrayList<>();
-        globalRequestTimeout = 0;
+        snapshot.set(Snapshot.EMPTY);
     }
 
     public Collection<ApiHeader> getGlobalHeaders() {
-        return globalHeaders;
+        return snapshot().getGlobalHeaders();
     }
 
     public GlobalRequestAttributes setGlobalHeaders(Collection<ApiHeader> globalHeaders) {
         requireNonNull(globalHeaders, "globalHeaders should not be null.");
-        this.globalHeaders = globalHeaders;
-        return this;
+        List<ApiHeader> headers = ImmutableList.copyOf(globalHeaders);
+        return update(current -> new Snapshot(headers, current.queryParams, current.routeParams, current.requestTimeout));
     }
 
     public Collection<ApiQueryParam> getGlobalQueryParams() {
-        return globalQueryParams;
+        return snapshot().getGlobalQueryParams();
     }
 
     public GlobalRequestAttributes setGlobalQueryParams(Collection<ApiQueryParam> globalQueryParams) {
         requireNonNull(globalQueryParams, "globalQueryParams should not be null.");
-        this.globalQueryParams = globalQueryParams;
-        return this;
+        List<ApiQueryParam> queryParams = ImmutableList.copyOf(globalQueryParams);
+        return update(current -> new Snapshot(current.headers, queryParams, current.routeParams, current.requestTimeout));
     }
 
     public Collection<RouteParam> getGlobalRouteParams() {
-        return globalRouteParams;
+        return snapshot().getGlobalRouteParams();
     }
 
     public GlobalRequestAttributes setGlobalRouteParams(Collection<RouteParam> globalRouteParams) {
         requireNonNull(globalRouteParams, "globalRouteParams should not be null.");
-        this.globalRouteParams = globalRouteParams;
-        return this;
+        List<RouteParam> routeParams = ImmutableList.copyOf(globalRouteParams);
+        return update(current -> new Snapshot(current.headers, current.queryParams, routeParams, current.requestTimeout));
     }
 
     public long getGlobalRequestTimeout() {
-        return globalRequestTimeout;
+        return snapshot().getGlobalRequestTimeout();
     }
 
     public GlobalRequestAttributes setGlobalRequestTimeout(long globalRequestTimeout) {
         requireNonNull(globalRequestTimeout, "globalRequestTimeout should not be null.");
-        this.globalRequestTimeout = globalRequestTimeout;
-        return this;
+        return timeout(globalRequestTimeout);
     }
 
     public GlobalRequestAttributes addHeader(String name, String value) {
         requireNonNull(name, "Header name should not be null.");
         requireNonNull(value, "Header value should not be null.");
-        globalHeaders.add(new ApiHeader(name, value));
-        return this;
-
+        ApiHeader header = new ApiHeader(name, value);
+        return update(current -> new Snapshot(with(current.headers, header), current.queryParams, current.routeParams, current.requestTimeout));
     }
 
     public GlobalRequestAttributes removeHeader(String name, String value) {
         requireNonNull(name, "Header name should not be null.");
         requireNonNull(value, "Header value should not be null.");
-        globalHeaders.remove(new ApiHeader(name, value));
-        return this;
+        ApiHeader header = new ApiHeader(name, value);
+        return update(current -> new Snapshot(without(current.headers, header), current.queryParams, current.routeParams, current.requestTimeout));
     }
 
     public GlobalRequestAttributes addQueryParam(String name, String value) {
         requireNonNull(name, "Query parameter name should not be null.");
         requireNonNull(value, "Query parameter value should not be null.");
-        globalQueryParams.add(new ApiQueryParam(name, value));
-        return this;
+        ApiQueryParam queryParam = new ApiQueryParam(name, value);
+        return update(current -> new Snapshot(current.headers, with(current.queryParams, queryParam), current.routeParams, current.requestTimeout));
     }
 
     public GlobalRequestAttributes removeQueryParam(String name, String value) {
         requireNonNull(name, "Query parameter name should not be null.");
         requireNonNull(value, "Query parameter value should not be null.");
-        globalQueryParams.remove(new ApiQueryParam(name, value));
-        return this;
+        ApiQueryParam queryParam = new ApiQueryParam(name, value);
+        return update(current -> new Snapshot(current.headers, without(current.queryParams, queryParam), current.routeParams, current.requestTimeout));
     }
 
     public GlobalRequestAttributes addRouteParam(String name, String value) {
         requireNonNull(name, "Route parameter name should not be null.");
         requireNonNull(value, "Route parameter value should not be null.");
-        globalRouteParams.add(new RouteParam(name, value));
-        return this;
+        RouteParam routeParam = new RouteParam(name, value);
+        return update(current -> new Snapshot(current.headers, current.queryParams, with(current.routeParams, routeParam), current.requestTimeout));
     }
 
     public GlobalRequestAttributes removeRouteParam(String name, String value) {
         requireNonNull(name, "Route parameter name should not be null.");
         requireNonNull(value, "Route parameter value should not be null.");
-        globalRouteParams.remove(new RouteParam(name, value));
-        return this;
+        RouteParam routeParam = new RouteParam(name, value);
+        return update(current -> new Snapshot(current.headers, current.queryParams, without(current.routeParams, routeParam), current.requestTimeout));
     }
 
     public GlobalRequestAttributes timeout(long timeout) {
-        globalRequestTimeout = timeout;
+        return update(current -> new Snapshot(current.headers, current.queryParams, current.routeParams, timeout));
+    }
+
+    /**
+     * Publishes a new snapshot derived from the current one, retrying if another thread published a snapshot in the
+     * meantime so that concurrent changes are never lost.
+     */
+    private GlobalRequestAttributes update(UnaryOperator<Snapshot> change) {
+        snapshot.updateAndGet(change);
         return this;
     }
+
+    private static <T> List<T> with(List<T> elements, T element) {
+        return ImmutableList.<T>builder().addAll(elements).add(element).build();
+    }
+
+    private static <T> List<T> without(List<T> elements, T element) {
+        List<T> remaining = new ArrayList<>(elements);
+        remaining.remove(element);
+        return ImmutableList.copyOf(remaining);
+    }
+
+    /**
+     * The global request attributes at one point in time. Snapshots are immutable and can be shared freely between threads.
+     */
+    public static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(ImmutableList.of(), ImmutableList.of(), ImmutableList.of(), 0);
+
+        private final List<ApiHeader> headers;
+        private final List<ApiQueryParam> queryParams;
+        private final List<RouteParam> routeParams;
+        private final long requestTimeout;
+
+        private Snapshot(List<ApiHeader> headers, List<ApiQueryParam> queryParams, List<RouteParam> routeParams, long requestTimeout) {
+            this.headers = headers;
+            this.queryParams = queryParams;
+            this.routeParams = routeParams;
+            this.requestTimeout = requestTimeout;
+        }
+
+        public List<ApiHeader> getGlobalHeaders() {
+            return headers;
+        }
+
+        public List<ApiQueryParam> getGlobalQueryParams() {
+            return queryParams;
+        }
+
+        public List<RouteParam> getGlobalRouteParams() {
+            return routeParams;
+        }
+
+        public long getGlobalRequestTimeout() {
+            return requestTimeout;
+        }
+    }
 }
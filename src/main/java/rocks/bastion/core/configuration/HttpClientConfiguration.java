@@ -0,0 +1,163 @@
+package rocks.bastion.core.configuration;
+
+import static java.lang.String.format;
+
+/**
+ * <p>Settings for the pooled HTTP client which a {@link Configuration} uses to send Bastion requests. Connections to the
+ * same host are kept alive and reused across requests, up to the configured limits.</p>
+ * <p>All durations are in milliseconds. A timeout of {@literal 0} means that Bastion will wait indefinitely. The connect
+ * and socket timeouts configured here are only used for requests which do not specify their own
+ * {@link rocks.bastion.core.HttpRequest#timeout() timeout} when no {@link GlobalRequestAttributes#getGlobalRequestTimeout()
+ * global timeout} is configured either.</p>
+ */
+public class HttpClientConfiguration {
+
+    private int maxConnections;
+    private int maxConnectionsPerRoute;
+    private boolean keepAlive;
+    private long keepAliveTimeout;
+    private long idleConnectionTimeout;
+    private long connectTimeout;
+    private long socketTimeout;
+    private long responseBodyMemoryThreshold;
+
+    public HttpClientConfiguration() {
+        maxConnections = 200;
+        maxConnectionsPerRoute = 50;
+        keepAlive = true;
+        keepAliveTimeout = 30000;
+        idleConnectionTimeout = 60000;
+        connectTimeout = 0;
+        socketTimeout = 0;
+        responseBodyMemoryThreshold = 1024 * 1024;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Sets the maximum number of connections which the pool will keep open, across all hosts.
+     *
+     * @param maxConnections A positive number of connections
+     * @return This object (for method chaining)
+     */
+    public HttpClientConfiguration setMaxConnections(int maxConnections) {
+        requirePositive(maxConnections, "maxConnections");
+        this.maxConnections = maxConnections;
+        return this;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Sets the maximum number of connections which the pool will keep open to a single host.
+     *
+     * @param maxConnectionsPerRoute A positive number of connections
+     * @return This object (for method chaining)
+     */
+    public HttpClientConfiguration setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        requirePositive(maxConnectionsPerRoute, "maxConnectionsPerRoute");
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        return this;
+    }
+
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * Sets whether connections are reused across requests. When {@literal false}, every request opens a new connection.
+     *
+     * @param keepAlive {@literal true} to reuse connections; {@literal false}, otherwise.
+     * @return This object (for method chaining)
+     */
+    public HttpClientConfiguration setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+        return this;
+    }
+
+    public long getKeepAliveTimeout() {
+        return keepAliveTimeout;
+    }
+
+    /**
+     * Sets how long a connection is kept alive when the server does not say so using the {@code Keep-Alive} header.
+     *
+     * @param keepAliveTimeout A non-negative duration in milliseconds
+     * @return This object (for method chaining)
+     */
+    public HttpClientConfiguration setKeepAliveTimeout(long keepAliveTimeout) {
+        requireNonNegative(keepAliveTimeout, "keepAliveTimeout");
+        this.keepAliveTimeout = keepAliveTimeout;
+        return this;
+    }
+
+    public long getIdleConnectionTimeout() {
+        return idleConnectionTimeout;
+    }
+
+    /**
+     * Sets how long a pooled connection may stay idle before it is evicted from the pool. Use {@literal 0} to never evict
+     * idle connections.
+     *
+     * @param idleConnectionTimeout A non-negative duration in milliseconds
+     * @return This object (for method chaining)
+     */
+    public HttpClientConfiguration setIdleConnectionTimeout(long idleConnectionTimeout) {
+        requireNonNegative(idleConnectionTimeout, "idleConnectionTimeout");
+        this.idleConnectionTimeout = idleConnectionTimeout;
+        return this;
+    }
+
+    public long getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public HttpClientConfiguration setConnectTimeout(long connectTimeout) {
+        requireNonNegative(connectTimeout, "connectTimeout");
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    public long getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    public HttpClientConfiguration setSocketTimeout(long socketTimeout) {
+        requireNonNegative(socketTimeout, "socketTimeout");
+        this.socketTimeout = socketTimeout;
+        return this;
+    }
+
+    public long getResponseBodyMemoryThreshold() {
+        return responseBodyMemoryThreshold;
+    }
+
+    /**
+     * Sets the size of the largest response body which is kept in memory. Larger bodies are written to a temporary file as
+     * they are received and memory-mapped when read. Defaults to 1 MiB.
+     *
+     * @param responseBodyMemoryThreshold A non-negative number of bytes
+     * @return This object (for method chaining)
+     */
+    public HttpClientConfiguration setResponseBodyMemoryThreshold(long responseBodyMemoryThreshold) {
+        requireNonNegative(responseBodyMemoryThreshold, "responseBodyMemoryThreshold");
+        this.responseBodyMemoryThreshold = responseBodyMemoryThreshold;
+        return this;
+    }
+
+    private static void requirePositive(long value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(format("%s should be greater than zero.", name));
+        }
+    }
+
+    private static void requireNonNegative(long value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException(format("%s should not be negative.", name));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package rocks.bastion.core.configuration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TimeZone;
+
+/**
+ * <p>Settings for the Jackson {@code ObjectMapper} which a {@link Configuration} uses to bind JSON responses to models and
+ * to serialize models into JSON. These settings are applied once, when the configuration's {@link JsonMappers} are first
+ * used.</p>
+ * <p>For example, the following YAML configuration registers the Java 8 date/time module, binds properties written in
+ * snake case and ignores unknown properties:</p>
+ * <pre>
+ * jsonConfiguration:
+ *   modules:
+ *   - "com.fasterxml.jackson.datatype.jsr310.JavaTimeModule"
+ *   propertyNamingStrategy: "SNAKE_CASE"
+ *   features:
+ *     FAIL_ON_UNKNOWN_PROPERTIES: false
+ *     WRITE_DATES_AS_TIMESTAMPS: false
+ * </pre>
+ */
+public class JsonConfiguration {
+
+    private List<String> modules;
+    private boolean findAndRegisterModules;
+    private Map<String, Boolean> features;
+    private String propertyNamingStrategy;
+    private String dateFormat;
+    private String timeZone;
+
+    public JsonConfiguration() {
+        modules = new ArrayList<>();
+        findAndRegisterModules = false;
+        features = new LinkedHashMap<>();
+        propertyNamingStrategy = null;
+        dateFormat = null;
+        timeZone = null;
+    }
+
+    public List<String> getModules() {
+        return Collections.unmodifiableList(modules);
+    }
+
+    /**
+     * Sets the Jackson modules to register, given as the fully qualified names of classes which extend
+     * {@code com.fasterxml.jackson.databind.Module} and have a public no-argument constructor.
+     *
+     * @param modules The non-{@literal null} module class names
+     * @return This object (for method chaining)
+     */
+    public JsonConfiguration setModules(List<String> modules) {
+        Objects.requireNonNull(modules);
+        this.modules = new ArrayList<>(modules);
+        return this;
+    }
+
+    /**
+     * Adds a Jackson module to register, given as the fully qualified name of a class which extends
+     * {@code com.fasterxml.jackson.databind.Module} and has a public no-argument constructor.
+     *
+     * @param module The non-{@literal null} module class name
+     * @return This object (for method chaining)
+     */
+    public JsonConfiguration addModule(String module) {
+        Objects.requireNonNull(module);
+        modules.add(module);
+        return this;
+    }
+
+    public boolean isFindAndRegisterModules() {
+        return findAndRegisterModules;
+    }
+
+    /**
+     * Sets whether every Jackson module found on the classpath using the {@link java.util.ServiceLoader} is registered.
+     *
+     * @param findAndRegisterModules {@literal true} to register all the modules found; {@literal false}, otherwise.
+     * @return This object (for method chaining)
+     */
+    public JsonConfiguration setFindAndRegisterModules(boolean findAndRegisterModules) {
+        this.findAndRegisterModules = findAndRegisterModules;
+        return this;
+    }
+
+    public Map<String, Boolean> getFeatures() {
+        return Collections.unmodifiableMap(features);
+    }
+
+    /**
+     * Sets the Jackson features to enable or disable. Each feature is given by the name of a constant in one of
+     * {@code SerializationFeature}, {@code DeserializationFeature}, {@code MapperFeature}, {@code JsonParser.Feature} or
+     * {@code JsonGenerator.Feature}, such as {@code FAIL_ON_UNKNOWN_PROPERTIES}. A name which is defined by more than one of
+     * these types, such as {@code STRICT_DUPLICATE_DETECTION}, must be qualified by its type, as in
+     * {@code JsonGenerator.Feature.STRICT_DUPLICATE_DETECTION}; any name may be qualified in this way.
+     *
+     * @param features The non-{@literal null} map of feature names to {@literal true} to enable them or {@literal false} to disable them
+     * @return This object (for method chaining)
+     * @throws IllegalArgumentException if one of the names is not a Jackson feature or is ambiguous
+     */
+    public JsonConfiguration setFeatures(Map<String, Boolean> features) {
+        Objects.requireNonNull(features);
+        features.keySet().forEach(JsonMappers::requireFeature);
+        this.features = new LinkedHashMap<>(features);
+        return this;
+    }
+
+    /**
+     * Enables or disables a single Jackson feature, as described in {@link #setFeatures(Map)}.
+     *
+     * @param feature The non-{@literal null} feature name, such as {@code FAIL_ON_UNKNOWN_PROPERTIES}
+     * @param enabled {@literal true} to enable the feature; {@literal false} to disable it.
+     * @return This object (for method chaining)
+     * @throws IllegalArgumentException if the name is not a Jackson feature or is ambiguous
+     */
+    public JsonConfiguration setFeature(String feature, boolean enabled) {
+        JsonMappers.requireFeature(feature);
+        features.put(feature, enabled);
+        return this;
+    }
+
+    public String getPropertyNamingStrategy() {
+        return propertyNamingStrategy;
+    }
+
+    /**
+     * Sets the naming strategy used to map JSON property names to Java properties. This is either the name of a constant
+     * in {@code PropertyNamingStrategy}, such as {@code SNAKE_CASE} or {@code KEBAB_CASE}, or the fully qualified name of
+     * a {@code PropertyNamingStrategy} subclass with a public no-argument constructor.
+     *
+     * @param propertyNamingStrategy The naming strategy or {@literal null} to use Jackson's default
+     * @return This object (for method chaining)
+     */
+    public JsonConfiguration setPropertyNamingStrategy(String propertyNamingStrategy) {
+        this.propertyNamingStrategy = propertyNamingStrategy;
+        return this;
+    }
+
+    public String getDateFormat() {
+        return dateFormat;
+    }
+
+    /**
+     * Sets the pattern, as understood by {@link java.text.SimpleDateFormat}, used to read and write {@link java.util.Date}
+     * properties which are not written as timestamps.
+     *
+     * @param dateFormat The date pattern or {@literal null} to use Jackson's default
+     * @return This object (for method chaining)
+     */
+    public JsonConfiguration setDateFormat(String dateFormat) {
+        this.dateFormat = dateFormat;
+        return this;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    /**
+     * Sets the time zone used to read and write dates, such as {@code Europe/Malta}.
+     *
+     * @param timeZone The time zone ID or {@literal null} to use Jackson's default, which is UTC
+     * @return This object (for method chaining)
+     */
+    public JsonConfiguration setTimeZone(String timeZone) {
+        if ((timeZone != null) && !TimeZone.getTimeZone(timeZone).getID().equals(timeZone)) {
+            throw new IllegalArgumentException(String.format("\"%s\" is not a known time zone.", timeZone));
+        }
+        this.timeZone = timeZone;
+        return this;
+    }
+}
@@ -0,0 +1,234 @@
+package rocks.bastion.core.configuration;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>The Jackson {@link ObjectMapper} shared by everything in Bastion which reads or writes JSON using a
+ * {@link Configuration}, configured according to its {@link JsonConfiguration}. Building and introspecting an
+ * {@code ObjectMapper} is expensive, so the mapper is built once and the {@link ObjectReader}s and {@link ObjectWriter}s
+ * for each model class are built the first time they are needed and then reused.</p>
+ * <p>This class is thread-safe and reading from it does not take any locks.</p>
+ */
+public final class JsonMappers {
+
+    private static final Map<String, Enum<?>[]> FEATURES = new LinkedHashMap<>();
+
+    static {
+        FEATURES.put("SerializationFeature", SerializationFeature.values());
+        FEATURES.put("DeserializationFeature", DeserializationFeature.values());
+        FEATURES.put("MapperFeature", MapperFeature.values());
+        FEATURES.put("JsonParser.Feature", JsonParser.Feature.values());
+        FEATURES.put("JsonGenerator.Feature", JsonGenerator.Feature.values());
+    }
+
+    private static volatile JsonMappers defaultMappers;
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<Class<?>, ObjectReader> readers;
+    private final ConcurrentMap<Class<?>, ObjectWriter> writers;
+
+    /**
+     * Builds the mapper according to the given settings.
+     *
+     * @param configuration The non-{@literal null} JSON settings
+     * @throws InvalidConfigurationException if a module or naming strategy cannot be loaded
+     */
+    public JsonMappers(JsonConfiguration configuration) {
+        Objects.requireNonNull(configuration);
+        objectMapper = buildObjectMapper(configuration);
+        readers = new ConcurrentHashMap<>();
+        writers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @return The mappers built using the default {@link JsonConfiguration}, shared by the whole process
+     */
+    public static JsonMappers defaults() {
+        JsonMappers mappers = defaultMappers;
+        if (mappers == null) {
+            synchronized (JsonMappers.class) {
+                mappers = defaultMappers;
+                if (mappers == null) {
+                    mappers = new JsonMappers(new JsonConfiguration());
+                    defaultMappers = mappers;
+                }
+            }
+        }
+        return mappers;
+    }
+
+    /**
+     * Gets the configured mapper. The mapper is shared, so it must not be reconfigured: change the {@link JsonConfiguration}
+     * instead.
+     *
+     * @return The configured object mapper
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * @param type The non-{@literal null} class to read
+     * @return A reader which reads JSON into instances of the given class
+     */
+    public ObjectReader readerFor(Class<?> type) {
+        Objects.requireNonNull(type);
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = readers.computeIfAbsent(type, objectMapper::readerFor);
+        }
+        return reader;
+    }
+
+    /**
+     * @param type The non-{@literal null} class to write
+     * @return A writer which writes instances of the given class as JSON
+     */
+    public ObjectWriter writerFor(Class<?> type) {
+        Objects.requireNonNull(type);
+        ObjectWriter writer = writers.get(type);
+        if (writer == null) {
+            writer = writers.computeIfAbsent(type, objectMapper::writerFor);
+        }
+        return writer;
+    }
+
+    /**
+     * Parses the given JSON text into a tree.
+     *
+     * @param json The non-{@literal null} JSON text
+     * @return The JSON tree, or {@literal null} if the text is empty
+     * @throws IOException if the text is not valid JSON
+     */
+    public JsonNode readTree(String json) throws IOException {
+        Objects.requireNonNull(json);
+        return objectMapper.readTree(json);
+    }
+
+    /**
+     * Parses the JSON read from the given stream into a tree. The stream is not closed.
+     *
+     * @param json The non-{@literal null} stream of JSON text
+     * @return The JSON tree, or {@literal null} if the stream is empty
+     * @throws IOException if the stream could not be read or does not contain valid JSON
+     */
+    public JsonNode readTree(InputStream json) throws IOException {
+        Objects.requireNonNull(json);
+        return objectMapper.readTree(json);
+    }
+
+    /**
+     * Finds the Jackson feature with the given name, which is either the name of the feature's constant, such as
+     * {@code FAIL_ON_UNKNOWN_PROPERTIES}, or, for the names which several kinds of feature share, the constant qualified by
+     * its type, such as {@code JsonGenerator.Feature.STRICT_DUPLICATE_DETECTION}.
+     *
+     * @throws IllegalArgumentException if the name is not a Jackson feature or is shared by several kinds of feature
+     */
+    static Enum<?> requireFeature(String name) {
+        Objects.requireNonNull(name);
+        List<String> matches = new ArrayList<>();
+        Enum<?> match = null;
+        for (Map.Entry<String, Enum<?>[]> featureType : FEATURES.entrySet()) {
+            for (Enum<?> feature : featureType.getValue()) {
+                String qualifiedName = featureType.getKey() + "." + feature.name();
+                if (qualifiedName.equals(name)) {
+                    return feature;
+                }
+                if (feature.name().equals(name)) {
+                    matches.add(qualifiedName);
+                    match = feature;
+                }
+            }
+        }
+        if (matches.isEmpty()) {
+            throw new IllegalArgumentException(String.format("\"%s\" is not a Jackson feature.", name));
+        }
+        if (matches.size() > 1) {
+            throw new IllegalArgumentException(String.format("\"%s\" is ambiguous: use one of %s instead.", name, String.join(", ", matches)));
+        }
+        return match;
+    }
+
+    private static ObjectMapper buildObjectMapper(JsonConfiguration configuration) {
+        ObjectMapper mapper = new ObjectMapper();
+        if (configuration.isFindAndRegisterModules()) {
+            mapper.findAndRegisterModules();
+        }
+        configuration.getModules().forEach(module -> mapper.registerModule(instantiate(module, Module.class, "module")));
+        for (Map.Entry<String, Boolean> feature : configuration.getFeatures().entrySet()) {
+            configureFeature(mapper, requireFeature(feature.getKey()), feature.getValue());
+        }
+        if (configuration.getPropertyNamingStrategy() != null) {
+            mapper.setPropertyNamingStrategy(resolveNamingStrategy(configuration.getPropertyNamingStrategy()));
+        }
+        if (configuration.getDateFormat() != null) {
+            mapper.setDateFormat(new SimpleDateFormat(configuration.getDateFormat()));
+        }
+        if (configuration.getTimeZone() != null) {
+            mapper.setTimeZone(TimeZone.getTimeZone(configuration.getTimeZone()));
+        }
+        return mapper;
+    }
+
+    private static void configureFeature(ObjectMapper mapper, Enum<?> feature, boolean enabled) {
+        if (feature instanceof SerializationFeature) {
+            mapper.configure((SerializationFeature) feature, enabled);
+        } else if (feature instanceof DeserializationFeature) {
+            mapper.configure((DeserializationFeature) feature, enabled);
+        } else if (feature instanceof MapperFeature) {
+            mapper.configure((MapperFeature) feature, enabled);
+        } else if (feature instanceof JsonParser.Feature) {
+            mapper.configure((JsonParser.Feature) feature, enabled);
+        } else {
+            mapper.configure((JsonGenerator.Feature) feature, enabled);
+        }
+    }
+
+    private static PropertyNamingStrategy resolveNamingStrategy(String name) {
+        try {
+            Field constant = PropertyNamingStrategy.class.getField(name);
+            if (Modifier.isStatic(constant.getModifiers()) && PropertyNamingStrategy.class.isAssignableFrom(constant.getType())) {
+                return (PropertyNamingStrategy) constant.get(null);
+            }
+        } catch (NoSuchFieldException | IllegalAccessException ignored) {
+            // Not one of the built-in strategies, so try loading it as a class instead
+        }
+        return instantiate(name, PropertyNamingStrategy.class, "property naming strategy");
+    }
+
+    private static <T> T instantiate(String className, Class<T> type, String description) {
+        try {
+            Class<?> loadedClass = Class.forName(className, true, Thread.currentThread().getContextClassLoader());
+            return type.cast(loadedClass.getDeclaredConstructor().newInstance());
+        } catch (ClassNotFoundException | ClassCastException | NoSuchMethodException | InstantiationException | IllegalAccessException
+                | InvocationTargetException e) {
+            throw new InvalidConfigurationException(String.format("Could not load the Jackson %s [%s]. Make sure it is on the classpath, " +
+                    "extends %s and has a public no-argument constructor.", description, className, type.getName()), e);
+        }
+    }
+}
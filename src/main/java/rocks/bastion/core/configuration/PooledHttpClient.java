@@ -0,0 +1,89 @@
+package rocks.bastion.core.configuration;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.impl.NoConnectionReuseStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds a pooled Apache HTTP client according to a {@link HttpClientConfiguration}. Expired and idle connections
+ * are evicted from the pool periodically by a single daemon thread shared by all pools.
+ */
+final class PooledHttpClient {
+
+    private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("bastion-connection-evictor-%d").build());
+    private static final long MIN_EVICTION_PERIOD = 1000;
+
+    private PooledHttpClient() {
+    }
+
+    static CloseableHttpClient create(HttpClientConfiguration configuration) {
+        Objects.requireNonNull(configuration);
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(configuration.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(configuration.getMaxConnectionsPerRoute());
+        scheduleEviction(configuration, connectionManager);
+        return buildHttpClient(configuration, connectionManager);
+    }
+
+    private static CloseableHttpClient buildHttpClient(HttpClientConfiguration configuration, HttpClientConnectionManager connectionManager) {
+        RequestConfig defaultRequestConfig = RequestConfig.custom()
+                .setConnectTimeout(toTimeoutMillis(configuration.getConnectTimeout()))
+                .setSocketTimeout(toTimeoutMillis(configuration.getSocketTimeout()))
+                .build();
+        long keepAliveTimeout = configuration.getKeepAliveTimeout();
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(defaultRequestConfig);
+        if (configuration.isKeepAlive()) {
+            builder.setKeepAliveStrategy((response, context) -> {
+                long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                return serverKeepAlive > 0 ? serverKeepAlive : keepAliveTimeout;
+            });
+        } else {
+            builder.setConnectionReuseStrategy(NoConnectionReuseStrategy.INSTANCE);
+        }
+        return builder.build();
+    }
+
+    /**
+     * The eviction task only holds a weak reference to the pool so that a pool belonging to a discarded {@link Configuration}
+     * can still be garbage collected. Throwing once the pool is gone stops any further runs of the task.
+     */
+    private static void scheduleEviction(HttpClientConfiguration configuration, PoolingHttpClientConnectionManager connectionManager) {
+        long idleTimeout = configuration.getIdleConnectionTimeout();
+        if (idleTimeout == 0) {
+            return;
+        }
+        long period = Math.max(MIN_EVICTION_PERIOD, idleTimeout / 2);
+        WeakReference<PoolingHttpClientConnectionManager> poolReference = new WeakReference<>(connectionManager);
+        EVICTOR.scheduleWithFixedDelay(() -> {
+            PoolingHttpClientConnectionManager pool = poolReference.get();
+            if (pool == null) {
+                throw new IllegalStateException("Connection pool has been discarded");
+            }
+            pool.closeExpiredConnections();
+            pool.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The Apache HTTP client takes timeouts as an {@code int}, so a longer timeout is clamped to the longest it accepts
+     * rather than wrapping around.
+     */
+    private static int toTimeoutMillis(long timeout) {
+        return (int) Math.min(timeout, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,325 @@
+package rocks.bastion.core.event;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>A {@link BastionListener} which passes events on to another listener on a background thread, so that a slow listener,
+ * such as one which writes reports or exports metrics, does not add to the time taken by each Bastion call. Register it
+ * in place of the slow listener, for example in {@link rocks.bastion.core.BastionFactory#prepareBastion} or using
+ * {@link BastionEventPublisher#registerListener(BastionListener)}, and share one instance between all the calls which
+ * should report to it.</p>
+ * <p>Events are kept in a bounded ring buffer and passed on by a single daemon thread, so the wrapped listener receives
+ * them one at a time in the order in which they were fired. Each asynchronous listener has its own buffer and thread, so
+ * one slow listener never delays another. When the buffer is full, the {@link OverflowPolicy overflow policy} decides
+ * whether the call waits for space or the event is discarded.</p>
+ * <p>The wrapped listener is called in the same way as a listener registered directly, except that it runs after the call
+ * has returned: anything it throws is logged rather than failing the call, so listeners which are meant to fail calls,
+ * such as the one registered by {@link rocks.bastion.core.DefaultBastionFactory}, must not be wrapped. A
+ * {@link VirtualMachineError}, such as an {@link OutOfMemoryError}, is not caught: it stops the background thread, and
+ * every event still in the buffer or fired afterwards is discarded. Otherwise, events still in the buffer are passed on
+ * when the listener is {@link #close() closed}, or when the JVM shuts down. A listener which is never closed does not
+ * leak: once it is no longer used anywhere and its buffer is empty, its thread stops.</p>
+ */
+public final class AsyncBastionListener implements BastionListener, AutoCloseable {
+
+    /**
+     * What happens to an event which is fired while the buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The call which fired the event waits until there is space in the buffer. No event is lost, but a listener which
+         * cannot keep up slows the calls down.
+         */
+        BLOCK,
+        /**
+         * The event is discarded. Calls are never slowed down, but any event may be lost, such as the end of a call whose
+         * start was passed on.
+         */
+        DROP,
+        /**
+         * Once the buffer is three-quarters full, only one event in every {@link #setSampleRate(int) sample rate} is
+         * kept and the others are discarded, as are all events while the buffer is completely full. The listener keeps
+         * seeing a spread of events under load instead of nothing at all. Calls are never slowed down.
+         */
+        SAMPLE
+    }
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final Logger LOG = Logger.getLogger(AsyncBastionListener.class.getCanonicalName());
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("bastion-listener-%d").build();
+    private static final long SHUTDOWN_FLUSH_TIMEOUT = 5;
+    private static final long IDLE_CHECK_INTERVAL = 1;
+    private static final Consumer<BastionListener> STOP = listener -> Thread.currentThread().interrupt();
+    // Only the dispatchers are kept here, so that a listener which is never closed can still be garbage collected
+    private static final Set<Dispatcher> OPEN_DISPATCHERS = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> OPEN_DISPATCHERS.forEach(Dispatcher::flushOnShutdown), "bastion-listener-shutdown"));
+    }
+
+    private final BlockingQueue<Consumer<BastionListener>> buffer;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Dispatcher dispatcher;
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private volatile int sampleRate = 10;
+    private volatile boolean closed;
+
+    /**
+     * Passes events on to the specified listener using a buffer of {@link #DEFAULT_CAPACITY} events, waiting for space
+     * when it is full.
+     *
+     * @param delegate The non-{@literal null} listener to pass events on to
+     */
+    public AsyncBastionListener(BastionListener delegate) {
+        this(delegate, DEFAULT_CAPACITY, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * @param delegate       The non-{@literal null} listener to pass events on to
+     * @param capacity       The positive number of events which can wait to be passed on
+     * @param overflowPolicy The non-{@literal null} policy applied to events fired while the buffer is full
+     */
+    public AsyncBastionListener(BastionListener delegate, int capacity, OverflowPolicy overflowPolicy) {
+        Objects.requireNonNull(delegate);
+        Objects.requireNonNull(overflowPolicy);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The buffer capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        buffer = new ArrayBlockingQueue<>(capacity);
+        dispatcher = new Dispatcher(delegate, buffer, droppedCount, new WeakReference<>(this));
+        dispatcher.start();
+    }
+
+    /**
+     * Sets how many events, under the {@link OverflowPolicy#SAMPLE} policy, make up each sample of which one is kept while
+     * the buffer is nearly full. Defaults to 10.
+     *
+     * @param sampleRate The positive sample rate
+     * @return This object (for method chaining)
+     */
+    public AsyncBastionListener setSampleRate(int sampleRate) {
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("The sample rate must be positive");
+        }
+        this.sampleRate = sampleRate;
+        return this;
+    }
+
+    @Override
+    public void callStarted(BastionStartedEvent event) {
+        Objects.requireNonNull(event);
+        publish(listener -> listener.callStarted(event));
+    }
+
+    @Override
+    public void callFinished(BastionFinishedEvent event) {
+        Objects.requireNonNull(event);
+        publish(listener -> listener.callFinished(event));
+    }
+
+    @Override
+    public void callFailed(BastionFailureEvent event) {
+        Objects.requireNonNull(event);
+        publish(listener -> listener.callFailed(event));
+    }
+
+    @Override
+    public void callError(BastionErrorEvent event) {
+        Objects.requireNonNull(event);
+        publish(listener -> listener.callError(event));
+    }
+
+    /**
+     * @return The number of events which were discarded because the buffer was full or this listener was closed
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Waits until every event fired so far has been passed on to the wrapped listener.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit    The non-{@literal null} unit of the timeout
+     * @return {@literal true} if every event was passed on; {@literal false} if the timeout elapsed first
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        Objects.requireNonNull(unit);
+        return dispatcher.flush(timeout, unit);
+    }
+
+    /**
+     * Stops accepting events, passes on the events which are still in the buffer and stops the background thread. Events
+     * fired after this listener is closed are discarded. If the wrapped listener closes this listener while handling an
+     * event, this method returns straight away and the background thread stops once it has passed on the remaining events.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        dispatcher.closed = true;
+        if (dispatcher.isCurrentThread()) {
+            // Waiting for the dispatcher from its own thread would never end
+            return;
+        }
+        try {
+            buffer.put(STOP);
+            dispatcher.join();
+            // The dispatcher may have stopped on an error before it reached the stop event
+            buffer.remove(STOP);
+            // Events fired while this listener was being closed arrive after the dispatcher has stopped
+            droppedCount.addAndGet(buffer.size());
+            buffer.clear();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publish(Consumer<BastionListener> event) {
+        if (closed || dispatcher.closed) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    buffer.put(event);
+                } catch (InterruptedException exception) {
+                    droppedCount.incrementAndGet();
+                    Thread.currentThread().interrupt();
+                }
+                break;
+            case SAMPLE:
+                if ((buffer.size() >= capacity - capacity / 4) && ((sampleCounter.getAndIncrement() % sampleRate) != 0)) {
+                    droppedCount.incrementAndGet();
+                    break;
+                }
+                // Fall through to add the sampled event if there is still space
+            case DROP:
+                if (!buffer.offer(event)) {
+                    droppedCount.incrementAndGet();
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown overflow policy " + overflowPolicy);
+        }
+    }
+
+    /**
+     * Passes the events in a listener's buffer on to the wrapped listener. The dispatcher only holds a weak reference to
+     * the listener, so that it stops once the listener is garbage collected and there are no events left to pass on.
+     */
+    private static final class Dispatcher {
+
+        private final BastionListener delegate;
+        private final BlockingQueue<Consumer<BastionListener>> buffer;
+        private final AtomicLong droppedCount;
+        private final Reference<AsyncBastionListener> owner;
+        private final Thread thread;
+        private volatile boolean closed;
+
+        private Dispatcher(BastionListener delegate, BlockingQueue<Consumer<BastionListener>> buffer, AtomicLong droppedCount,
+                           Reference<AsyncBastionListener> owner) {
+            this.delegate = delegate;
+            this.buffer = buffer;
+            this.droppedCount = droppedCount;
+            this.owner = owner;
+            thread = THREAD_FACTORY.newThread(this::dispatch);
+        }
+
+        private void start() {
+            OPEN_DISPATCHERS.add(this);
+            thread.start();
+        }
+
+        private boolean isCurrentThread() {
+            return Thread.currentThread() == thread;
+        }
+
+        private void join() throws InterruptedException {
+            thread.join();
+        }
+
+        private void dispatch() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Consumer<BastionListener> event;
+                    try {
+                        event = buffer.poll(IDLE_CHECK_INTERVAL, TimeUnit.SECONDS);
+                    } catch (InterruptedException exception) {
+                        return;
+                    }
+                    if (event == null) {
+                        if (closed || (owner.get() == null)) {
+                            return;
+                        }
+                        continue;
+                    }
+                    try {
+                        event.accept(delegate);
+                    } catch (VirtualMachineError error) {
+                        // The JVM can no longer be relied on, so stop rather than carry on passing events in a broken state
+                        closed = true;
+                        List<Consumer<BastionListener>> discarded = new ArrayList<>();
+                        buffer.drainTo(discarded);
+                        discarded.remove(STOP);
+                        droppedCount.addAndGet(discarded.size());
+                        throw error;
+                    } catch (RuntimeException | Error exception) {
+                        // Any failure is caught so that this thread keeps draining the buffer for blocked publishers
+                        LOG.log(Level.WARNING, "An asynchronous Bastion listener failed to handle an event", exception);
+                    }
+                }
+            } finally {
+                OPEN_DISPATCHERS.remove(this);
+            }
+        }
+
+        private boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+            if (!thread.isAlive()) {
+                return buffer.isEmpty();
+            }
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            CountDownLatch flushed = new CountDownLatch(1);
+            if (!buffer.offer(listener -> flushed.countDown(), timeout, unit)) {
+                return false;
+            }
+            return flushed.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        private void flushOnShutdown() {
+            try {
+                if (!flush(SHUTDOWN_FLUSH_TIMEOUT, TimeUnit.SECONDS)) {
+                    LOG.warning("Some Bastion events could not be passed on to an asynchronous listener before shutting down");
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -3,7 +3,9 @@ package rocks.bastion.core.event;
 import rocks.bastion.core.BastionBuilderImpl;
 
 /**
- * Interface that {@link BastionBuilderImpl} will use to notify implementors of call status.
+ * Interface that {@link BastionBuilderImpl} will use to notify implementors of call status. Listeners are notified
+ * synchronously, on the thread making the call; wrap a slow listener in an {@link AsyncBastionListener} to keep it from
+ * delaying the calls.
  */
 public interface BastionListener {
 
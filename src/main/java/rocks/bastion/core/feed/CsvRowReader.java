@@ -0,0 +1,133 @@
+package rocks.bastion.core.feed;
+
+import rocks.bastion.core.resource.InvalidResourceException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads comma-separated values as described in RFC-4180. The first record is the header, which names the variable of
+ * each column. Values may be enclosed in double quotes, in which case they may contain commas, line breaks and doubled
+ * double quotes. Empty lines are skipped.
+ */
+final class CsvRowReader implements RowReader {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final BufferedReader reader;
+    private final String source;
+    private final List<String> columns;
+    private long rowNumber;
+
+    CsvRowReader(Reader reader, String source) throws IOException {
+        this.reader = new BufferedReader(reader);
+        this.source = source;
+        columns = readHeader();
+        rowNumber = 0;
+    }
+
+    @Override
+    public Map<String, String> nextRow() throws IOException {
+        List<String> values = readRecord();
+        while ((values != null) && values.isEmpty()) {
+            values = readRecord();
+        }
+        if (values == null) {
+            return null;
+        }
+        rowNumber++;
+        if (values.size() != columns.size()) {
+            throw new InvalidResourceException(String.format("Row %d of the CSV data feed %s has %d values but its header has %d columns.",
+                    rowNumber, source, values.size(), columns.size()), source);
+        }
+        Map<String, String> row = new LinkedHashMap<>(columns.size() * 2);
+        for (int column = 0; column < columns.size(); column++) {
+            row.put(columns.get(column), values.get(column));
+        }
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private List<String> readHeader() throws IOException {
+        List<String> header = readRecord();
+        while ((header != null) && header.isEmpty()) {
+            header = readRecord();
+        }
+        if (header == null) {
+            return Collections.emptyList();
+        }
+        String firstColumn = header.get(0);
+        if (!firstColumn.isEmpty() && (firstColumn.charAt(0) == BYTE_ORDER_MARK)) {
+            header.set(0, firstColumn.substring(1));
+        }
+        return header;
+    }
+
+    /**
+     * @return The values of the next record, an empty list for an empty line or {@literal null} at the end of the data
+     */
+    private List<String> readRecord() throws IOException {
+        int character = reader.read();
+        if (character == -1) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        while (true) {
+            if (quoted) {
+                if (character == -1) {
+                    throw new InvalidResourceException(String.format("Row %d of the CSV data feed %s has a quoted value which is never closed.",
+                            rowNumber + 1, source), source);
+                }
+                if (character == QUOTE) {
+                    character = reader.read();
+                    if (character != QUOTE) {
+                        // The closing quote: the character after it is read as an unquoted one
+                        quoted = false;
+                        continue;
+                    }
+                }
+                value.append((char) character);
+            } else if ((character == QUOTE) && (value.length() == 0)) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (character == SEPARATOR) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if ((character == '\n') || (character == '\r') || (character == -1)) {
+                if (character == '\r') {
+                    skipLineFeed();
+                }
+                if (values.isEmpty() && (value.length() == 0) && !wasQuoted) {
+                    return Collections.emptyList();
+                }
+                values.add(value.toString());
+                return values;
+            } else {
+                value.append((char) character);
+            }
+            character = reader.read();
+        }
+    }
+
+    private void skipLineFeed() throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\n') {
+            reader.reset();
+        }
+    }
+}
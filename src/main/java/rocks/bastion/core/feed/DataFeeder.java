@@ -0,0 +1,413 @@
+package rocks.bastion.core.feed;
+
+import rocks.bastion.core.HttpMethod;
+import rocks.bastion.core.HttpRequest;
+import rocks.bastion.core.TemplateContentCompiler;
+import rocks.bastion.core.json.JsonRequest;
+import rocks.bastion.core.resource.ResourceLoader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Streams the rows of a CSV or <a href="http://jsonlines.org/">JSON Lines</a> resource, such as a list of user IDs,
+ * so that the same templated request can be sent once for every row. Each row is a map from variable names to values,
+ * which is used as the variable assignments of a {@link TemplateContentCompiler template}. For CSV data, the variable
+ * names are the columns of the header row; for JSON Lines, they are the properties of each object. Resources are
+ * read in UTF-8, as described in {@link ResourceLoader}.</p>
+ * <p>Rows are read lazily, one at a time, as the returned streams are consumed, so a feed of millions of rows is never
+ * held in memory. The streams hold the resource open until they are exhausted or closed, so close streams which are not
+ * consumed to the end, for example using a try-with-resources statement.</p>
+ * <p>The rows are visited in one of the following {@link Order orders}:</p>
+ * <ul>
+ * <li>{@link #sequential() Sequentially} (the default), from the first row to the last.</li>
+ * <li>{@link #random() Randomly}, where each row is still visited once. So that memory stays bounded, rows are shuffled
+ * within a {@link #shuffleWindow(int) window} which moves through the resource: the next row is picked at random from
+ * the window and replaced by the next row read.</li>
+ * <li>{@link #circular() Circularly}, starting over from the first row after the last one, forever.</li>
+ * </ul>
+ * <p>Rows can also be divided into {@link #rows(int, int) shards} by their position in the resource, so that every
+ * row is visited by exactly one consumer. When a feeder is {@link #shardedByWorker() sharded by worker}, each worker of a
+ * {@link rocks.bastion.core.load.LoadTest load test} reads its own shard rather than all workers taking turns to read from
+ * a single stream.</p>
+ * <p>Use {@link #requests(Function)} or {@link #jsonRequests(HttpMethod, String, String)} to turn the rows into a
+ * {@link RequestFeed} of requests.</p>
+ */
+public final class DataFeeder {
+
+    /**
+     * The order in which a feeder visits its rows.
+     */
+    public enum Order {
+        SEQUENTIAL,
+        RANDOM,
+        CIRCULAR
+    }
+
+    /**
+     * The formats of the resources which a feeder can read.
+     */
+    private enum Format {
+        CSV,
+        JSON_LINES
+    }
+
+    static final int DEFAULT_SHUFFLE_WINDOW = 10_000;
+
+    private final String source;
+    private final Format format;
+    private Order order;
+    private int shuffleWindow;
+    private Long seed;
+    private boolean shardedByWorker;
+
+    private DataFeeder(String source, Format format) {
+        Objects.requireNonNull(source);
+        // Fail early if the resource does not exist rather than when the first row is needed
+        new ResourceLoader(source);
+        this.source = source;
+        this.format = format;
+        order = Order.SEQUENTIAL;
+        shuffleWindow = DEFAULT_SHUFFLE_WINDOW;
+        seed = null;
+        shardedByWorker = false;
+    }
+
+    /**
+     * Creates a feeder for comma-separated values, whose first row is a header which names the variable in each column.
+     * Values can be quoted as described in RFC-4180.
+     *
+     * @param source The non-{@literal null} resource URL to read, as described in {@link ResourceLoader}
+     * @return A new feeder for the given resource
+     */
+    public static DataFeeder fromCsv(String source) {
+        return new DataFeeder(source, Format.CSV);
+    }
+
+    /**
+     * Creates a feeder for JSON Lines, where every line is a JSON object whose properties are the variables of one row.
+     * Strings, numbers and booleans are assigned as their text, without quotes, while objects and arrays are assigned as
+     * JSON text.
+     *
+     * @param source The non-{@literal null} resource URL to read, as described in {@link ResourceLoader}
+     * @return A new feeder for the given resource
+     */
+    public static DataFeeder fromJsonLines(String source) {
+        return new DataFeeder(source, Format.JSON_LINES);
+    }
+
+    /**
+     * Visits the rows in the order in which they appear in the resource. This is the default.
+     *
+     * @return This object (for method chaining)
+     */
+    public DataFeeder sequential() {
+        order = Order.SEQUENTIAL;
+        return this;
+    }
+
+    /**
+     * Visits each row once, in a random order which is different every time the rows are streamed.
+     *
+     * @return This object (for method chaining)
+     */
+    public DataFeeder random() {
+        order = Order.RANDOM;
+        seed = null;
+        return this;
+    }
+
+    /**
+     * Visits each row once, in a random order which is the same every time the rows are streamed with the same seed.
+     *
+     * @param seed The seed of the random order
+     * @return This object (for method chaining)
+     */
+    public DataFeeder random(long seed) {
+        order = Order.RANDOM;
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Sets the number of rows which are held in memory to shuffle a {@link #random() random} feed. Rows can only move
+     * forward by about this many positions, so a larger window gives a more thorough shuffle. Defaults to
+     * {@value #DEFAULT_SHUFFLE_WINDOW} rows.
+     *
+     * @param rows A positive number of rows
+     * @return This object (for method chaining)
+     */
+    public DataFeeder shuffleWindow(int rows) {
+        if (rows <= 0) {
+            throw new IllegalArgumentException("The shuffle window should be greater than zero.");
+        }
+        shuffleWindow = rows;
+        return this;
+    }
+
+    /**
+     * Visits the rows sequentially and starts over from the first row after the last one, so the streams never end unless
+     * the resource has no rows.
+     *
+     * @return This object (for method chaining)
+     */
+    public DataFeeder circular() {
+        order = Order.CIRCULAR;
+        return this;
+    }
+
+    /**
+     * Gives each worker of a load test its own {@link #rows(int, int) shard} of the rows.
+     *
+     * @return This object (for method chaining)
+     */
+    public DataFeeder shardedByWorker() {
+        shardedByWorker = true;
+        return this;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public boolean isShardedByWorker() {
+        return shardedByWorker;
+    }
+
+    /**
+     * Streams all the rows in this feeder's order. The stream reads the resource lazily and must be closed if it is not
+     * consumed to the end.
+     *
+     * @return A new stream of rows
+     */
+    public Stream<Map<String, String>> rows() {
+        return rows(0, 1);
+    }
+
+    /**
+     * Streams one shard of the rows in this feeder's order. Rows are assigned to shards by their position in the resource:
+     * the n<sup>th</sup> row (counting from zero) belongs to shard {@code n % shardCount}. The stream reads the resource
+     * lazily and must be closed if it is not consumed to the end.
+     *
+     * @param shard      The shard to stream, from zero to {@code shardCount - 1}
+     * @param shardCount The positive number of shards
+     * @return A new stream of the rows in the given shard
+     */
+    public Stream<Map<String, String>> rows(int shard, int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("The number of shards should be greater than zero.");
+        }
+        if ((shard < 0) || (shard >= shardCount)) {
+            throw new IllegalArgumentException(String.format("The shard should be between 0 and %d.", shardCount - 1));
+        }
+        Iterator<Map<String, String>> rows = new ShardIterator(shard, shardCount);
+        if (order == Order.RANDOM) {
+            Random random = (seed == null) ? new Random() : new Random(seed + shard);
+            rows = new ShuffleIterator(rows, shuffleWindow, random);
+        }
+        Iterator<Map<String, String>> iterator = rows;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> close(iterator));
+    }
+
+    /**
+     * Creates a feed of requests by calling the given factory for each row.
+     *
+     * @param requestFactory The non-{@literal null} function which creates the request for a row
+     * @return A feed of requests for the rows of this feeder
+     */
+    public RequestFeed requests(Function<? super Map<String, String>, ? extends HttpRequest> requestFactory) {
+        Objects.requireNonNull(requestFactory);
+        return new RequestFeed(this, requestFactory);
+    }
+
+    /**
+     * Creates a feed of {@link JsonRequest JSON requests} whose URL and body are both templates, rendered with the
+     * variables of each row. The body template is compiled once and reused for every row.
+     *
+     * @param method             The non-{@literal null} HTTP method of the requests
+     * @param urlTemplate        The non-{@literal null} URL of the requests, as a Mustache template such as
+     *                           {@code http://localhost/users/{{id}}}
+     * @param jsonTemplateSource The non-{@literal null} resource URL of the Mustache template for the request bodies
+     * @return A feed of requests for the rows of this feeder
+     */
+    public RequestFeed jsonRequests(HttpMethod method, String urlTemplate, String jsonTemplateSource) {
+        Objects.requireNonNull(method);
+        Objects.requireNonNull(urlTemplate);
+        Objects.requireNonNull(jsonTemplateSource);
+        return requests(row -> {
+            TemplateContentCompiler url = new TemplateContentCompiler(urlTemplate);
+            url.addAllVariableAssignments(row);
+            return JsonRequest.fromTemplate(method, url.getContent(), jsonTemplateSource, row);
+        });
+    }
+
+    private RowReader openReader() throws IOException {
+        Reader reader = new InputStreamReader(new ResourceLoader(source).openStream(), StandardCharsets.UTF_8);
+        switch (format) {
+            case CSV:
+                try {
+                    return new CsvRowReader(reader, source);
+                } catch (IOException | RuntimeException exception) {
+                    reader.close();
+                    throw exception;
+                }
+            case JSON_LINES:
+                return new JsonLinesRowReader(reader, source);
+            default:
+                throw new IllegalStateException("Unknown data feed format: " + format);
+        }
+    }
+
+    private static void close(Iterator<?> iterator) {
+        if (iterator instanceof Closeable) {
+            try {
+                ((Closeable) iterator).close();
+            } catch (IOException ignored) {
+                // Nothing more will be read from the resource
+            }
+        }
+    }
+
+    /**
+     * Reads the rows of one shard in the order in which they appear in the resource, starting over at the end of a circular
+     * feed. The resource is opened when the first row is needed.
+     */
+    private final class ShardIterator implements Iterator<Map<String, String>>, Closeable {
+
+        private final int shard;
+        private final int shardCount;
+        private final boolean circular;
+        private RowReader reader;
+        private long position;
+        private boolean rowsInPass;
+        private boolean finished;
+        private Map<String, String> next;
+
+        private ShardIterator(int shard, int shardCount) {
+            this.shard = shard;
+            this.shardCount = shardCount;
+            circular = order == Order.CIRCULAR;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while ((next == null) && !finished) {
+                next = readRow();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Map<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map<String, String> row = next;
+            next = null;
+            return row;
+        }
+
+        @Override
+        public void close() throws IOException {
+            finished = true;
+            if (reader != null) {
+                reader.close();
+                reader = null;
+            }
+        }
+
+        /**
+         * @return The next row, or {@literal null} if the row at the current position belongs to another shard or the
+         * end of the resource was reached
+         */
+        private Map<String, String> readRow() {
+            try {
+                if (reader == null) {
+                    reader = openReader();
+                    position = 0;
+                    rowsInPass = false;
+                }
+                Map<String, String> row = reader.nextRow();
+                if (row == null) {
+                    boolean startOver = circular && rowsInPass;
+                    close();
+                    finished = !startOver;
+                    return null;
+                }
+                return ((position++ % shardCount) == shard) ? markRead(row) : null;
+            } catch (IOException exception) {
+                throw new IllegalStateException("An unexpected error occurred while reading the data feed " + source, exception);
+            }
+        }
+
+        private Map<String, String> markRead(Map<String, String> row) {
+            rowsInPass = true;
+            return row;
+        }
+    }
+
+    /**
+     * Shuffles the rows read from another iterator, holding no more than a fixed number of them in memory.
+     */
+    private static final class ShuffleIterator implements Iterator<Map<String, String>>, Closeable {
+
+        private final Iterator<Map<String, String>> rows;
+        private final List<Map<String, String>> window;
+        private final int windowSize;
+        private final Random random;
+
+        private ShuffleIterator(Iterator<Map<String, String>> rows, int windowSize, Random random) {
+            this.rows = rows;
+            this.windowSize = windowSize;
+            this.random = random;
+            window = new ArrayList<>();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while ((window.size() < windowSize) && rows.hasNext()) {
+                window.add(rows.next());
+            }
+            return !window.isEmpty();
+        }
+
+        @Override
+        public Map<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int index = random.nextInt(window.size());
+            Map<String, String> last = window.remove(window.size() - 1);
+            if (index == window.size()) {
+                return last;
+            }
+            return window.set(index, last);
+        }
+
+        @Override
+        public void close() {
+            window.clear();
+            DataFeeder.close(rows);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package rocks.bastion.core.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import rocks.bastion.core.BastionFactory;
+import rocks.bastion.core.resource.InvalidResourceException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads <a href="http://jsonlines.org/">JSON Lines</a>, where every line is a JSON object whose properties are the
+ * variables of a row. Strings, numbers and booleans are assigned as their text, without quotes, while objects and
+ * arrays are assigned as JSON text. Empty lines are skipped.
+ */
+final class JsonLinesRowReader implements RowReader {
+
+    private final BufferedReader reader;
+    private final String source;
+    private long lineNumber;
+
+    JsonLinesRowReader(Reader reader, String source) {
+        this.reader = new BufferedReader(reader);
+        this.source = source;
+        lineNumber = 0;
+    }
+
+    @Override
+    public Map<String, String> nextRow() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+        } while ((line != null) && line.trim().isEmpty());
+        if (line == null) {
+            return null;
+        }
+        JsonNode object = parse(line);
+        if (!object.isObject()) {
+            throw new InvalidResourceException(String.format("Line %d of the JSON Lines data feed %s is not a JSON object.", lineNumber, source), source);
+        }
+        Map<String, String> row = new LinkedHashMap<>(object.size() * 2);
+        Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            row.put(field.getKey(), value.isContainerNode() ? value.toString() : value.asText());
+        }
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private JsonNode parse(String line) throws IOException {
+        try {
+            return BastionFactory.getDefaultBastionFactory().getConfiguration().getJsonMappers().readTree(line);
+        } catch (JsonProcessingException exception) {
+            throw new InvalidResourceException(String.format("Line %d of the JSON Lines data feed %s is not valid JSON: %s",
+                    lineNumber, source, exception.getOriginalMessage()), source);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package rocks.bastion.core.feed;
+
+import rocks.bastion.core.HttpRequest;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * <p>A lazily created sequence of {@link HttpRequest}s, one for each row of a {@link DataFeeder}. Requests are only created
+ * as the returned streams are consumed, so a consumer which sends each request before taking the next one never holds
+ * more than a few rows in memory, however large the feed.</p>
+ * <p>Feeds are normally created using {@link DataFeeder#requests(Function)} and consumed either directly, for example
+ * to send every request using Bastion, or by a {@link rocks.bastion.core.load.LoadTest load test} using
+ * {@link rocks.bastion.Bastion#load(RequestFeed)}.</p>
+ */
+public final class RequestFeed {
+
+    private final DataFeeder feeder;
+    private final Function<? super Map<String, String>, ? extends HttpRequest> requestFactory;
+
+    RequestFeed(DataFeeder feeder, Function<? super Map<String, String>, ? extends HttpRequest> requestFactory) {
+        Objects.requireNonNull(feeder);
+        Objects.requireNonNull(requestFactory);
+        this.feeder = feeder;
+        this.requestFactory = requestFactory;
+    }
+
+    /**
+     * @return A descriptive name for this feed, naming the resource which it reads
+     */
+    public String name() {
+        return "Requests fed from " + feeder.getSource();
+    }
+
+    /**
+     * @return {@literal true} if the streams of this feed end, which is the case unless the feeder is
+     * {@link DataFeeder#circular() circular}
+     */
+    public boolean isFinite() {
+        return feeder.getOrder() != DataFeeder.Order.CIRCULAR;
+    }
+
+    /**
+     * @return {@literal true} if each worker of a load test should read its own shard of this feed
+     * @see DataFeeder#shardedByWorker()
+     */
+    public boolean isShardedByWorker() {
+        return feeder.isShardedByWorker();
+    }
+
+    /**
+     * Streams the requests for all the rows of the feeder. The stream must be closed if it is not consumed to the end.
+     *
+     * @return A new stream of requests
+     */
+    public Stream<HttpRequest> stream() {
+        return stream(0, 1);
+    }
+
+    /**
+     * Streams the requests for one shard of the rows of the feeder, as described in {@link DataFeeder#rows(int, int)}.
+     * The stream must be closed if it is not consumed to the end.
+     *
+     * @param shard      The shard to stream, from zero to {@code shardCount - 1}
+     * @param shardCount The positive number of shards
+     * @return A new stream of requests
+     */
+    public Stream<HttpRequest> stream(int shard, int shardCount) {
+        return feeder.rows(shard, shardCount).map(requestFactory);
+    }
+}
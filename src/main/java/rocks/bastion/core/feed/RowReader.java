@@ -0,0 +1,19 @@
+package rocks.bastion.core.feed;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Reads the rows of a data feed one at a time, so that only the current row is held in memory. Each row maps variable
+ * names to their values.
+ */
+interface RowReader extends Closeable {
+
+    /**
+     * @return The next row, or {@literal null} if there are no more rows
+     * @throws IOException if the feed could not be read
+     * @throws rocks.bastion.core.resource.InvalidResourceException if the next row is malformed
+     */
+    Map<String, String> nextRow() throws IOException;
+}
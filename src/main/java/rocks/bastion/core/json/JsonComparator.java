@@ -0,0 +1,185 @@
+package rocks.bastion.core.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import rocks.bastion.core.json.JsonPathTrie.Cursor;
+import rocks.bastion.core.json.JsonPathTrie.Rule;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compares an actual JSON tree against an expected JSON tree in a single walk of both trees, stopping at the first
+ * difference. The comparison understands the same rules as {@link JsonResponseAssertions}:
+ * <ul>
+ * <li>The values of ignored paths are not compared, although the properties must still be present in both trees.</li>
+ * <li>The arrays at unordered paths are compared as multisets, by counting the occurrences of each element in a hash map,
+ * so that comparing two arrays takes linear rather than quadratic time.</li>
+ * </ul>
+ * Paths are the patterns described in {@link JsonPathTrie}, such as {@code /favourites/colours} or {@code /items/*}{@code /id},
+ * and are compiled into a trie once. The comparator keeps a trie cursor as it walks, so only the parts of the trees which
+ * one of the patterns can still match are walked node by node; every other subtree is compared using
+ * {@link JsonNode#equals(Object)}.
+ */
+final class JsonComparator {
+
+    private static final Comparator<JsonNode> CANONICAL_ORDER = Comparator.comparing(JsonNode::toString);
+
+    private final JsonPathTrie paths;
+
+    JsonComparator(Collection<String> ignoredValuePaths, Collection<String> unorderedArrayPaths) {
+        Objects.requireNonNull(ignoredValuePaths);
+        Objects.requireNonNull(unorderedArrayPaths);
+        paths = new JsonPathTrie();
+        ignoredValuePaths.forEach(path -> paths.add(path, Rule.IGNORE_VALUE));
+        unorderedArrayPaths.forEach(path -> paths.add(path, Rule.IGNORE_ORDER));
+    }
+
+    /**
+     * @param actual   The actual JSON tree
+     * @param expected The expected JSON tree
+     * @return {@literal true} if the trees are equivalent according to the comparison rules
+     */
+    boolean isEquivalent(JsonNode actual, JsonNode expected) {
+        if ((actual == null) || (expected == null)) {
+            return actual == expected;
+        }
+        return isEquivalent(actual, expected, paths.root());
+    }
+
+    /**
+     * @param path The JSON Pointer of a node, such as {@code /items/3/createdAt}
+     * @return {@literal true} if the value at the given path is ignored
+     */
+    boolean isValueIgnored(String path) {
+        return paths.matches(path, Rule.IGNORE_VALUE);
+    }
+
+    /**
+     * @param path The JSON Pointer of a node, such as {@code /items/3/createdAt}
+     * @return {@literal true} if the value of an ancestor of the node at the given path is ignored
+     */
+    boolean isInsideIgnoredValue(String path) {
+        return paths.matchesAncestor(path, Rule.IGNORE_VALUE);
+    }
+
+    /**
+     * @param path The JSON Pointer of an array, such as {@code /items}
+     * @return {@literal true} if the order of the array at the given path is ignored
+     */
+    boolean isOrderIgnored(String path) {
+        return paths.matches(path, Rule.IGNORE_ORDER);
+    }
+
+    private boolean isEquivalent(JsonNode actual, JsonNode expected, Cursor cursor) {
+        if (cursor.isEmpty()) {
+            return actual.equals(expected);
+        }
+        if (cursor.matches(Rule.IGNORE_VALUE)) {
+            return true;
+        }
+        if (actual.getNodeType() != expected.getNodeType()) {
+            return false;
+        }
+        if (actual.isArray() && cursor.matches(Rule.IGNORE_ORDER)) {
+            return isSameMultiset(actual, expected, cursor.anyChild());
+        }
+        if (actual.isObject()) {
+            return isEquivalentObject(actual, expected, cursor);
+        }
+        if (actual.isArray()) {
+            return isEquivalentArray(actual, expected, cursor);
+        }
+        return actual.equals(expected);
+    }
+
+    private boolean isEquivalentObject(JsonNode actual, JsonNode expected, Cursor cursor) {
+        if (actual.size() != expected.size()) {
+            return false;
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = expected.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode actualValue = actual.get(field.getKey());
+            if ((actualValue == null) || !isEquivalent(actualValue, field.getValue(), cursor.child(field.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isEquivalentArray(JsonNode actual, JsonNode expected, Cursor cursor) {
+        if (actual.size() != expected.size()) {
+            return false;
+        }
+        for (int index = 0; index < expected.size(); index++) {
+            if (!isEquivalent(actual.get(index), expected.get(index), cursor.child(Integer.toString(index)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares two arrays regardless of the order of their elements. If patterns apply inside the elements, such as
+     * {@code /items/*}{@code /createdAt}, each element is first reduced to a canonical form which hides its ignored
+     * values and sorts its unordered arrays, so that equivalent elements hash alike.
+     */
+    private static boolean isSameMultiset(JsonNode actual, JsonNode expected, Cursor elementCursor) {
+        if (actual.size() != expected.size()) {
+            return false;
+        }
+        Map<JsonNode, Integer> remaining = new HashMap<>(expected.size() * 2);
+        expected.forEach(element -> remaining.merge(canonicalize(element, elementCursor), 1, Integer::sum));
+        for (JsonNode element : actual) {
+            JsonNode canonicalElement = canonicalize(element, elementCursor);
+            Integer count = remaining.get(canonicalElement);
+            if (count == null) {
+                return false;
+            }
+            if (count == 1) {
+                remaining.remove(canonicalElement);
+            } else {
+                remaining.put(canonicalElement, count - 1);
+            }
+        }
+        return remaining.isEmpty();
+    }
+
+    private static JsonNode canonicalize(JsonNode node, Cursor cursor) {
+        if (cursor.isEmpty()) {
+            return node;
+        }
+        if (cursor.matches(Rule.IGNORE_VALUE)) {
+            return MissingNode.getInstance();
+        }
+        if (node.isObject()) {
+            ObjectNode canonicalObject = JsonNodeFactory.instance.objectNode();
+            node.fields().forEachRemaining(field -> canonicalObject.set(field.getKey(), canonicalize(field.getValue(), cursor.child(field.getKey()))));
+            return canonicalObject;
+        }
+        if (node.isArray()) {
+            boolean unordered = cursor.matches(Rule.IGNORE_ORDER);
+            List<JsonNode> elements = new ArrayList<>(node.size());
+            for (int index = 0; index < node.size(); index++) {
+                elements.add(canonicalize(node.get(index), unordered ? cursor.anyChild() : cursor.child(Integer.toString(index))));
+            }
+            if (unordered) {
+                elements.sort(CANONICAL_ORDER);
+            }
+            ArrayNode canonicalArray = JsonNodeFactory.instance.arrayNode();
+            canonicalArray.addAll(elements);
+            return canonicalArray;
+        }
+        return node;
+    }
+}
@@ -0,0 +1,254 @@
+package rocks.bastion.core.json;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>Compiles JSON path patterns, each tagged with a {@link Rule}, into a trie which is consulted while walking a JSON tree.
+ * A pattern is a JSON Pointer, such as {@code /favourites/colours}, whose segments may also be:</p>
+ * <ul>
+ * <li>{@code *}, which matches any single property name or array index, such as in {@code /items/*}{@code /createdAt}.</li>
+ * <li>{@code **}, which matches any number of segments, including none, such as in {@code /**}{@code /id}.</li>
+ * </ul>
+ * <p>A walk starts at the {@link #root() root cursor} and moves one segment at a time using {@link Cursor#child(String)},
+ * so finding the rules which apply to a node takes time proportional to the node's depth rather than to the number of
+ * patterns times their length. A cursor which {@link Cursor#isEmpty() is empty} tells the walker that no pattern applies
+ * anywhere below the current node.</p>
+ */
+final class JsonPathTrie {
+
+    /**
+     * The rules which a pattern applies to the values it matches.
+     */
+    enum Rule {
+        /**
+         * The value is not compared, although it must be present.
+         */
+        IGNORE_VALUE,
+        /**
+         * The value, if it is an array, is compared regardless of the order of its elements.
+         */
+        IGNORE_ORDER
+    }
+
+    private static final String WILDCARD = "*";
+    private static final String RECURSIVE_WILDCARD = "**";
+
+    private final Node root;
+
+    JsonPathTrie() {
+        root = new Node(false);
+    }
+
+    /**
+     * Adds a pattern to this trie.
+     *
+     * @param pattern The non-{@literal null} pattern, which is either empty, to match the whole document, or starts with {@code /}
+     * @param rule    The non-{@literal null} rule to apply to the values which the pattern matches
+     * @throws IllegalArgumentException if the pattern is not empty and does not start with {@code /}
+     */
+    void add(String pattern, Rule rule) {
+        Objects.requireNonNull(pattern);
+        Objects.requireNonNull(rule);
+        Node node = root;
+        for (String segment : split(pattern)) {
+            node = node.childFor(segment);
+        }
+        node.rules.add(rule);
+    }
+
+    /**
+     * @return The cursor at the root of the JSON document
+     */
+    Cursor root() {
+        return Cursor.of(Collections.singletonList(root));
+    }
+
+    /**
+     * @param path The non-{@literal null} JSON Pointer of a node
+     * @param rule The non-{@literal null} rule to look for
+     * @return {@literal true} if a pattern with the given rule matches the node at the given path
+     */
+    boolean matches(String path, Rule rule) {
+        Cursor cursor = root();
+        for (String segment : split(path)) {
+            cursor = cursor.child(segment);
+        }
+        return cursor.matches(rule);
+    }
+
+    /**
+     * @param path The non-{@literal null} JSON Pointer of a node
+     * @param rule The non-{@literal null} rule to look for
+     * @return {@literal true} if a pattern with the given rule matches one of the ancestors of the node at the given path,
+     * not including the node itself
+     */
+    boolean matchesAncestor(String path, Rule rule) {
+        Cursor cursor = root();
+        for (String segment : split(path)) {
+            if (cursor.matches(rule)) {
+                return true;
+            }
+            cursor = cursor.child(segment);
+        }
+        return false;
+    }
+
+    private static List<String> split(String pointer) {
+        if (pointer.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (pointer.charAt(0) != '/') {
+            throw new IllegalArgumentException(String.format("\"%s\" is not a valid JSON path pattern. Patterns must start with '/'.", pointer));
+        }
+        List<String> segments = new ArrayList<>();
+        int start = 1;
+        for (int slash = pointer.indexOf('/', start); slash != -1; slash = pointer.indexOf('/', start)) {
+            segments.add(unescape(pointer.substring(start, slash)));
+            start = slash + 1;
+        }
+        segments.add(unescape(pointer.substring(start)));
+        return segments;
+    }
+
+    private static String unescape(String segment) {
+        if (segment.indexOf('~') == -1) {
+            return segment;
+        }
+        return segment.replace("~1", "/").replace("~0", "~");
+    }
+
+    /**
+     * The set of trie nodes which match the path walked so far. Cursors are immutable, so a walker can keep the cursor of
+     * a node while it visits the node's children.
+     */
+    static final class Cursor {
+
+        private static final Cursor EMPTY = new Cursor(Collections.emptyList());
+
+        private final List<Node> nodes;
+
+        private Cursor(List<Node> nodes) {
+            this.nodes = nodes;
+        }
+
+        private static Cursor of(List<Node> nodes) {
+            if (nodes.isEmpty()) {
+                return EMPTY;
+            }
+            List<Node> closure = new ArrayList<>(nodes.size() + 1);
+            nodes.forEach(node -> addWithRecursiveChildren(closure, node));
+            return new Cursor(closure);
+        }
+
+        /**
+         * @param segment The unescaped property name or array index to move to
+         * @return The cursor for the given child of the current node
+         */
+        Cursor child(String segment) {
+            if (nodes.isEmpty()) {
+                return EMPTY;
+            }
+            List<Node> next = new ArrayList<>();
+            for (Node node : nodes) {
+                addIfPresent(next, node.children.get(segment));
+                addIfPresent(next, node.wildcardChild);
+                if (node.recursive) {
+                    addIfPresent(next, node);
+                }
+            }
+            return of(next);
+        }
+
+        /**
+         * @return The cursor for any child of the current node, following only the {@code *} and {@code **} segments. This
+         * is used for the elements of an array whose order is ignored, where indices are meaningless.
+         */
+        Cursor anyChild() {
+            if (nodes.isEmpty()) {
+                return EMPTY;
+            }
+            List<Node> next = new ArrayList<>();
+            for (Node node : nodes) {
+                addIfPresent(next, node.wildcardChild);
+                if (node.recursive) {
+                    addIfPresent(next, node);
+                }
+            }
+            return of(next);
+        }
+
+        /**
+         * @return {@literal true} if no pattern can match the current node or any node below it
+         */
+        boolean isEmpty() {
+            return nodes.isEmpty();
+        }
+
+        /**
+         * @param rule The non-{@literal null} rule to look for
+         * @return {@literal true} if a pattern with the given rule matches the current node
+         */
+        boolean matches(Rule rule) {
+            for (Node node : nodes) {
+                if (node.rules.contains(rule)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static void addWithRecursiveChildren(List<Node> nodes, Node node) {
+            if (!nodes.contains(node)) {
+                nodes.add(node);
+                if (node.recursiveChild != null) {
+                    addWithRecursiveChildren(nodes, node.recursiveChild);
+                }
+            }
+        }
+
+        private static void addIfPresent(List<Node> nodes, Node node) {
+            if ((node != null) && !nodes.contains(node)) {
+                nodes.add(node);
+            }
+        }
+    }
+
+    private static final class Node {
+
+        private final boolean recursive;
+        private final Map<String, Node> children;
+        private final Set<Rule> rules;
+        private Node wildcardChild;
+        private Node recursiveChild;
+
+        private Node(boolean recursive) {
+            this.recursive = recursive;
+            children = new HashMap<>();
+            rules = EnumSet.noneOf(Rule.class);
+        }
+
+        private Node childFor(String segment) {
+            switch (segment) {
+                case WILDCARD:
+                    if (wildcardChild == null) {
+                        wildcardChild = new Node(false);
+                    }
+                    return wildcardChild;
+                case RECURSIVE_WILDCARD:
+                    if (recursiveChild == null) {
+                        recursiveChild = new Node(true);
+                    }
+                    return recursiveChild;
+                default:
+                    return children.computeIfAbsent(segment, name -> new Node(false));
+            }
+        }
+    }
+}
@@ -8,6 +8,8 @@ import rocks.bastion.core.resource.ResourceLoader;
 import rocks.bastion.core.resource.ResourceNotFoundException;
 import rocks.bastion.core.resource.UnreadableResourceException;
 
+import java.nio.ByteBuffer;
+
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
@@ -108,6 +110,11 @@ public class JsonRequest implements HttpRequest {
      * For more information about which resource URLs are accepted see the documentation for {@link ResourceLoader}.
      * </p>
      * <p>
+     * If the resource is a file large enough to be {@link ResourceLoader#isMapped() memory-mapped}, the body of the request is
+     * a read-only view of the mapped file, encoded in UTF-8, and is sent from the mapping without being copied into the heap.
+     * The file is checked to be valid JSON by streaming through it.
+     * </p>
+     * <p>
      * Initially, the request will have the "application/json" HTTP header and no other additional headers and no query
      * parameters. It will also have a descriptive name which is generated by combining the HTTP method with the URL.
      * </p>
@@ -122,7 +129,11 @@ public class JsonRequest implements HttpRequest {
      */
     public static JsonRequest fromResource(HttpMethod method, String url, String jsonSource) throws InvalidJsonException, UnreadableResourceException, ResourceNotFoundException {
         Objects.requireNonNull(jsonSource);
-        return new JsonRequest(method, url, new ResourceLoader(jsonSource).load());
+        ResourceLoader resourceLoader = new ResourceLoader(jsonSource);
+        if (resourceLoader.isMapped()) {
+            return new JsonRequest(method, url, resourceLoader.loadBuffer(), jsonSource);
+        }
+        return new JsonRequest(method, url, resourceLoader.load());
     }
 
     /**
@@ -276,7 +287,7 @@ public class JsonRequest implements HttpRequest {
      * @throws TemplateCompilationException Thrown if a variable in the loaded template does not have an assignment in the {@code variableAssignments} map
      */
     public static JsonRequest fromTemplate(HttpMethod method, String url, String jsonTemplateSource, Map<String, String> variableAssignments) {
-        TemplateContentCompiler compiler = new TemplateContentCompiler(new ResourceLoader(jsonTemplateSource).load());
+        TemplateContentCompiler compiler = TemplateContentCompiler.fromResource(jsonTemplateSource);
         compiler.addAllVariableAssignments(variableAssignments);
         return new JsonRequest(method, url, compiler.getContent());
     }
@@ -514,6 +525,18 @@ public class JsonRequest implements HttpRequest {
         validateJson();
     }
 
+    protected JsonRequest(HttpMethod method, String url, ByteBuffer json, String jsonSource) throws InvalidJsonException {
+        Objects.requireNonNull(method);
+        Objects.requireNonNull(url);
+        Objects.requireNonNull(json);
+        Objects.requireNonNull(jsonSource);
+
+        requestAttributes = new CommonRequestAttributes(method, url, json.asReadOnlyBuffer());
+        requestAttributes.setContentType(ContentType.APPLICATION_JSON);
+
+        MappedJson.validate(json, jsonSource);
+    }
+
     /**
      * Override the content-type that will be used for this request. Initially, the content-type for a {@code JSONRequest}
      * is "application/json" but you can override what is sent using this method.
@@ -606,9 +629,17 @@ public class JsonRequest implements HttpRequest {
         return requestAttributes.routeParams();
     }
 
+    /**
+     * Returns the JSON content: a {@link String}, or, for a request loaded from a large resource, a new read-only
+     * {@link ByteBuffer} over the resource's data on every call, so that reading one buffer does not move the position of
+     * the others.
+     *
+     * @return The content body for this request
+     */
     @Override
     public Object body() {
-        return requestAttributes.body();
+        Object body = requestAttributes.body();
+        return (body instanceof ByteBuffer) ? ((ByteBuffer) body).duplicate() : body;
     }
 
         @Override
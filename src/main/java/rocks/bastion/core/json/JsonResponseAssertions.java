@@ -1,19 +1,19 @@
 package rocks.bastion.core.json;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flipkart.zjsonpatch.JsonDiff;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import org.apache.http.entity.ContentType;
 import org.junit.Assert;
 import rocks.bastion.core.*;
+import rocks.bastion.core.BastionFactory;
 import rocks.bastion.core.resource.ResourceLoader;
 import rocks.bastion.core.resource.ResourceNotFoundException;
 import rocks.bastion.core.resource.UnreadableResourceException;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 import static java.lang.String.format;
@@ -25,6 +25,10 @@ import static java.lang.String.format;
  * will interpret the JSON of both the expected body and the actual response body and perform a structural comparison. This
  * is important, because the JSON specification says that a JSON object is unordered and we do not want a different
  * order of properties to fail the assertion.
+ * <p>
+ * The structural comparison walks both JSON trees once and stops at the first difference. The full JSON Patch describing
+ * every difference is only computed when the assertion fails, to build the failure message.
+ * </p>
  *
  * @author <a href="mailto:mail@kylepullicino.com">Kyle</a>
  */
@@ -58,6 +62,10 @@ public class JsonResponseAssertions implements Assertions<Object> {
      * <p>
      * The loaded JSON must be syntactically correct; otherwise, an exception is thrown to indicate that the expected JSON string
      * is invalid.
+     * <p>
+     * If the resource is a file large enough to be {@link ResourceLoader#isMapped() memory-mapped}, the expected JSON is
+     * validated and later parsed straight from the mapped file, encoded in UTF-8, so the file's text is never copied into
+     * the heap.
      *
      * @param expectedStatusCode The expected HTTP status code
      * @param expectedJsonSource The resource to load the expected JSON object from
@@ -68,7 +76,11 @@ public class JsonResponseAssertions implements Assertions<Object> {
      */
     public static JsonResponseAssertions fromResource(int expectedStatusCode, String expectedJsonSource) {
         Objects.requireNonNull(expectedJsonSource);
-        return new JsonResponseAssertions(expectedStatusCode, new ResourceLoader(expectedJsonSource).load());
+        ResourceLoader resourceLoader = new ResourceLoader(expectedJsonSource);
+        if (resourceLoader.isMapped()) {
+            return new JsonResponseAssertions(expectedStatusCode, resourceLoader.loadBuffer(), expectedJsonSource);
+        }
+        return new JsonResponseAssertions(expectedStatusCode, resourceLoader.load());
     }
 
     /**
@@ -104,7 +116,7 @@ public class JsonResponseAssertions implements Assertions<Object> {
     public static JsonResponseAssertions fromTemplate(int expectedStatusCode, String expectedJsonSource, Map<String, String> variableAssignments) {
         Objects.requireNonNull(expectedJsonSource);
         Objects.requireNonNull(variableAssignments);
-        TemplateContentCompiler compiler = new TemplateContentCompiler(new ResourceLoader(expectedJsonSource).load());
+        TemplateContentCompiler compiler = TemplateContentCompiler.fromResource(expectedJsonSource);
         compiler.addAllVariableAssignments(variableAssignments);
         return new JsonResponseAssertions(expectedStatusCode, compiler.getContent());
     }
@@ -128,8 +140,11 @@ public class JsonResponseAssertions implements Assertions<Object> {
     private int expectedStatusCode;
     private ContentType contentType;
     private String expectedJson;
+    private ByteBuffer expectedJsonBuffer;
+    private JsonNode expectedJsonTree;
     private Collection<String> ignoredFieldsValue;
     private Collection<String> ignoredArrayOrderValue;
+    private volatile JsonComparator comparator;
 
     protected JsonResponseAssertions(int expectedStatusCode, String expectedJson) {
         Objects.requireNonNull(expectedJson);
@@ -143,13 +158,32 @@ public class JsonResponseAssertions implements Assertions<Object> {
         validateExpectedJson();
     }
 
+    protected JsonResponseAssertions(int expectedStatusCode, ByteBuffer expectedJson, String expectedJsonSource) {
+        Objects.requireNonNull(expectedJson);
+        Objects.requireNonNull(expectedJsonSource);
+
+        this.expectedStatusCode = expectedStatusCode;
+        contentType = ContentType.APPLICATION_JSON;
+        expectedJsonBuffer = expectedJson.asReadOnlyBuffer();
+        ignoredFieldsValue = new HashSet<>();
+        ignoredArrayOrderValue = new HashSet<>();
+
+        MappedJson.validate(expectedJsonBuffer, expectedJsonSource);
+    }
+
     /**
      * Ignore particular fields' values in the actual JSON response. Notice that Bastion will still fail the assertion if a
      * JSON field is missing, is in the wrong place, or is extra. Ignoring fields' values using this method is useful for
      * randomly generated values in the response, such as IDs or timestamps.
      * <br><br>
-     * Implementation wise, when performing the JSON patch diff between the expected and the actual responses, Bastion will ignore
-     * any patch operations which have {@code op} {@code "replace"} and a field which is one of the ignored fields.
+     * Fields are given as JSON Pointers, such as {@code /owner/id}, in which a {@code *} segment matches any single property
+     * or array index and a {@code **} segment matches any number of nested properties or array indices. For example,
+     * {@code /items/*}{@code /createdAt} ignores the timestamp of every element in the {@code items} array, while
+     * {@code /**}{@code /id} ignores every {@code id} property anywhere in the response.
+     * <br><br>
+     * Implementation wise, Bastion does not compare the values at the ignored fields when walking the expected and the actual
+     * responses. When the assertion fails, Bastion also leaves out of the reported JSON patch any operations which have
+     * {@code op} {@code "replace"} and a field which is one of the ignored fields.
      *
      * @param fields The fields' names to ignore
      * @return This object (for method chaining)
@@ -169,10 +203,12 @@ public class JsonResponseAssertions implements Assertions<Object> {
      * <br>
      * { "array":["third","first","second"] }
      * <br>
-     * It will still detect and report any extra or missing values.
+     * It will still detect and report any extra or missing values. Array fields are given as JSON Pointers which may contain
+     * the {@code *} and {@code **} wildcards described in {@link #ignoreValuesForProperties(String...)}.
      * <br><br>
-     * Implementation wise, when performing the JSON patch diff between the expected and the actual responses, Bastion will ignore
-     * any patch operations which have {@code op} {@code "move"} and a field which is one of the ignored fields.
+     * Implementation wise, Bastion compares the ignored arrays as multisets, by counting the occurrences of each element, which
+     * takes linear time in the size of the arrays. When the assertion fails, Bastion also leaves out of the reported JSON patch
+     * any operations which have {@code op} {@code "move"} and a field which is one of the ignored fields.
      *
      * @param fields The fields' names to ignore the order of
      * @return This object (for method chaining)
@@ -202,7 +238,12 @@ public class JsonResponseAssertions implements Assertions<Object> {
         try {
             Assert.assertEquals("Response Status Code", expectedStatusCode, statusCode);
             assertContentTypeHeader(response);
-            JsonNode jsonPatch = computeJsonPatch(response);
+            JsonNode actualJsonTree = response.getDocuments().getJson();
+            JsonNode expectedJsonTree = getExpectedJsonTree();
+            if (getComparator().isEquivalent(actualJsonTree, expectedJsonTree)) {
+                return;
+            }
+            JsonNode jsonPatch = computeJsonPatch(actualJsonTree, expectedJsonTree);
             assertJsonPatchIsEmpty(jsonPatch);
         } catch (IOException e) {
             throw new RuntimeException("An error occurred while parsing JSON text", e);
@@ -219,11 +260,13 @@ public class JsonResponseAssertions implements Assertions<Object> {
     private void ignoreValueForProperty(String field) {
         Objects.requireNonNull(field);
         ignoredFieldsValue.add(sanitizePropertyName(field));
+        comparator = null;
     }
 
     private void ignoreOrderForArrayProperty(String field) {
         Objects.requireNonNull(field);
         ignoredArrayOrderValue.add(sanitizePropertyName(field));
+        comparator = null;
     }
 
     private String sanitizePropertyName(String field) {
@@ -246,24 +289,48 @@ public class JsonResponseAssertions implements Assertions<Object> {
         Assert.assertEquals("Content-type MIME type", contentType.getMimeType(), response.getContentType().get().getMimeType());
     }
 
-    private JsonNode computeJsonPatch(Response response) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonFactory factory = mapper.getFactory();
-        JsonNode actualJsonTree = factory.createParser(response.getBody()).readValueAsTree();
-        JsonNode expectedJsonTree = factory.createParser(expectedJson).readValueAsTree();
+    /**
+     * Computes the full JSON Patch which describes the differences between the two trees. This is only used to build the
+     * failure message, once the {@link JsonComparator} has found that the trees differ.
+     */
+    private JsonNode computeJsonPatch(JsonNode actualJsonTree, JsonNode expectedJsonTree) {
         JsonNode jsonPatch = JsonDiff.asJson(actualJsonTree, expectedJsonTree);
         removeReplaceOpsForIgnoredFields(jsonPatch);
         removeMoveOpsForOrderIgnoredFields(jsonPatch);
         return jsonPatch;
     }
 
+    private synchronized JsonNode getExpectedJsonTree() throws IOException {
+        if (expectedJsonTree == null) {
+            if (expectedJson == null) {
+                expectedJsonTree = MappedJson.readTree(expectedJsonBuffer);
+            } else {
+                expectedJsonTree = BastionFactory.getDefaultBastionFactory().getConfiguration().getJsonMappers().readTree(expectedJson);
+            }
+        }
+        return expectedJsonTree;
+    }
+
+    /**
+     * Gets the comparator for the ignored fields, compiling their patterns the first time it is needed after a change.
+     */
+    private JsonComparator getComparator() {
+        JsonComparator currentComparator = comparator;
+        if (currentComparator == null) {
+            currentComparator = new JsonComparator(ignoredFieldsValue, ignoredArrayOrderValue);
+            comparator = currentComparator;
+        }
+        return currentComparator;
+    }
+
     private void removeReplaceOpsForIgnoredFields(Iterable jsonPatch) {
         Iterator<JsonNode> patchIterator = jsonPatch.iterator();
         while (patchIterator.hasNext()) {
             JsonNode patchOperation = patchIterator.next();
             JsonNode operationType = patchOperation.get("op");
             JsonNode pathName = patchOperation.get("path");
-            if (operationType.asText().equals("replace") && ignoredFieldsValue.contains(pathName.asText())) {
+            if ((operationType.asText().equals("replace") && getComparator().isValueIgnored(pathName.asText()))
+                    || getComparator().isInsideIgnoredValue(pathName.asText())) {
                 patchIterator.remove();
             }
         }
@@ -277,7 +344,7 @@ public class JsonResponseAssertions implements Assertions<Object> {
             JsonNode pathName = patchOperation.get("path");
             // Trimming up to the last '/' to ignored index
             String trimmedPathName = pathName.asText().substring(0, pathName.asText().lastIndexOf("/"));
-            if (operationType.asText().equals("move") && ignoredArrayOrderValue.contains(trimmedPathName)) {
+            if (operationType.asText().equals("move") && getComparator().isOrderIgnored(trimmedPathName)) {
                 patchIterator.remove();
             }
         }
@@ -1,13 +1,10 @@
 package rocks.bastion.core.json;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.fge.jsonschema.core.exceptions.InvalidSchemaException;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.github.fge.jsonschema.core.report.ProcessingMessage;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
-import com.github.fge.jsonschema.main.JsonSchemaFactory;
 import org.apache.http.entity.ContentType;
 import org.junit.Assert;
 import rocks.bastion.core.Assertions;
@@ -21,25 +18,29 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 /**
- * Asserts that an API response conforms to a given JSON schema.
+ * Asserts that an API response conforms to a given JSON schema. Schemas are compiled once and shared by every assertion
+ * which validates against the same schema, as described in {@link JsonSchemaCache}. A schema loaded using
+ * {@link #fromResource(String)} may reference sibling resources using relative {@code $ref}s.
  */
 public final class JsonSchemaAssertions implements Assertions<Object> {
 
     public static JsonSchemaAssertions fromString(String expectedSchemaJson) {
-        return new JsonSchemaAssertions(expectedSchemaJson);
+        return new JsonSchemaAssertions(expectedSchemaJson, null);
     }
 
     public static JsonSchemaAssertions fromResource(String expectedSchemaSource) {
         Objects.requireNonNull(expectedSchemaSource);
-        return new JsonSchemaAssertions(new ResourceLoader(expectedSchemaSource).load());
+        return new JsonSchemaAssertions(new ResourceLoader(expectedSchemaSource).load(), expectedSchemaSource);
     }
 
     private String expectedSchema;
+    private String expectedSchemaSource;
     private ContentType contentType;
 
-    private JsonSchemaAssertions(String expectedSchema) {
+    private JsonSchemaAssertions(String expectedSchema, String expectedSchemaSource) {
         Objects.requireNonNull(expectedSchema);
         this.expectedSchema = expectedSchema;
+        this.expectedSchemaSource = expectedSchemaSource;
         contentType = ContentType.APPLICATION_JSON;
     }
 
@@ -75,14 +76,11 @@ public final class JsonSchemaAssertions implements Assertions<Object> {
     }
 
     private JsonNode convertResponseToJsonNode(ModelResponse<?> response) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonFactory factory = mapper.getFactory();
-        return factory.createParser(response.getBody()).readValueAsTree();
+        return response.getDocuments().getJson();
     }
 
     private void assertResponseConformsToSchema(JsonNode response) throws ProcessingException, IOException {
-        ProcessingReport validationReport = JsonSchemaFactory.byDefault()
-                .getJsonSchema(getExpectedSchema()).validate(response);
+        ProcessingReport validationReport = JsonSchemaCache.get(expectedSchema, expectedSchemaSource).validate(response);
         if (!validationReport.isSuccess()) {
             String messages = StreamSupport.stream(validationReport.spliterator(), false)
                     .map(ProcessingMessage::getMessage)
@@ -91,11 +89,6 @@ public final class JsonSchemaAssertions implements Assertions<Object> {
         }
     }
 
-    private JsonNode getExpectedSchema() throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        return mapper.readTree(expectedSchema);
-    }
-
     private void assertContentTypeHeader(Response response) {
         Assert.assertTrue("Content-type exists in response", response.getContentType().isPresent());
         Assert.assertEquals("Content-type MIME type", contentType.getMimeType(), response.getContentType().get().getMimeType());
@@ -0,0 +1,242 @@
+package rocks.bastion.core.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.load.configuration.LoadingConfiguration;
+import com.github.fge.jsonschema.core.load.download.URIDownloader;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import rocks.bastion.core.BastionFactory;
+import rocks.bastion.core.resource.FileStamp;
+import rocks.bastion.core.resource.ResourceLoader;
+import rocks.bastion.core.resource.ResourceNotFoundException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Keeps the JSON schemas compiled by {@link JsonSchemaAssertions}, shared by the whole process. A compiled
+ * {@link JsonSchema} is immutable and safe to use from many threads, so each schema is compiled once and then reused by
+ * every assertion which validates against it. Schemas are keyed by a SHA-256 hash of their content and, for schemas loaded
+ * from a resource, by their location, since the location determines how relative {@code $ref}s are resolved. The least
+ * recently used schemas are evicted once there are more than {@value #MAXIMUM_SCHEMAS}.</p>
+ * <p>Schemas which are referenced using {@code $ref} from {@code classpath:} or {@code file:} locations are loaded using
+ * a {@link ResourceLoader} and are also kept, up to {@value #MAXIMUM_REFERENCED_SCHEMAS} of them, so that compiling many
+ * schemas which reference the same definitions only reads those definitions once. Like other resources, a referenced
+ * {@code file:} schema is read again once its {@link FileStamp size or modification time} changes, so edits to shared
+ * definitions are picked up without restarting the JVM. Referenced files are checked at most once every
+ * {@value #REVALIDATION_INTERVAL} milliseconds. Since a compiled schema keeps the definitions it has resolved, the schemas
+ * which referenced an edited file are compiled again, while other schemas are kept. A {@code $ref} in a schema loaded from
+ * a resource is resolved relative to that resource, so {@code "$ref": "common.json#/definitions/price"} refers to a
+ * sibling resource.</p>
+ */
+final class JsonSchemaCache {
+
+    static final int MAXIMUM_SCHEMAS = 256;
+    static final int MAXIMUM_REFERENCED_SCHEMAS = 256;
+    static final long REVALIDATION_INTERVAL = 1000;
+
+    private static final Cache<URI, ReferencedSchema> REFERENCED_SCHEMAS = CacheBuilder.newBuilder().maximumSize(MAXIMUM_REFERENCED_SCHEMAS).build();
+    private static final Cache<String, CompiledSchema> SCHEMAS = CacheBuilder.newBuilder().maximumSize(MAXIMUM_SCHEMAS).build();
+    private static volatile long nextRevalidationNanos = System.nanoTime();
+
+    private JsonSchemaCache() {
+    }
+
+    /**
+     * Gets the compiled form of the given schema, compiling it if it is not cached.
+     *
+     * @param schema   The non-{@literal null} schema text
+     * @param location The resource location which the schema was loaded from, or {@literal null} if it was given as text
+     * @return The compiled schema
+     * @throws IOException         if the schema text is not valid JSON
+     * @throws ProcessingException if the schema, or a schema which it references, could not be loaded
+     */
+    static JsonSchema get(String schema, String location) throws IOException, ProcessingException {
+        if (System.nanoTime() - nextRevalidationNanos >= 0) {
+            nextRevalidationNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(REVALIDATION_INTERVAL);
+            revalidateReferencedSchemas();
+        }
+        Optional<URI> locationUri = toSchemaUri(location);
+        String key = Hashing.sha256().hashString(schema, StandardCharsets.UTF_8).toString() + locationUri.map(uri -> "@" + uri).orElse("");
+        try {
+            return SCHEMAS.get(key, () -> compile(schema, locationUri)).schema;
+        } catch (ExecutionException | UncheckedExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof ProcessingException) {
+                throw (ProcessingException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("An unexpected error occurred while compiling the JSON schema", cause);
+        }
+    }
+
+    private static CompiledSchema compile(String schema, Optional<URI> location) throws IOException, ProcessingException {
+        // Each schema has its own factory, since a factory keeps the definitions it resolves for every schema it compiles
+        Set<URI> references = ConcurrentHashMap.newKeySet();
+        JsonSchemaFactory schemaFactory = createSchemaFactory(references);
+        if (location.isPresent()) {
+            // Loading the schema by its location lets the validator resolve relative $refs against it
+            REFERENCED_SCHEMAS.put(location.get(), ReferencedSchema.of(schema.getBytes(StandardCharsets.UTF_8), location.get()));
+            return new CompiledSchema(schemaFactory.getJsonSchema(location.get().toString()), references);
+        }
+        JsonNode schemaTree = BastionFactory.getDefaultBastionFactory().getConfiguration().getJsonMappers().readTree(schema);
+        return new CompiledSchema(schemaFactory.getJsonSchema(schemaTree), references);
+    }
+
+    /**
+     * Discards the referenced schemas whose files have changed since they were read, together with the compiled schemas
+     * which referenced them. Other compiled schemas are kept.
+     */
+    static synchronized void revalidateReferencedSchemas() {
+        Set<URI> changed = REFERENCED_SCHEMAS.asMap().entrySet().stream().filter(entry -> !entry.getValue().isCurrent())
+                .map(Map.Entry::getKey).collect(Collectors.toSet());
+        if (changed.isEmpty()) {
+            return;
+        }
+        REFERENCED_SCHEMAS.invalidateAll(changed);
+        SCHEMAS.invalidateAll(SCHEMAS.asMap().entrySet().stream().filter(entry -> entry.getValue().referencesAny(changed))
+                .map(Map.Entry::getKey).collect(Collectors.toList()));
+    }
+
+    /**
+     * Converts a resource location into an absolute, hierarchical URI against which relative references can be resolved.
+     * Locations which cannot be converted, such as classpath locations without a scheme, are compiled from their content
+     * instead.
+     */
+    private static Optional<URI> toSchemaUri(String location) {
+        if (location == null) {
+            return Optional.empty();
+        }
+        String normalisedLocation = location;
+        if (location.startsWith("classpath:") && !location.startsWith("classpath:/")) {
+            normalisedLocation = "classpath:/" + location.substring("classpath:".length());
+        }
+        try {
+            URI uri = new URI(normalisedLocation).normalize();
+            if (uri.isAbsolute() && !uri.isOpaque() && (uri.getRawFragment() == null)) {
+                return Optional.of(uri);
+            }
+        } catch (URISyntaxException ignored) {
+            // Not a URI, so the schema is compiled from its content
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param references The set to which the location of every schema loaded by the factory is added
+     */
+    private static JsonSchemaFactory createSchemaFactory(Set<URI> references) {
+        URIDownloader resourceDownloader = reference -> {
+            references.add(withoutFragment(reference));
+            return fetchReferencedSchema(reference);
+        };
+        LoadingConfiguration loadingConfiguration = LoadingConfiguration.newBuilder()
+                .addScheme("classpath", resourceDownloader)
+                .addScheme("file", resourceDownloader)
+                .setEnableCache(false)
+                .freeze();
+        return JsonSchemaFactory.newBuilder().setLoadingConfiguration(loadingConfiguration).freeze();
+    }
+
+    private static InputStream fetchReferencedSchema(URI reference) throws IOException {
+        URI source = withoutFragment(reference);
+        try {
+            return new ByteArrayInputStream(REFERENCED_SCHEMAS.get(source, () -> ReferencedSchema.load(source)).content);
+        } catch (ExecutionException | UncheckedExecutionException exception) {
+            if (exception.getCause() instanceof ResourceNotFoundException) {
+                throw new IOException(String.format("The referenced JSON schema [%s] does not exist", source), exception.getCause());
+            }
+            throw new IOException(String.format("Could not load the referenced JSON schema [%s]", source), exception.getCause());
+        }
+    }
+
+    private static URI withoutFragment(URI uri) throws IOException {
+        try {
+            return new URI(uri.getScheme(), uri.getSchemeSpecificPart(), null);
+        } catch (URISyntaxException exception) {
+            throw new IOException(String.format("[%s] is not a valid JSON schema location", uri), exception);
+        }
+    }
+
+    /**
+     * A compiled schema, together with the locations of the schemas which it loaded to resolve its references.
+     */
+    private static final class CompiledSchema {
+
+        private final JsonSchema schema;
+        private final Set<URI> references;
+
+        private CompiledSchema(JsonSchema schema, Set<URI> references) {
+            this.schema = schema;
+            this.references = references;
+        }
+
+        private boolean referencesAny(Set<URI> locations) {
+            return references.stream().anyMatch(locations::contains);
+        }
+    }
+
+    /**
+     * The content of a referenced schema, together with the stamp of its file if it was loaded from the file system.
+     */
+    private static final class ReferencedSchema {
+
+        private final byte[] content;
+        private final Path path;
+        private final FileStamp stamp;
+
+        private ReferencedSchema(byte[] content, Path path, FileStamp stamp) {
+            this.content = content;
+            this.path = path;
+            this.stamp = stamp;
+        }
+
+        private static ReferencedSchema of(byte[] content, URI source) {
+            Path path = toPath(source);
+            return new ReferencedSchema(content, path, stampOf(path));
+        }
+
+        private static ReferencedSchema load(URI source) {
+            // The stamp is taken before the file is read so that an edit made while reading it is noticed next time
+            Path path = toPath(source);
+            FileStamp stamp = stampOf(path);
+            return new ReferencedSchema(new ResourceLoader(source.toString()).loadBytes(), path, stamp);
+        }
+
+        private static Path toPath(URI source) {
+            return "file".equalsIgnoreCase(source.getScheme()) ? Paths.get(source) : null;
+        }
+
+        private static FileStamp stampOf(Path path) {
+            return (path == null) ? null : FileStamp.of(path).orElse(null);
+        }
+
+        private boolean isCurrent() {
+            return (path == null) || Objects.equals(stamp, stampOf(path));
+        }
+    }
+}
@@ -1,19 +1,21 @@
 package rocks.bastion.core.json;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import rocks.bastion.core.BastionFactory;
+import rocks.bastion.core.configuration.JsonMappers;
 
 /**
- * Serializes an {@link Object} into its String representation.
+ * Serializes an {@link Object} into its String representation, using the {@link JsonMappers} of the default Bastion
+ * configuration.
  */
 final class JsonSerializer {
 
     private final Object source;
-    private final ObjectMapper objectMapper;
+    private final JsonMappers jsonMappers;
 
     public JsonSerializer(Object source) {
         this.source = source;
-        this.objectMapper = new ObjectMapper();
+        this.jsonMappers = BastionFactory.getDefaultBastionFactory().getConfiguration().getJsonMappers();
     }
 
     /**
@@ -24,7 +26,10 @@ final class JsonSerializer {
      */
     public String serialize() throws JsonSerializationException {
         try {
-            return objectMapper.writeValueAsString(source);
+            if (source == null) {
+                return jsonMappers.getObjectMapper().writeValueAsString(null);
+            }
+            return jsonMappers.writerFor(source.getClass()).writeValueAsString(source);
         } catch (JsonProcessingException e) {
             throw new JsonSerializationException(e);
         }
@@ -0,0 +1,62 @@
+package rocks.bastion.core.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import rocks.bastion.core.BastionFactory;
+import rocks.bastion.core.configuration.JsonMappers;
+import rocks.bastion.core.resource.ByteBufferInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads JSON text held in a {@link ByteBuffer}, typically a memory-mapped resource, straight from the buffer rather than
+ * from a copy of it in the heap. Validating the text only streams through its tokens, so it takes constant memory however
+ * large the text is.
+ */
+final class MappedJson {
+
+    private MappedJson() {
+    }
+
+    /**
+     * @param json   The non-{@literal null} buffer containing the JSON text, encoded in UTF-8, UTF-16 or UTF-32
+     * @param source The resource which the buffer was loaded from, reported if the text is not valid
+     * @throws InvalidJsonException if the buffer does not contain a single valid JSON value
+     */
+    static void validate(ByteBuffer json, String source) throws InvalidJsonException {
+        try (JsonParser parser = jsonMappers().getObjectMapper().getFactory().createParser(open(json))) {
+            if (parser.nextToken() == null) {
+                throw new InvalidJsonException(String.format("The resource %s does not contain any JSON text.", source), source);
+            }
+            parser.skipChildren();
+            if (parser.nextToken() != null) {
+                throw new InvalidJsonException(String.format("The resource %s contains more than one JSON value.", source), source);
+            }
+        } catch (JsonProcessingException exception) {
+            throw new InvalidJsonException(String.format("The resource %s is not valid JSON text: %s", source, exception.getOriginalMessage()),
+                    exception, source);
+        } catch (IOException exception) {
+            throw new IllegalStateException("An unexpected error occurred while reading JSON data", exception);
+        }
+    }
+
+    /**
+     * @param json The non-{@literal null} buffer containing the JSON text
+     * @return The tree of the JSON text
+     * @throws IOException if the buffer does not contain valid JSON text
+     */
+    static JsonNode readTree(ByteBuffer json) throws IOException {
+        return jsonMappers().readTree(open(json));
+    }
+
+    private static JsonMappers jsonMappers() {
+        return BastionFactory.getDefaultBastionFactory().getConfiguration().getJsonMappers();
+    }
+
+    private static InputStream open(ByteBuffer json) {
+        return new ByteBufferInputStream(json);
+    }
+}
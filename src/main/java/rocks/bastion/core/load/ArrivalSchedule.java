@@ -0,0 +1,42 @@
+package rocks.bastion.core.load;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Computes when each request of an open-loop {@link LoadTest} is meant to be sent. The rate of requests grows linearly from
+ * zero to the target rate during the ramp-up period, after which it stays constant.
+ */
+final class ArrivalSchedule {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final double ratePerSecond;
+    private final double rampUpSeconds;
+    private final double requestsDuringRampUp;
+
+    ArrivalSchedule(double ratePerSecond, Duration rampUp) {
+        Objects.requireNonNull(rampUp);
+        this.ratePerSecond = ratePerSecond;
+        rampUpSeconds = rampUp.toNanos() / NANOS_PER_SECOND;
+        requestsDuringRampUp = (ratePerSecond * rampUpSeconds) / 2;
+    }
+
+    /**
+     * Gets the time at which the request with the given index is meant to be sent, relative to the start of the run.
+     * During ramp-up, the number of requests sent by time {@code t} is {@code rate * t^2 / (2 * rampUp)}; this method
+     * solves that for {@code t}.
+     *
+     * @param index The zero-based index of the request
+     * @return The intended send time of the request, in nanoseconds from the start of the run
+     */
+    long intendedOffsetNanos(long index) {
+        double seconds;
+        if (index < requestsDuringRampUp) {
+            seconds = Math.sqrt((2 * rampUpSeconds * index) / ratePerSecond);
+        } else {
+            seconds = rampUpSeconds + ((index - requestsDuringRampUp) / ratePerSecond);
+        }
+        return (long) (seconds * NANOS_PER_SECOND);
+    }
+}
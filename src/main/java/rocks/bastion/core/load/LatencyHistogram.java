@@ -0,0 +1,160 @@
+package rocks.bastion.core.load;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>A thread-safe histogram of latencies, recorded in nanoseconds. Values below 2048 ns are counted exactly while larger
+ * values are counted in logarithmic buckets which are each split into 1024 linear sub-buckets, keeping the value reported
+ * for any percentile within 0.1% of the actual recorded value. Recording a value never allocates, so many threads may
+ * record into the same histogram while a load test is running.</p>
+ * <p>Values larger than about 36 minutes are counted in the highest bucket, although {@link #getMax()} still reports
+ * the exact maximum.</p>
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 11;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int MAX_SHIFT = 30;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + MAX_SHIFT * SUB_BUCKET_HALF_COUNT;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount;
+    private final AtomicLong totalValue;
+    private final AtomicLong min;
+    private final AtomicLong max;
+
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(BUCKET_COUNT);
+        totalCount = new AtomicLong();
+        totalValue = new AtomicLong();
+        min = new AtomicLong(Long.MAX_VALUE);
+        max = new AtomicLong(0);
+    }
+
+    /**
+     * Records a single latency.
+     *
+     * @param nanos The latency to record, in nanoseconds. Negative values are recorded as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        totalValue.addAndGet(value);
+        min.accumulateAndGet(value, Math::min);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * @return The number of latencies recorded so far
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * @return The smallest latency recorded, or {@link Duration#ZERO} if nothing was recorded
+     */
+    public Duration getMin() {
+        return getCount() == 0 ? Duration.ZERO : Duration.ofNanos(min.get());
+    }
+
+    /**
+     * @return The largest latency recorded, or {@link Duration#ZERO} if nothing was recorded
+     */
+    public Duration getMax() {
+        return Duration.ofNanos(max.get());
+    }
+
+    /**
+     * @return The mean of all the latencies recorded, or {@link Duration#ZERO} if nothing was recorded
+     */
+    public Duration getMean() {
+        long count = getCount();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(totalValue.get() / count);
+    }
+
+    /**
+     * Gets the latency below which the given percentage of recorded latencies fall. For example, {@code getValueAtPercentile(99.9)}
+     * returns the 99.9th percentile latency.
+     *
+     * @param percentile A percentile between 0 and 100 (inclusive)
+     * @return The latency at the given percentile, or {@link Duration#ZERO} if nothing was recorded
+     */
+    public Duration getValueAtPercentile(double percentile) {
+        if ((percentile < 0) || (percentile > 100)) {
+            throw new IllegalArgumentException("The percentile should be between 0 and 100.");
+        }
+        long count = getCount();
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+        long countAtPercentile = Math.max(1, (long) Math.ceil((percentile / 100) * count));
+        long runningCount = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            runningCount += counts.get(index);
+            if (runningCount >= countAtPercentile) {
+                return Duration.ofNanos(Math.min(highestValueAt(index), max.get()));
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Adds all the latencies recorded in the given histogram to this one.
+     *
+     * @param other The histogram to add to this one
+     */
+    public void add(LatencyHistogram other) {
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            long count = other.counts.get(index);
+            if (count > 0) {
+                counts.addAndGet(index, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        totalValue.addAndGet(other.totalValue.get());
+        min.accumulateAndGet(other.min.get(), Math::min);
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    /**
+     * @return A copy of this histogram which is not affected by latencies recorded here afterwards
+     */
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, p50=%s, p90=%s, p99=%s, p99.9=%s, max=%s", getCount(),
+                getValueAtPercentile(50), getValueAtPercentile(90), getValueAtPercentile(99),
+                getValueAtPercentile(99.9), getMax());
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = Math.min(MAX_SHIFT, (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1));
+        long subBucket = Math.min(SUB_BUCKET_COUNT - 1, value >>> shift);
+        return SUB_BUCKET_COUNT + ((shift - 1) * SUB_BUCKET_HALF_COUNT) + (int) (subBucket - SUB_BUCKET_HALF_COUNT);
+    }
+
+    private static long highestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = ((index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT) + 1;
+        long subBucket = ((index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT) + SUB_BUCKET_HALF_COUNT;
+        if (shift == MAX_SHIFT && subBucket == SUB_BUCKET_COUNT - 1) {
+            return Long.MAX_VALUE;
+        }
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,512 @@
+package rocks.bastion.core.load;
+
+import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import rocks.bastion.core.Assertions;
+import rocks.bastion.core.BastionContext;
+import rocks.bastion.core.HttpRequest;
+import rocks.bastion.core.ModelResponse;
+import rocks.bastion.core.PreparedRequest;
+import rocks.bastion.core.Response;
+import rocks.bastion.core.configuration.Configuration;
+import rocks.bastion.core.feed.DataFeeder;
+import rocks.bastion.core.feed.RequestFeed;
+import rocks.bastion.core.view.Bindings;
+import rocks.bastion.core.view.DecodingHints;
+import rocks.bastion.core.view.ResponseDecoder;
+import rocks.bastion.core.view.ResponseDecoderRegistry;
+import rocks.bastion.core.view.ResponseDecodersRegistrar;
+import rocks.bastion.core.view.ViewBinder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * <p>Sends the same {@link HttpRequest} repeatedly, recording the latency of every request. The request is
+ * {@link PreparedRequest prepared} once at the start of the run and then sent as it is by every worker. The run lasts either for a
+ * {@link #forIterations(long) number of requests} or for a {@link #forDuration(Duration) fixed duration}, after which a
+ * {@link LoadTestSummary} is returned. Requests are sent in one of two ways:</p>
+ * <ul>
+ * <li>Closed-loop (the default): a number of concurrent {@link #workers(int) workers} each send their next request as soon
+ * as they receive the response for the previous one. When the server slows down, fewer requests are sent, so a stall
+ * only shows up in the latency of the few requests which were in progress at the time.</li>
+ * <li>Open-loop: requests are sent at a {@link #atRate(double) target rate}, optionally after a {@link #rampUp(Duration) ramp-up},
+ * regardless of how quickly the server responds. Latency is measured from the time each request was meant to be sent,
+ * which corrects for coordinated omission: a stalled server delays every request scheduled during the stall, and all
+ * of them report that delay. The summary also contains the uncorrected latency, measured from the time each request
+ * was actually sent. At most {@link #workers(int) workers} requests are in progress at once; a request which is due
+ * while all of them are busy waits for one to become free and is {@link LoadTestSummary#getLateCount() counted as late}.</li>
+ * </ul>
+ * <p>Any {@link #withAssertions(Assertions) assertions} given are run on a {@link #sampling(double) sampled fraction} of the
+ * responses. Decoding a response and running the assertions happens after the latency is recorded so it does not add
+ * to the reported latencies. Failing assertions are counted in the summary rather than thrown.</p>
+ * <p>Instead of a single request, a load test can send the requests of a {@link RequestFeed}, such as one request for each
+ * row of a {@link DataFeeder}. Each request is taken from the feed only when a worker is ready to send it, so the feed is
+ * read at the pace of the run and only the requests in progress are held in memory. In a closed-loop run, the workers
+ * either take turns to read from a single stream of the feed or, if the feed is {@link DataFeeder#shardedByWorker() sharded
+ * by worker}, each read their own shard. In an open-loop run, a request is taken from the feed each time one is due. A run
+ * over a feed which is not circular also ends once every request in the feed has been sent.</p>
+ * <p>Load tests are normally started using {@link rocks.bastion.Bastion#load(HttpRequest)}, which registers the same
+ * {@link ResponseDecoder decoders} and uses the same configuration as ordinary Bastion requests.</p>
+ */
+public class LoadTest implements ResponseDecodersRegistrar {
+
+    /**
+     * The number of workers used by an open-loop run unless {@link #workers(int)} is called.
+     */
+    public static final int DEFAULT_OPEN_LOOP_WORKERS = 200;
+
+    private final String message;
+    private final HttpRequest request;
+    private final RequestFeed feed;
+    private final Configuration configuration;
+    private final ResponseDecoderRegistry decoders;
+    private int workers;
+    private double ratePerSecond;
+    private Duration rampUp;
+    private long iterations;
+    private Duration duration;
+    private Assertions<? super String> assertions;
+    private double samplingFraction;
+
+    public LoadTest(String message, HttpRequest request, Configuration configuration) {
+        this(message, Objects.requireNonNull(request), null, configuration);
+    }
+
+    public LoadTest(String message, RequestFeed feed, Configuration configuration) {
+        this(message, null, Objects.requireNonNull(feed), configuration);
+    }
+
+    private LoadTest(String message, HttpRequest request, RequestFeed feed, Configuration configuration) {
+        Objects.requireNonNull(message);
+        Objects.requireNonNull(configuration);
+        this.message = message;
+        this.request = request;
+        this.feed = feed;
+        this.configuration = configuration;
+        decoders = new ResponseDecoderRegistry();
+        workers = 0;
+        ratePerSecond = 0;
+        rampUp = Duration.ZERO;
+        iterations = 0;
+        duration = null;
+        assertions = Assertions.noAssertions();
+        samplingFraction = 1;
+    }
+
+    @Override
+    public void registerModelConverter(ResponseDecoder decoder) {
+        Objects.requireNonNull(decoder);
+        decoders.register(decoder);
+    }
+
+    /**
+     * Sets the number of workers which send requests concurrently. In a closed-loop run this defaults to a single worker.
+     * In an open-loop run, this limits the number of requests in progress at once and defaults to
+     * {@link #DEFAULT_OPEN_LOOP_WORKERS}; requests which are due while all workers are busy wait for one to become free,
+     * are counted as late and include the wait in their corrected latency. Workers are only started as they are needed.
+     *
+     * @param workers A positive number of workers
+     * @return This object (for method chaining)
+     */
+    public LoadTest workers(int workers) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("The number of workers should be greater than zero.");
+        }
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * Switches to an open-loop run which sends requests at the given constant rate, irrespective of how long the server
+     * takes to respond.
+     *
+     * @param ratePerSecond A positive number of requests to send per second
+     * @return This object (for method chaining)
+     */
+    public LoadTest atRate(double ratePerSecond) {
+        if (!(ratePerSecond > 0) || Double.isInfinite(ratePerSecond)) {
+            throw new IllegalArgumentException("The rate should be greater than zero.");
+        }
+        this.ratePerSecond = ratePerSecond;
+        return this;
+    }
+
+    /**
+     * Sets how long an open-loop run takes to reach its {@link #atRate(double) target rate}. The rate grows linearly from
+     * zero during this period. Defaults to no ramp-up.
+     *
+     * @param rampUp A non-negative duration
+     * @return This object (for method chaining)
+     */
+    public LoadTest rampUp(Duration rampUp) {
+        Objects.requireNonNull(rampUp);
+        if (rampUp.isNegative()) {
+            throw new IllegalArgumentException("The ramp-up should not be negative.");
+        }
+        this.rampUp = rampUp;
+        return this;
+    }
+
+    /**
+     * Ends the run once the given total number of requests has been sent by all workers.
+     *
+     * @param iterations A positive number of requests
+     * @return This object (for method chaining)
+     */
+    public LoadTest forIterations(long iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("The number of iterations should be greater than zero.");
+        }
+        this.iterations = iterations;
+        duration = null;
+        return this;
+    }
+
+    /**
+     * Ends the run once the given duration has elapsed. Requests which are in progress at that point are allowed to complete.
+     *
+     * @param duration A positive duration
+     * @return This object (for method chaining)
+     */
+    public LoadTest forDuration(Duration duration) {
+        Objects.requireNonNull(duration);
+        if (duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("The duration should be greater than zero.");
+        }
+        this.duration = duration;
+        iterations = 0;
+        return this;
+    }
+
+    /**
+     * Sets the assertions to run on sampled responses. The model passed to the assertions is the response body as a string.
+     *
+     * @param assertions The non-{@literal null} assertions to run
+     * @return This object (for method chaining)
+     */
+    public LoadTest withAssertions(Assertions<? super String> assertions) {
+        Objects.requireNonNull(assertions);
+        this.assertions = assertions;
+        return this;
+    }
+
+    /**
+     * Sets the fraction of responses on which the assertions are run. Defaults to {@literal 1}, meaning every response.
+     *
+     * @param fraction A fraction between 0 and 1 (inclusive)
+     * @return This object (for method chaining)
+     */
+    public LoadTest sampling(double fraction) {
+        if ((fraction < 0) || (fraction > 1)) {
+            throw new IllegalArgumentException("The sampling fraction should be between 0 and 1.");
+        }
+        samplingFraction = fraction;
+        return this;
+    }
+
+    /**
+     * Runs the load test, blocking until all workers are done.
+     *
+     * @return The summary of the run
+     */
+    public LoadTestSummary run() {
+        if ((iterations == 0) && (duration == null) && ((feed == null) || !feed.isFinite())) {
+            throw new IllegalStateException("forIterations() or forDuration() must be called before run()");
+        }
+        if ((ratePerSecond == 0) && !rampUp.isZero()) {
+            throw new IllegalStateException("rampUp() was set without atRate(): a ramp-up only applies to an open-loop run with a target rate");
+        }
+        Run run = new Run();
+        ExecutorService executor = createExecutor();
+        try {
+            if (ratePerSecond == 0) {
+                runClosedLoop(run, executor);
+            } else {
+                runOpenLoop(run, executor);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the load test to complete", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load test worker failed unexpectedly", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            run.closeFeeds();
+        }
+        return run.summarise();
+    }
+
+    private ExecutorService createExecutor() {
+        ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("bastion-load-%d").build();
+        if (ratePerSecond == 0) {
+            return Executors.newFixedThreadPool(Math.max(1, workers), threadFactory);
+        }
+        // Idle workers time out so that a low rate does not keep every worker alive
+        int workerCount = getOpenLoopWorkerCount();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workerCount, workerCount, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private int getOpenLoopWorkerCount() {
+        return (workers == 0) ? DEFAULT_OPEN_LOOP_WORKERS : workers;
+    }
+
+    private void runClosedLoop(Run run, ExecutorService executor) throws InterruptedException, ExecutionException {
+        int workerCount = Math.max(1, workers);
+        List<Future<?>> futures = new ArrayList<>(workerCount);
+        for (int worker = 0; worker < workerCount; worker++) {
+            Iterator<HttpRequest> requests = run.requestsFor(worker, workerCount);
+            futures.add(executor.submit(BastionContext.propagate(() -> run.work(requests))));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    /**
+     * Submits each request to the executor at its intended send time. The executor has a bounded number of workers and an
+     * unbounded queue, so that this thread never blocks on a slow server; requests which are submitted while every
+     * worker is busy wait in the queue and are counted as late. Requests are taken from the feed, if there is one, as they
+     * become due.
+     */
+    private void runOpenLoop(Run run, ExecutorService executor) throws InterruptedException {
+        ArrivalSchedule schedule = new ArrivalSchedule(ratePerSecond, rampUp);
+        Iterator<HttpRequest> requests = run.requestsFor(0, 1);
+        int workerCount = getOpenLoopWorkerCount();
+        long maxIterations = (iterations == 0) ? Long.MAX_VALUE : iterations;
+        for (long index = 0; index < maxIterations; index++) {
+            long intendedNanos = run.startNanos + schedule.intendedOffsetNanos(index);
+            if (intendedNanos >= run.deadlineNanos) {
+                break;
+            }
+            long waitNanos;
+            while ((waitNanos = intendedNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(waitNanos);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            HttpRequest fedRequest = (requests == null) ? null : run.take(requests);
+            if ((requests != null) && (fedRequest == null)) {
+                break;
+            }
+            if (run.inProgress.getAndIncrement() >= workerCount) {
+                run.lateCount.incrementAndGet();
+            }
+            executor.execute(BastionContext.propagate(() -> {
+                try {
+                    PreparedRequest preparedRequest = run.prepare(fedRequest);
+                    if (preparedRequest != null) {
+                        run.send(intendedNanos, preparedRequest);
+                    }
+                } finally {
+                    run.inProgress.decrementAndGet();
+                }
+            }));
+        }
+        executor.shutdown();
+        while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+            // Wait for the requests which are still in progress
+        }
+    }
+
+    private String getDescriptiveText() {
+        String name = (request == null) ? feed.name() : request.name();
+        if (Strings.isNullOrEmpty(message)) {
+            return name;
+        } else {
+            return name + " - " + message;
+        }
+    }
+
+    /**
+     * The state shared by all workers for a single call to {@link #run()}.
+     */
+    private final class Run {
+
+        private final PreparedRequest preparedRequest;
+        private final long startNanos;
+        private final long deadlineNanos;
+        private final AtomicLong remainingIterations;
+        private final AtomicLong requestCount;
+        private final AtomicLong errorCount;
+        private final AtomicLong assertionsRunCount;
+        private final AtomicLong assertionFailureCount;
+        private final AtomicLong lateCount;
+        private final AtomicInteger inProgress;
+        private final AtomicReference<Throwable> firstError;
+        private final LatencyHistogram latency;
+        private final LatencyHistogram uncorrectedLatency;
+        private final List<Stream<HttpRequest>> openFeeds;
+        private Iterator<HttpRequest> sharedFeed;
+
+        private Run() {
+            preparedRequest = (request == null) ? null : PreparedRequest.prepare(request, configuration);
+            startNanos = System.nanoTime();
+            deadlineNanos = (duration == null) ? Long.MAX_VALUE : startNanos + duration.toNanos();
+            remainingIterations = new AtomicLong((iterations == 0) ? Long.MAX_VALUE : iterations);
+            requestCount = new AtomicLong();
+            errorCount = new AtomicLong();
+            assertionsRunCount = new AtomicLong();
+            assertionFailureCount = new AtomicLong();
+            lateCount = new AtomicLong();
+            inProgress = new AtomicInteger();
+            firstError = new AtomicReference<>();
+            latency = new LatencyHistogram();
+            uncorrectedLatency = (ratePerSecond == 0) ? latency : new LatencyHistogram();
+            openFeeds = Collections.synchronizedList(new ArrayList<>());
+        }
+
+        /**
+         * Gets the requests which the given worker should send, or {@literal null} if every worker sends the same request.
+         * Unless the feed is sharded by worker, all workers share a single stream of the feed.
+         */
+        private Iterator<HttpRequest> requestsFor(int worker, int workerCount) {
+            if (feed == null) {
+                return null;
+            }
+            if (feed.isShardedByWorker()) {
+                return open(feed.stream(worker, workerCount));
+            }
+            if (sharedFeed == null) {
+                sharedFeed = open(feed.stream());
+            }
+            return sharedFeed;
+        }
+
+        private Iterator<HttpRequest> open(Stream<HttpRequest> stream) {
+            openFeeds.add(stream);
+            return stream.iterator();
+        }
+
+        /**
+         * Takes the next request from a feed which may be shared by several workers.
+         *
+         * @return The next request, or {@literal null} if the feed has ended
+         */
+        private HttpRequest take(Iterator<HttpRequest> requests) {
+            synchronized (requests) {
+                return requests.hasNext() ? requests.next() : null;
+            }
+        }
+
+        private void closeFeeds() {
+            openFeeds.forEach(Stream::close);
+        }
+
+        private void work(Iterator<HttpRequest> requests) {
+            while (hasNext()) {
+                HttpRequest fedRequest = null;
+                if (requests != null) {
+                    fedRequest = take(requests);
+                    if (fedRequest == null) {
+                        return;
+                    }
+                }
+                PreparedRequest preparedRequest = prepare(fedRequest);
+                if (preparedRequest != null) {
+                    // Taken once the request is prepared, so that preparing a fed request is not counted as latency
+                    send(System.nanoTime(), preparedRequest);
+                }
+            }
+        }
+
+        /**
+         * Gets the request to send: either the one taken from the feed, which is prepared first, or, if there is no feed,
+         * the load test's request.
+         *
+         * @return The prepared request, or {@literal null} if the fed request could not be prepared
+         */
+        private PreparedRequest prepare(HttpRequest fedRequest) {
+            if (fedRequest == null) {
+                return preparedRequest;
+            }
+            try {
+                return PreparedRequest.prepare(fedRequest, configuration);
+            } catch (RuntimeException error) {
+                // The request was never sent, so there is no latency to record
+                errorCount.incrementAndGet();
+                firstError.compareAndSet(null, error);
+                return null;
+            }
+        }
+
+        /**
+         * Sends a single prepared request which was meant to be sent at the given time. In a closed-loop run, this is
+         * always the time at which the request was ready to send.
+         */
+        private void send(long intendedNanos, PreparedRequest preparedRequest) {
+            long sendNanos = System.nanoTime();
+            Response response;
+            try {
+                response = preparedRequest.execute();
+            } catch (RuntimeException | AssertionError error) {
+                recordLatency(intendedNanos, sendNanos);
+                errorCount.incrementAndGet();
+                firstError.compareAndSet(null, error);
+                return;
+            }
+            recordLatency(intendedNanos, sendNanos);
+            if (isSampled()) {
+                runAssertions(response);
+            }
+        }
+
+        private void recordLatency(long intendedNanos, long sendNanos) {
+            long endNanos = System.nanoTime();
+            latency.record(endNanos - intendedNanos);
+            if (uncorrectedLatency != latency) {
+                uncorrectedLatency.record(endNanos - sendNanos);
+            }
+            requestCount.incrementAndGet();
+        }
+
+        private boolean hasNext() {
+            return !Thread.currentThread().isInterrupted()
+                    && (System.nanoTime() < deadlineNanos)
+                    && (remainingIterations.getAndDecrement() > 0);
+        }
+
+        private boolean isSampled() {
+            return (assertions != Assertions.NO_ASSERTIONS) && (ThreadLocalRandom.current().nextDouble() < samplingFraction);
+        }
+
+        private void runAssertions(Response response) {
+            assertionsRunCount.incrementAndGet();
+            try {
+                Bindings bindings = new ViewBinder(response, decoders.getDecoders(response)).bind(new DecodingHints(null));
+                String model = bindings.getViewForType(String.class).orElse(null);
+                assertions.execute(response.getStatusCode(), new ModelResponse<>(response, model, bindings), model);
+            } catch (AssertionError | RuntimeException error) {
+                assertionFailureCount.incrementAndGet();
+                firstError.compareAndSet(null, error);
+            }
+        }
+
+        private LoadTestSummary summarise() {
+            return new LoadTestSummary(getDescriptiveText(), requestCount.get(), errorCount.get(), assertionsRunCount.get(),
+                    assertionFailureCount.get(), lateCount.get(), Duration.ofNanos(System.nanoTime() - startNanos), latency,
+                    uncorrectedLatency, firstError.get());
+        }
+    }
+}
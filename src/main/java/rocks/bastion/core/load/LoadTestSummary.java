@@ -0,0 +1,138 @@
+package rocks.bastion.core.load;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The outcome of a {@link LoadTest} run. Contains the number of requests sent, how many of them ended in an error or
+ * failed the sampled assertions, the achieved throughput and a histogram of the latencies of all the requests.
+ * For an open-loop run, the {@link #getLatency() latency} is measured from the time each request was meant to be sent and
+ * the {@link #getUncorrectedLatency() uncorrected latency} from the time it was actually sent. For a closed-loop run, both
+ * are the same.
+ */
+public final class LoadTestSummary {
+
+    private final String name;
+    private final long requestCount;
+    private final long errorCount;
+    private final long assertionsRunCount;
+    private final long assertionFailureCount;
+    private final long lateCount;
+    private final Duration elapsed;
+    private final LatencyHistogram latency;
+    private final LatencyHistogram uncorrectedLatency;
+    private final Throwable firstError;
+
+    LoadTestSummary(String name, long requestCount, long errorCount, long assertionsRunCount, long assertionFailureCount,
+                    long lateCount, Duration elapsed, LatencyHistogram latency, LatencyHistogram uncorrectedLatency, Throwable firstError) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(elapsed);
+        Objects.requireNonNull(latency);
+        Objects.requireNonNull(uncorrectedLatency);
+        this.name = name;
+        this.requestCount = requestCount;
+        this.errorCount = errorCount;
+        this.assertionsRunCount = assertionsRunCount;
+        this.assertionFailureCount = assertionFailureCount;
+        this.lateCount = lateCount;
+        this.elapsed = elapsed;
+        this.latency = latency;
+        this.uncorrectedLatency = uncorrectedLatency;
+        this.firstError = firstError;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The total number of requests which were sent, including those which ended in an error
+     */
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    /**
+     * @return The number of requests which could not be completed, such as those that timed out
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * @return The number of responses on which the assertions were run
+     */
+    public long getAssertionsRunCount() {
+        return assertionsRunCount;
+    }
+
+    /**
+     * @return The number of sampled responses which did not pass the assertions
+     */
+    public long getAssertionFailureCount() {
+        return assertionFailureCount;
+    }
+
+    /**
+     * @return The number of requests in an open-loop run which were due while every worker was busy, and so waited for a
+     * worker before being sent. Their wait is included in the {@link #getLatency() latency}. Always zero for a closed-loop run.
+     */
+    public long getLateCount() {
+        return lateCount;
+    }
+
+    /**
+     * @return The first error or assertion failure encountered during the run, if any
+     */
+    public Optional<Throwable> getFirstError() {
+        return Optional.ofNullable(firstError);
+    }
+
+    /**
+     * @return The time taken by the whole run
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return The mean number of requests completed per second
+     */
+    public double getThroughput() {
+        long elapsedNanos = elapsed.toNanos();
+        return elapsedNanos == 0 ? 0 : (requestCount * 1e9) / elapsedNanos;
+    }
+
+    /**
+     * @return The histogram containing the latency of every request sent, corrected for coordinated omission in an open-loop run
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return The histogram containing the latency of every request sent, measured from the time each request was actually sent
+     */
+    public LatencyHistogram getUncorrectedLatency() {
+        return uncorrectedLatency;
+    }
+
+    public Duration getLatencyAtPercentile(double percentile) {
+        return latency.getValueAtPercentile(percentile);
+    }
+
+    public Duration getMaxLatency() {
+        return latency.getMax();
+    }
+
+    @Override
+    public String toString() {
+        String summary = String.format("%s: requests=%d, errors=%d, assertion failures=%d/%d, elapsed=%s, throughput=%.2f req/s, latency [%s]",
+                name, requestCount, errorCount, assertionFailureCount, assertionsRunCount, elapsed, getThroughput(), latency);
+        if (uncorrectedLatency != latency) {
+            summary += String.format(", late=%d, uncorrected latency [%s]", lateCount, uncorrectedLatency);
+        }
+        return summary;
+    }
+}
@@ -1,6 +1,7 @@
 package rocks.bastion.core.printer;
 
 import org.apache.http.ProtocolVersion;
+import org.apache.http.entity.ContentType;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.message.BasicLineFormatter;
 import org.apache.http.message.BasicRequestLine;
@@ -8,17 +9,31 @@ import rocks.bastion.core.ApiHeader;
 import rocks.bastion.core.BastionFactory;
 import rocks.bastion.core.HttpRequest;
 import rocks.bastion.core.RequestExecutor;
+import rocks.bastion.core.StreamingBody;
+import rocks.bastion.core.resource.ResourceLoader;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Collection;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Prints the given {@link HttpRequest} object in the same format that it is sent with using the HTTP protocol. This class is
- * useful for logging and debugging purposes.
+ * useful for logging and debugging purposes. Bodies given as bytes or files, such as those of a
+ * {@link rocks.bastion.core.FileRequest}, are printed as text if the request's content type is textual, up to the
+ * {@link ResourceLoader#getMappingThreshold() mapping threshold}; other binary and streamed bodies are printed as a placeholder.
  */
 public class HttpRequestPrinter {
 
@@ -89,7 +104,77 @@ public class HttpRequestPrinter {
     }
 
     private void writeEntitySection(Writer writer) throws IOException {
-        writer.append(request.body().toString());
+        Object body = request.body();
+        if (body == null) {
+            return;
+        }
+        if (body instanceof byte[]) {
+            writeBinaryBody(writer, ByteBuffer.wrap((byte[]) body), ((byte[]) body).length, String.format("[binary body of %d bytes]", ((byte[]) body).length));
+        } else if (body instanceof ByteBuffer) {
+            ByteBuffer buffer = ((ByteBuffer) body).duplicate();
+            writeBinaryBody(writer, buffer, buffer.remaining(), String.format("[binary body of %d bytes]", buffer.remaining()));
+        } else if (body instanceof Path) {
+            writeFileBody(writer, (Path) body);
+        } else if (body instanceof File) {
+            writeFileBody(writer, ((File) body).toPath());
+        } else if ((body instanceof InputStream) || (body instanceof StreamingBody)) {
+            writer.append("[streamed body]");
+        } else {
+            writer.append(body.toString());
+        }
+    }
+
+    private void writeFileBody(Writer writer, Path file) throws IOException {
+        String placeholder = String.format("[body streamed from file %s]", file);
+        if (!isTextual()) {
+            writer.append(placeholder);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer content = ByteBuffer.allocate((int) Math.min(size, getPrintLimit()));
+            while (content.hasRemaining() && (channel.read(content) >= 0)) {
+                // Keep reading until the preview is full or the file ends
+            }
+            content.flip();
+            writeBinaryBody(writer, content, size, placeholder);
+        }
+    }
+
+    /**
+     * Writes a body given as bytes. Textual bodies are decoded using the charset of the request's content type, or UTF-8
+     * if it has none, and only the first {@link ResourceLoader#getMappingThreshold() mapping threshold} bytes are written
+     * so that a large upload does not flood the log. Other bodies are written as the given placeholder.
+     */
+    private void writeBinaryBody(Writer writer, ByteBuffer content, long size, String placeholder) throws IOException {
+        if (!isTextual()) {
+            writer.append(placeholder);
+            return;
+        }
+        ByteBuffer preview = content.duplicate();
+        if (preview.remaining() > getPrintLimit()) {
+            preview.limit(preview.position() + (int) getPrintLimit());
+        }
+        int printed = preview.remaining();
+        Charset charset = request.contentType().map(ContentType::getCharset).orElse(null);
+        writer.append((charset == null ? StandardCharsets.UTF_8 : charset).decode(preview));
+        if (printed < size) {
+            writer.append(String.format("\r\n[%d more bytes]", size - printed));
+        }
+    }
+
+    private boolean isTextual() {
+        Optional<ContentType> contentType = request.contentType();
+        if (!contentType.isPresent()) {
+            return false;
+        }
+        String mimeType = contentType.get().getMimeType().toLowerCase(Locale.ENGLISH);
+        return (contentType.get().getCharset() != null) || mimeType.startsWith("text/") || mimeType.endsWith("json") || mimeType.endsWith("xml")
+                || mimeType.equals("application/x-www-form-urlencoded");
+    }
+
+    private static long getPrintLimit() {
+        return Math.min(ResourceLoader.getMappingThreshold(), Integer.MAX_VALUE);
     }
 
 }
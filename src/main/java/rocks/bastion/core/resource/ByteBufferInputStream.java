@@ -0,0 +1,59 @@
+package rocks.bastion.core.resource;
+
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * An {@link InputStream} which reads the remaining content of a {@link ByteBuffer} without copying it. The stream reads
+ * from its own {@link ByteBuffer#duplicate() duplicate} of the buffer, so the position of the given buffer is not
+ * affected and many streams may read the same buffer independently.
+ */
+public final class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    public ByteBufferInputStream(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer);
+        this.buffer = buffer.duplicate();
+    }
+
+    @Override
+    public int read() {
+        return buffer.hasRemaining() ? (buffer.get() & 0xFF) : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+        Objects.requireNonNull(bytes);
+        if ((offset < 0) || (length < 0) || (length > bytes.length - offset)) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        int count = Math.min(length, buffer.remaining());
+        buffer.get(bytes, offset, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long count) {
+        if (count <= 0) {
+            return 0;
+        }
+        int skipped = (int) Math.min(count, buffer.remaining());
+        // Called through Buffer so that the class links on Java 8, where ByteBuffer does not override position(int)
+        ((Buffer) buffer).position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+}
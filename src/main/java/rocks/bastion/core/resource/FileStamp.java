@@ -0,0 +1,70 @@
+package rocks.bastion.core.resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The size and modification time of a file, which change whenever the file is edited. Caches of content read from a
+ * file keep the stamp taken before reading it, and read the file again once its current stamp no longer
+ * {@link #matches(Path) matches}.
+ */
+public final class FileStamp {
+
+    private final long size;
+    private final FileTime lastModified;
+
+    private FileStamp(long size, FileTime lastModified) {
+        this.size = size;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @param path The non-{@literal null} path of a file
+     * @return The current stamp of the file, or an {@link Optional#empty() empty Optional} if the file does not exist or
+     * cannot be read
+     */
+    public static Optional<FileStamp> of(Path path) {
+        Objects.requireNonNull(path);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return Optional.of(new FileStamp(attributes.size(), attributes.lastModifiedTime()));
+        } catch (IOException ignored) {
+            // The file has been removed or cannot be read
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param path The non-{@literal null} path of a file
+     * @return {@literal true} if the file still has this stamp, meaning that it has not changed since the stamp was taken
+     */
+    public boolean matches(Path path) {
+        return of(path).map(this::equals).orElse(false);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if ((other == null) || (getClass() != other.getClass())) {
+            return false;
+        }
+        FileStamp that = (FileStamp) other;
+        return (size == that.size) && lastModified.equals(that.lastModified);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(size, lastModified);
+    }
+}
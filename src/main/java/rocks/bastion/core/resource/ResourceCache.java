@@ -0,0 +1,164 @@
+package rocks.bastion.core.resource;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.io.ByteStreams;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * <p>Keeps the content of the resources read by {@link ResourceLoader}, shared by the whole process and keyed by the
+ * resource's location, so that a fixture referenced by many tests is only read once. Only two kinds of resource are kept:</p>
+ * <ul>
+ * <li>Classpath resources, which never change while the process runs and are therefore never read again.</li>
+ * <li>Files, which are read again whenever their size or modification time changes.</li>
+ * </ul>
+ * <p>Resources at any other URL are read every time. Files at least as large as the {@link #setMappingThreshold(long)
+ * mapping threshold}, {@value #DEFAULT_MAPPING_THRESHOLD} bytes by default, are memory-mapped rather than read into the
+ * heap, so that their content is paged in by the operating system as it is used. The content
+ * of a mapped file which is edited in place is not stable until the file is read again; edit such files by replacing
+ * them instead. The least recently used content is evicted once the cached content held in the heap exceeds
+ * {@value #MAXIMUM_HEAP_BYTES} bytes.</p>
+ */
+final class ResourceCache {
+
+    static final long DEFAULT_MAPPING_THRESHOLD = 1024 * 1024;
+    static final long MAXIMUM_HEAP_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * The weight of a mapped file, which takes up little heap however large the file is.
+     */
+    private static final int MAPPED_WEIGHT = 4 * 1024;
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    private static final Cache<String, ResourceContent> CONTENT = CacheBuilder.newBuilder()
+            .maximumWeight(MAXIMUM_HEAP_BYTES)
+            .weigher((String source, ResourceContent content) -> content.isMapped() ? MAPPED_WEIGHT : content.getBuffer().remaining())
+            .build();
+
+    private static volatile long mappingThreshold = DEFAULT_MAPPING_THRESHOLD;
+
+    private ResourceCache() {
+    }
+
+    static long getMappingThreshold() {
+        return mappingThreshold;
+    }
+
+    /**
+     * Sets the size from which files are memory-mapped. Content which is already cached is not affected.
+     *
+     * @param bytes A non-negative number of bytes
+     */
+    static void setMappingThreshold(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("The mapping threshold should not be negative.");
+        }
+        mappingThreshold = bytes;
+    }
+
+    /**
+     * @param source The non-{@literal null} location of the resource
+     * @return The cached content of the resource, if it is cached and has not changed since it was read
+     */
+    static Optional<ResourceContent> getIfCurrent(String source) {
+        ResourceContent content = CONTENT.getIfPresent(source);
+        if ((content == null) || !content.isCurrent()) {
+            return Optional.empty();
+        }
+        return Optional.of(content);
+    }
+
+    /**
+     * Reads the content of the given resource, and caches it if it is a classpath resource or a file.
+     *
+     * @param source   The non-{@literal null} location of the resource
+     * @param resource The non-{@literal null} resource which was resolved from the location
+     * @return The content of the resource
+     * @throws IllegalStateException if the resource could not be read
+     */
+    static ResourceContent load(String source, Resource resource) {
+        Optional<Path> path = ResourceLoader.pathOf(resource);
+        boolean immutable = source.startsWith(CLASSPATH_PREFIX);
+        try {
+            if (path.isPresent()) {
+                Optional<FileStamp> stamp = FileStamp.of(path.get());
+                ResourceContent content = readFile(path.get(), stamp, immutable);
+                if (immutable || stamp.isPresent()) {
+                    CONTENT.put(source, content);
+                }
+                return content;
+            }
+            ResourceContent content = new ResourceContent(readStream(resource), null, null, false);
+            if (immutable) {
+                CONTENT.put(source, content);
+            }
+            return content;
+        } catch (IOException exception) {
+            throw new IllegalStateException("Cannot read resource data", exception);
+        }
+    }
+
+    private static ResourceContent readFile(Path path, Optional<FileStamp> stamp, boolean immutable) throws IOException {
+        FileStamp revalidationStamp = immutable ? null : stamp.orElse(null);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if ((size > 0) && (size >= mappingThreshold)) {
+                ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                return new ResourceContent(mapped, path, revalidationStamp, true);
+            }
+        }
+        return new ResourceContent(ByteBuffer.wrap(Files.readAllBytes(path)).asReadOnlyBuffer(), path, revalidationStamp, false);
+    }
+
+    private static ByteBuffer readStream(Resource resource) throws IOException {
+        try (InputStream stream = resource.getInputStream()) {
+            return ByteBuffer.wrap(ByteStreams.toByteArray(stream)).asReadOnlyBuffer();
+        }
+    }
+
+    /**
+     * The content of a resource, together with what is needed to tell whether it is still current.
+     */
+    static final class ResourceContent {
+
+        private final ByteBuffer buffer;
+        private final Path path;
+        private final FileStamp stamp;
+        private final boolean mapped;
+
+        private ResourceContent(ByteBuffer buffer, Path path, FileStamp stamp, boolean mapped) {
+            this.buffer = buffer;
+            this.path = path;
+            this.stamp = stamp;
+            this.mapped = mapped;
+        }
+
+        /**
+         * @return A new read-only view of the content, which the caller may move through freely
+         */
+        ByteBuffer getBuffer() {
+            return buffer.asReadOnlyBuffer();
+        }
+
+        Optional<Path> getPath() {
+            return Optional.ofNullable(path);
+        }
+
+        boolean isMapped() {
+            return mapped;
+        }
+
+        private boolean isCurrent() {
+            return (stamp == null) || stamp.matches(path);
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package rocks.bastion.core.resource;
 
-import com.google.common.io.ByteStreams;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
+import org.springframework.util.ResourceUtils;
+import rocks.bastion.core.resource.ResourceCache.ResourceContent;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * <p>
@@ -15,26 +20,140 @@ import java.util.Objects;
  * any other URL respectively.
  * </p>
  * <p>
- * Internally, this implementation uses the Spring {@link DefaultResourceLoader} class to load resources.
+ * Internally, this implementation uses the Spring {@link DefaultResourceLoader} class to load resources. The resource's
+ * data is only read when it is requested using {@link #load()}, {@link #loadBytes()} or {@link #loadBuffer()}.
+ * </p>
+ * <p>
+ * The data of classpath resources and files is cached for the whole process, so loading the same resource again does not
+ * read it again, or even look it up again. Classpath resources are read once, while files are read again whenever their
+ * size or modification time changes. Files at least as large as the {@link #setMappingThreshold(long) mapping threshold}
+ * are memory-mapped rather than read into the heap; use {@link #loadBuffer()} to access their data without copying it.
  * </p>
  */
 public class ResourceLoader {
 
     private String source;
     private Resource resource;
-    private String resourceContent;
+    private ResourceContent content;
 
     public ResourceLoader(String source) {
         Objects.requireNonNull(source);
         this.source = source;
-        resource = new DefaultResourceLoader().getResource(source);
-        validateResource();
-        byte[] resourceData = getResourceData();
-        resourceContent = new String(resourceData, Charset.defaultCharset());
+        content = ResourceCache.getIfCurrent(source).orElse(null);
+        if (content == null) {
+            validateResource();
+        }
+    }
+
+    /**
+     * Sets the size from which files on the file system are memory-mapped rather than read into the heap, for the whole
+     * process. Defaults to 1 MiB. Files which have already been loaded are
+     * only affected once they change.
+     *
+     * @param bytes A non-negative number of bytes
+     */
+    public static void setMappingThreshold(long bytes) {
+        ResourceCache.setMappingThreshold(bytes);
     }
 
+    /**
+     * @return The size from which files on the file system are memory-mapped
+     * @see #setMappingThreshold(long)
+     */
+    public static long getMappingThreshold() {
+        return ResourceCache.getMappingThreshold();
+    }
+
+    /**
+     * Reads the resource as text, decoded using the platform's default charset.
+     *
+     * @return The content of the resource
+     */
     public String load() {
-        return resourceContent;
+        return load(Charset.defaultCharset());
+    }
+
+    /**
+     * Reads the resource as text, decoded using the given charset. Malformed input is replaced by the charset's
+     * replacement string.
+     *
+     * @param charset The non-{@literal null} charset which the resource is encoded in
+     * @return The content of the resource
+     */
+    public String load(Charset charset) {
+        Objects.requireNonNull(charset);
+        return charset.decode(getContent().getBuffer()).toString();
+    }
+
+    /**
+     * Reads the resource's raw bytes, without decoding them. The returned array is a copy which the caller may modify.
+     *
+     * @return The content of the resource
+     */
+    public byte[] loadBytes() {
+        ByteBuffer buffer = getContent().getBuffer();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Reads the resource's raw bytes as a read-only buffer, without copying them. The buffer of a large file is
+     * memory-mapped. Each call returns a new buffer, so its position can be moved without affecting other callers.
+     *
+     * @return The content of the resource
+     */
+    public ByteBuffer loadBuffer() {
+        return getContent().getBuffer();
+    }
+
+    /**
+     * Tells whether the resource's data is a memory-mapped file, in which case {@link #loadBuffer()} returns a read-only
+     * {@link java.nio.MappedByteBuffer}. Large resources should be consumed through that buffer rather than as a
+     * {@link #load() string} or {@link #loadBytes() array}, which copy the data into the heap.
+     *
+     * @return {@literal true} if the resource's data is memory-mapped
+     */
+    public boolean isMapped() {
+        return getContent().isMapped();
+    }
+
+    /**
+     * Opens a stream over the resource's raw bytes without reading them into memory, for resources which are too large to
+     * load at once. The data read from the stream is not cached. The caller is responsible for closing the stream.
+     *
+     * @return A new stream over the content of the resource
+     */
+    public InputStream openStream() {
+        try {
+            return getResource().getInputStream();
+        } catch (IOException exception) {
+            throw new IllegalStateException("Cannot read resource data", exception);
+        }
+    }
+
+    /**
+     * Gets the path of the resource on the file system, if it is a file. Resources inside JAR files or at remote URLs
+     * are not files.
+     *
+     * @return The path to the resource, or an {@link Optional#empty() empty Optional} if the resource is not a file
+     */
+    public Optional<Path> getPath() {
+        if (content != null) {
+            return content.getPath();
+        }
+        return pathOf(getResource());
+    }
+
+    static Optional<Path> pathOf(Resource resource) {
+        try {
+            if (ResourceUtils.isFileURL(resource.getURL())) {
+                return Optional.of(resource.getFile().toPath());
+            }
+        } catch (IOException ignored) {
+            // Not a file on the file system
+        }
+        return Optional.empty();
     }
 
     private void validateResource() {
@@ -43,23 +162,29 @@ public class ResourceLoader {
     }
 
     private void requireResourceReadable() {
-        if (!resource.isReadable()) {
+        if (!getResource().isReadable()) {
             throw new UnreadableResourceException(source);
         }
     }
 
     private void requireResourceExists() {
-        if (!resource.exists()) {
+        if (!getResource().exists()) {
             throw new ResourceNotFoundException(source);
         }
     }
 
-    private byte[] getResourceData() {
-        try {
-            return ByteStreams.toByteArray(resource.getInputStream());
-        } catch (IOException exception) {
-            throw new IllegalStateException("Cannot read resource data", exception);
+    private Resource getResource() {
+        if (resource == null) {
+            resource = new DefaultResourceLoader().getResource(source);
+        }
+        return resource;
+    }
+
+    private ResourceContent getContent() {
+        if (content == null) {
+            content = ResourceCache.load(source, getResource());
         }
+        return content;
     }
 
 }
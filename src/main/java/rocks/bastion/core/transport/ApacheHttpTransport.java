@@ -0,0 +1,125 @@
+package rocks.bastion.core.transport;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.util.EntityUtils;
+import rocks.bastion.core.ApiHeader;
+import rocks.bastion.core.HttpRequest;
+import rocks.bastion.core.RawResponse;
+import rocks.bastion.core.Response;
+import rocks.bastion.core.ResponseBody;
+import rocks.bastion.core.configuration.Configuration;
+import rocks.bastion.core.configuration.HttpClientConfiguration;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Sends requests over the network using the pooled HTTP client owned by a {@link Configuration}, so that connections are
+ * reused across requests made with the same configuration. This is the transport used unless another one is configured.
+ */
+public class ApacheHttpTransport implements HttpTransport {
+
+    private final Configuration configuration;
+
+    /**
+     * @param configuration The non-{@literal null} configuration whose {@link Configuration#getHttpClient() HTTP client}
+     *                      and {@link HttpClientConfiguration settings} are used to send requests
+     */
+    public ApacheHttpTransport(Configuration configuration) {
+        Objects.requireNonNull(configuration);
+        this.configuration = configuration;
+    }
+
+    @Override
+    public Response send(TransportRequest request) throws IOException {
+        Objects.requireNonNull(request);
+        BastionHttpRequestBase httpRequest = prepareHttpRequest(request);
+        try {
+            HttpResponse httpResponse = configuration.getHttpClient().execute(httpRequest);
+            try {
+                return convertToRawResponse(httpResponse);
+            } finally {
+                EntityUtils.consumeQuietly(httpResponse.getEntity());
+            }
+        } finally {
+            httpRequest.releaseConnection();
+        }
+    }
+
+    private BastionHttpRequestBase prepareHttpRequest(TransportRequest request) {
+        BastionHttpRequestBase httpRequest = new BastionHttpRequestBase(request.getMethod(), request.getUri());
+        request.getHeaders().forEach(header -> httpRequest.addHeader(header.getName(), header.getValue()));
+        if (TransportRequest.isBodyAllowed(request.getMethod()) && (request.getBody() != null)) {
+            httpRequest.setEntity(RequestEntities.toEntity(request.getBody()));
+        }
+        httpRequest.setConfig(prepareRequestConfig(request.getTimeout()));
+        return httpRequest;
+    }
+
+    /**
+     * Prepares the timeouts for a single request. If the request has no timeout of its own, the connect and socket
+     * timeouts configured for the HTTP client apply.
+     */
+    RequestConfig prepareRequestConfig(long timeout) {
+        if (timeout == HttpRequest.USE_GLOBAL_TIMEOUT) {
+            HttpClientConfiguration httpClientConfiguration = configuration.getHttpClientConfiguration();
+            return RequestConfig.custom()
+                    .setConnectTimeout(toTimeoutMillis(httpClientConfiguration.getConnectTimeout()))
+                    .setSocketTimeout(toTimeoutMillis(httpClientConfiguration.getSocketTimeout()))
+                    .build();
+        }
+        return RequestConfig.custom()
+                .setConnectTimeout(toTimeoutMillis(timeout))
+                .setSocketTimeout(toTimeoutMillis(timeout))
+                .build();
+    }
+
+    /**
+     * The Apache HTTP client takes timeouts as an {@code int}, so a longer timeout is clamped to the longest it accepts
+     * rather than wrapping around.
+     */
+    private static int toTimeoutMillis(long timeout) {
+        return (int) Math.min(timeout, Integer.MAX_VALUE);
+    }
+
+    private Response convertToRawResponse(HttpResponse httpResponse) throws IOException {
+        List<ApiHeader> responseHeaders = new LinkedList<>();
+        for (Header header : httpResponse.getAllHeaders()) {
+            responseHeaders.add(new ApiHeader(header.getName(), header.getValue()));
+        }
+        String statusText = httpResponse.getStatusLine().getReasonPhrase();
+        HttpEntity entity = httpResponse.getEntity();
+        ResponseBody body = (entity == null) ? ResponseBody.of(new byte[0])
+                : ResponseBody.read(entity.getContent(), configuration.getHttpClientConfiguration().getResponseBodyMemoryThreshold());
+        return new RawResponse(httpResponse.getStatusLine().getStatusCode(),
+                statusText == null ? "" : statusText,
+                responseHeaders,
+                body);
+    }
+
+    /**
+     * An Apache HTTP request for any HTTP method. A body is only set for the methods which
+     * {@link TransportRequest#isBodyAllowed(String) allow one}.
+     */
+    private static final class BastionHttpRequestBase extends HttpEntityEnclosingRequestBase {
+
+        private final String method;
+
+        private BastionHttpRequestBase(String method, URI uri) {
+            this.method = method;
+            setURI(uri);
+        }
+
+        @Override
+        public String getMethod() {
+            return method;
+        }
+    }
+}
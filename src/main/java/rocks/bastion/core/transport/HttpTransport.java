@@ -0,0 +1,32 @@
+package rocks.bastion.core.transport;
+
+import rocks.bastion.core.Response;
+import rocks.bastion.core.configuration.Configuration;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * <p>Sends a fully resolved {@link TransportRequest} and returns the response received for it. The transport used by
+ * Bastion is chosen per {@link Configuration} using {@link Configuration#setTransport(HttpTransport)}; by default,
+ * requests are sent over the network using an {@link ApacheHttpTransport}.</p>
+ * <p>Bastion ships with the following transports:</p>
+ * <ul>
+ * <li>{@link ApacheHttpTransport}: sends requests over the network using the pooled HTTP client owned by a configuration.</li>
+ * <li>{@link InProcessTransport}: passes requests directly to a handler in the same JVM, without opening a socket.</li>
+ * </ul>
+ * <p>Implementations must be thread-safe since the same transport is used to send requests from many threads at once.</p>
+ */
+public interface HttpTransport {
+
+    /**
+     * Sends the given request and waits for its response. The returned response must contain the whole body so that it
+     * can be read after this method returns.
+     *
+     * @param request The non-{@literal null} request to send
+     * @return The response received for the request
+     * @throws InterruptedIOException if the response was not received before the request's timeout elapsed
+     * @throws IOException            if the request could not be sent or the response could not be read
+     */
+    Response send(TransportRequest request) throws IOException;
+}
@@ -0,0 +1,120 @@
+package rocks.bastion.core.transport;
+
+import rocks.bastion.core.HttpMethod;
+import rocks.bastion.core.RawResponse;
+import rocks.bastion.core.Response;
+import rocks.bastion.core.ResponseBody;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Passes each request directly to a handler running in the same JVM, without opening a socket. This lets a suite of
+ * tests exercise an API's handlers with Bastion without starting a server or going through the network stack, so tests
+ * run faster and suites running in parallel never compete for ports.</p>
+ * <p>Handlers are registered for an HTTP method and a path using {@link #handle(HttpMethod, String, Function)}. A path
+ * may contain segments such as {@code {id}} or {@code *}, each of which matches any single segment of the request's path.
+ * Routes are matched in the order they were registered. A request which matches no route is passed to the fallback
+ * handler given to {@link #InProcessTransport(Function)} or, if there is none, receives a {@code 404 Not Found} response.</p>
+ * <p>Each handler receives the request exactly as it would be sent over the network: with the resolved URL, the global
+ * headers and the body returned by the request, which can be read using {@link TransportRequest#openBody()}. Handlers
+ * must be thread-safe if requests are sent from many threads.</p>
+ */
+public class InProcessTransport implements HttpTransport {
+
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private final Function<? super TransportRequest, ? extends Response> fallbackHandler;
+
+    /**
+     * Creates a transport which responds with {@code 404 Not Found} to requests which match none of its routes.
+     */
+    public InProcessTransport() {
+        this(request -> new RawResponse(404, "Not Found", Collections.emptyList(), ResponseBody.of(new byte[0])));
+    }
+
+    /**
+     * @param fallbackHandler The non-{@literal null} function which produces the response for requests which match none
+     *                        of this transport's routes
+     */
+    public InProcessTransport(Function<? super TransportRequest, ? extends Response> fallbackHandler) {
+        Objects.requireNonNull(fallbackHandler);
+        this.fallbackHandler = fallbackHandler;
+    }
+
+    /**
+     * Registers a handler for requests with the given method and path.
+     *
+     * @param method      The non-{@literal null} HTTP method to handle
+     * @param pathPattern The non-{@literal null} path to handle, such as {@code /sushi/{id}}
+     * @param handler     The non-{@literal null} function which produces the response for each matching request
+     * @return This object (for method chaining)
+     */
+    public InProcessTransport handle(HttpMethod method, String pathPattern, Function<? super TransportRequest, ? extends Response> handler) {
+        Objects.requireNonNull(method);
+        routes.add(new Route(method.getValue(), pathPattern, handler));
+        return this;
+    }
+
+    /**
+     * Registers a handler for requests with the given path, whatever their method.
+     *
+     * @param pathPattern The non-{@literal null} path to handle, such as {@code /sushi/{id}}
+     * @param handler     The non-{@literal null} function which produces the response for each matching request
+     * @return This object (for method chaining)
+     */
+    public InProcessTransport handle(String pathPattern, Function<? super TransportRequest, ? extends Response> handler) {
+        routes.add(new Route(null, pathPattern, handler));
+        return this;
+    }
+
+    @Override
+    public Response send(TransportRequest request) {
+        Objects.requireNonNull(request);
+        Function<? super TransportRequest, ? extends Response> handler = routes.stream()
+                .filter(route -> route.matches(request))
+                .findFirst()
+                .<Function<? super TransportRequest, ? extends Response>>map(route -> route.handler)
+                .orElse(fallbackHandler);
+        Response response = handler.apply(request);
+        if (response == null) {
+            throw new IllegalStateException(String.format("The handler returned no response for %s", request));
+        }
+        return response;
+    }
+
+    private static final class Route {
+
+        private static final Pattern VARIABLE_SEGMENT = Pattern.compile("\\{[^/]*\\}|\\*");
+
+        private final String method;
+        private final Pattern path;
+        private final Function<? super TransportRequest, ? extends Response> handler;
+
+        private Route(String method, String pathPattern, Function<? super TransportRequest, ? extends Response> handler) {
+            Objects.requireNonNull(pathPattern);
+            Objects.requireNonNull(handler);
+            this.method = method;
+            this.path = compile(pathPattern);
+            this.handler = handler;
+        }
+
+        private boolean matches(TransportRequest request) {
+            String requestPath = request.getUri().getPath();
+            return ((method == null) || method.equals(request.getMethod()))
+                    && path.matcher(requestPath.isEmpty() ? "/" : requestPath).matches();
+        }
+
+        private static Pattern compile(String pathPattern) {
+            String regex = Arrays.stream(pathPattern.split("/", -1))
+                    .map(segment -> VARIABLE_SEGMENT.matcher(segment).matches() ? "[^/]+" : Pattern.quote(segment))
+                    .collect(Collectors.joining("/"));
+            return Pattern.compile(regex);
+        }
+    }
+}
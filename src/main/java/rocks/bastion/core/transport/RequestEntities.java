@@ -0,0 +1,194 @@
+package rocks.bastion.core.transport;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.entity.StringEntity;
+import rocks.bastion.core.HttpRequest;
+import rocks.bastion.core.StreamingBody;
+import rocks.bastion.core.resource.ByteBufferInputStream;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Converts the object returned by {@link HttpRequest#body()} into an entity which is sent as the HTTP request body. Binary
+ * bodies are written as they are, without being converted to a {@link String}:
+ * <ul>
+ * <li>{@code byte[]} and {@link ByteBuffer} bodies are written directly from the given array or buffer.</li>
+ * <li>{@link Path} and {@link File} bodies are streamed from the file using a {@link FileChannel}.</li>
+ * <li>{@link StreamingBody} bodies are streamed from a newly opened stream each time the request is sent.</li>
+ * <li>{@link InputStream} bodies are streamed using chunked transfer encoding. Such a request can only be sent once.</li>
+ * </ul>
+ * Any other object is converted to a string using {@link Object#toString()} and sent encoded in UTF-8.
+ */
+final class RequestEntities {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private RequestEntities() {
+    }
+
+    static HttpEntity toEntity(Object body) {
+        Objects.requireNonNull(body);
+        if (body instanceof byte[]) {
+            return new ByteArrayEntity((byte[]) body);
+        } else if (body instanceof ByteBuffer) {
+            return new ByteBufferEntity((ByteBuffer) body);
+        } else if (body instanceof Path) {
+            return new FileChannelEntity((Path) body);
+        } else if (body instanceof File) {
+            return new FileChannelEntity(((File) body).toPath());
+        } else if (body instanceof StreamingBody) {
+            return new StreamingBodyEntity((StreamingBody) body);
+        } else if (body instanceof InputStream) {
+            return new InputStreamEntity((InputStream) body, StreamingBody.UNKNOWN_LENGTH);
+        } else {
+            return new StringEntity(body.toString(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class ByteBufferEntity extends AbstractHttpEntity {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferEntity(ByteBuffer buffer) {
+            this.buffer = buffer.duplicate();
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public long getContentLength() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public InputStream getContent() {
+            return new ByteBufferInputStream(buffer);
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            if (buffer.hasArray()) {
+                outputStream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                return;
+            }
+            ByteBuffer content = buffer.duplicate();
+            WritableByteChannel channel = Channels.newChannel(outputStream);
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        }
+
+        @Override
+        public boolean isStreaming() {
+            return false;
+        }
+    }
+
+    private static final class FileChannelEntity extends AbstractHttpEntity {
+
+        private final Path file;
+
+        private FileChannelEntity(Path file) {
+            this.file = file;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public long getContentLength() {
+            try {
+                return Files.size(file);
+            } catch (IOException exception) {
+                throw new IllegalStateException("Cannot read the size of the request body file " + file, exception);
+            }
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return Files.newInputStream(file);
+        }
+
+        /**
+         * Copies the file to the connection's stream in chunks, so the file is never held in memory as a whole. The
+         * connection is only available as an {@link OutputStream}, so each chunk is still copied through a heap buffer.
+         */
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(outputStream);
+                long size = channel.size();
+                long position = 0;
+                while (position < size) {
+                    position += channel.transferTo(position, Math.min(CHUNK_SIZE, size - position), target);
+                }
+            }
+        }
+
+        @Override
+        public boolean isStreaming() {
+            return false;
+        }
+    }
+
+    private static final class StreamingBodyEntity extends AbstractHttpEntity {
+
+        private final StreamingBody body;
+
+        private StreamingBodyEntity(StreamingBody body) {
+            this.body = body;
+            setChunked(body.getLength() == StreamingBody.UNKNOWN_LENGTH);
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public long getContentLength() {
+            return body.getLength();
+        }
+
+        @Override
+        public InputStream getContent() {
+            return body.openStream();
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            try (InputStream stream = body.openStream()) {
+                byte[] chunk = new byte[CHUNK_SIZE];
+                int count;
+                while ((count = stream.read(chunk)) != -1) {
+                    outputStream.write(chunk, 0, count);
+                }
+            }
+        }
+
+        @Override
+        public boolean isStreaming() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package rocks.bastion.core.transport;
+
+import rocks.bastion.core.ApiHeader;
+import rocks.bastion.core.HttpRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An HTTP request which is ready to be sent by an {@link HttpTransport}. The URL already contains the query and route
+ * parameters and the headers include the global headers and the {@code Content-Type} header, so transports send the
+ * request as it is.
+ */
+public final class TransportRequest {
+
+    private final String method;
+    private final URI uri;
+    private final List<ApiHeader> headers;
+    private final Object body;
+    private final long timeout;
+
+    /**
+     * @param method  The non-{@literal null} HTTP method, such as {@code GET}
+     * @param uri     The non-{@literal null} URI to send the request to
+     * @param headers The non-{@literal null} headers to send
+     * @param body    The body to send, as described in {@link HttpRequest#body()}, or {@literal null} to send no body
+     * @param timeout The timeout in milliseconds, or {@link HttpRequest#USE_GLOBAL_TIMEOUT} to use the transport's default
+     */
+    public TransportRequest(String method, URI uri, Collection<ApiHeader> headers, Object body, long timeout) {
+        Objects.requireNonNull(method);
+        Objects.requireNonNull(uri);
+        Objects.requireNonNull(headers);
+        this.method = method;
+        this.uri = uri;
+        this.headers = Collections.unmodifiableList(new ArrayList<>(headers));
+        this.body = body;
+        this.timeout = timeout;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public List<ApiHeader> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Gets the value of the first header with the given name. Header names are compared ignoring case.
+     *
+     * @param name The non-{@literal null} header name
+     * @return The header's value, or an {@link Optional#empty() empty Optional} if the request has no such header
+     */
+    public Optional<String> getHeader(String name) {
+        Objects.requireNonNull(name);
+        return headers.stream().filter(header -> header.getName().equalsIgnoreCase(name)).findFirst().map(ApiHeader::getValue);
+    }
+
+    /**
+     * @return The body to send, as described in {@link HttpRequest#body()}, or {@literal null} if the request has no body
+     */
+    public Object getBody() {
+        return body;
+    }
+
+    /**
+     * Opens a stream over the bytes of the body, encoded exactly as they would be sent over the network. This lets a
+     * transport which does not send the request over the network, such as the {@link InProcessTransport}, read the body
+     * whatever its type. A body which is itself an {@link InputStream} can only be read once.
+     *
+     * @return A new stream over the body, which is empty if the request has no body
+     * @throws IOException if the body could not be opened
+     */
+    public InputStream openBody() throws IOException {
+        if (body == null) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        return RequestEntities.toEntity(body).getContent();
+    }
+
+    /**
+     * Checks whether a request using the given method sends its body. Bodies are sent for all methods except {@code GET}
+     * and {@code HEAD}; the body of such a request is ignored.
+     *
+     * @param method The non-{@literal null} HTTP method, such as {@code GET}
+     * @return {@literal true} if a body is sent for the given method
+     */
+    public static boolean isBodyAllowed(String method) {
+        Objects.requireNonNull(method);
+        return !method.equals("GET") && !method.equals("HEAD");
+    }
+
+    /**
+     * @return The timeout in milliseconds, or {@link HttpRequest#USE_GLOBAL_TIMEOUT} if the transport's default applies
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + uri;
+    }
+}
@@ -0,0 +1,103 @@
+package rocks.bastion.core.view;
+
+import rocks.bastion.core.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link ResponseDecoder} for a binary format of your own, such as Protocol Buffers or MessagePack. The decoder reads the
+ * raw bytes of responses whose {@code Content-Type} falls within the given media ranges and binds the object read from
+ * them, along with its entire type hierarchy, as a view of the response.
+ * <p>
+ * For example, the following decoder binds a {@code Sushi} message to responses of type {@code application/x-protobuf}:
+ * </p>
+ * <pre>{@code
+ * new BinaryResponseDecoder<>(Sushi.class, Sushi::parseFrom, "application/x-protobuf")
+ * }</pre>
+ *
+ * @param <T> The type of view read by this decoder
+ */
+public class BinaryResponseDecoder<T> implements ResponseDecoder {
+
+    private final Class<T> viewType;
+    private final BodyReader<? extends T> reader;
+    private final List<String> mediaRanges;
+    private int priority;
+
+    /**
+     * @param viewType    The non-{@literal null} type of view read by this decoder
+     * @param reader      The non-{@literal null} function which reads a view from a response body
+     * @param mediaRanges The media ranges of the responses which this decoder reads, such as {@code application/x-protobuf}
+     */
+    public BinaryResponseDecoder(Class<T> viewType, BodyReader<? extends T> reader, String... mediaRanges) {
+        Objects.requireNonNull(viewType);
+        Objects.requireNonNull(reader);
+        Objects.requireNonNull(mediaRanges);
+        if (mediaRanges.length == 0) {
+            throw new IllegalArgumentException("A decoder should be registered for at least one media range.");
+        }
+        this.viewType = viewType;
+        this.reader = reader;
+        this.mediaRanges = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(mediaRanges)));
+    }
+
+    /**
+     * Sets the priority of this decoder over other decoders which bind views of the same type. Defaults to {@literal 0}.
+     *
+     * @param priority The priority of this decoder
+     * @return This object (for method chaining)
+     */
+    public BinaryResponseDecoder<T> withPriority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    @Override
+    public Bindings decode(Response response, DecodingHints hints) {
+        T view;
+        try (InputStream body = response.getBody()) {
+            view = reader.read(body);
+        } catch (IOException exception) {
+            throw new IllegalStateException(String.format("An unexpected error occurred while reading a %s from the response", viewType.getName()), exception);
+        }
+        return (view == null) ? new Bindings() : Bindings.hierarchy(viewType, view);
+    }
+
+    @Override
+    public boolean canProduce(Class<?> requestedType, DecodingHints hints) {
+        return requestedType.isAssignableFrom(viewType);
+    }
+
+    @Override
+    public Collection<String> getMediaRanges() {
+        return mediaRanges;
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Reads a view from the raw bytes of a response body.
+     *
+     * @param <T> The type of view read
+     */
+    @FunctionalInterface
+    public interface BodyReader<T> {
+
+        /**
+         * @param body The stream over the response body, which is closed by the caller
+         * @return The view read from the body, or {@literal null} if the body does not contain one
+         * @throws IOException if the body could not be read
+         */
+        T read(InputStream body) throws IOException;
+    }
+}
@@ -2,16 +2,29 @@ package rocks.bastion.core.view;
 
 import org.apache.commons.lang3.ClassUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Represents a map of view bindings. Given a view type, will return the associated view with that binding.
+ * <p>
+ * Bindings returned by a {@link ViewBinder} are lazy: a view is only decoded the first time it is requested using
+ * {@link #getViewForType(Class)}, after which it is kept for later requests.
+ * </p>
  */
 public final class Bindings {
 
+    private static final Map<Class<?>, List<Class<?>>> HIERARCHIES = new ConcurrentHashMap<>();
+
     public static <T> Bindings single(Class<? super T> viewType, T view) {
         Bindings bindings = new Bindings();
         bindings.addBinding(viewType, view);
@@ -30,31 +43,72 @@ public final class Bindings {
     @SuppressWarnings("unchecked")
     public static <T> Bindings hierarchy(Class<? super T> viewType, T view) {
         Bindings bindings = new Bindings();
-        for (Class<?> superType : ClassUtils.hierarchy(viewType, ClassUtils.Interfaces.INCLUDE)) {
+        for (Class<?> superType : HIERARCHIES.computeIfAbsent(viewType, Bindings::computeHierarchy)) {
             bindings.addBinding((Class<? super T>) superType, view);
         }
         return bindings;
     }
 
+    /**
+     * Creates a Bindings object which resolves each view the first time it is requested using the given function. The result
+     * of the function, including an empty result, is kept and returned for any later request for the same view type.
+     *
+     * @param resolver The function which decodes the view of a given type, if possible
+     * @return A bindings object
+     */
+    static Bindings lazy(Function<Class<?>, Optional<?>> resolver) {
+        Objects.requireNonNull(resolver);
+        return new Bindings(resolver);
+    }
+
+    private static List<Class<?>> computeHierarchy(Class<?> viewType) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        ClassUtils.hierarchy(viewType, ClassUtils.Interfaces.INCLUDE).forEach(hierarchy::add);
+        return Collections.unmodifiableList(hierarchy);
+    }
+
     private final Map<Class<?>, Object> bindings;
+    private final Function<Class<?>, Optional<?>> resolver;
+    private final Set<Class<?>> resolvedTypes;
 
     public Bindings() {
+        this(null);
+    }
+
+    private Bindings(Function<Class<?>, Optional<?>> resolver) {
         bindings = new HashMap<>();
+        this.resolver = resolver;
+        resolvedTypes = new HashSet<>();
     }
 
-    public <T> void addBinding(Class<? super T> viewType, T view) {
+    public synchronized <T> void addBinding(Class<? super T> viewType, T view) {
         Objects.requireNonNull(viewType);
         Objects.requireNonNull(view);
         bindings.put(viewType, view);
     }
 
-    public void addAllBindings(Bindings bindings) {
+    /**
+     * Copies the views bound in the given bindings into this object. Views of lazy bindings which have not been requested
+     * yet are not copied.
+     *
+     * @param bindings The bindings to copy
+     */
+    public synchronized void addAllBindings(Bindings bindings) {
         Objects.requireNonNull(bindings);
-        this.bindings.putAll(bindings.bindings);
+        synchronized (bindings) {
+            this.bindings.putAll(bindings.bindings);
+        }
     }
 
     @SuppressWarnings("unchecked")
-    public <T> Optional<T> getViewForType(Class<T> viewType) {
-        return Optional.ofNullable((T) bindings.get(viewType));
+    public synchronized <T> Optional<T> getViewForType(Class<T> viewType) {
+        Object view = bindings.get(viewType);
+        if ((view == null) && (resolver != null) && resolvedTypes.add(viewType)) {
+            view = resolver.apply(viewType).orElse(null);
+            if (view != null) {
+                bindings.put(viewType, view);
+            }
+        }
+        return Optional.ofNullable((T) view);
     }
 }
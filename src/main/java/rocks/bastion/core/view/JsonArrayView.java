@@ -0,0 +1,234 @@
+package rocks.bastion.core.view;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import rocks.bastion.core.Response;
+import rocks.bastion.core.configuration.JsonMappers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A view of a JSON array in a response which reads the array's elements one at a time, as they are consumed, using Jackson's
+ * streaming parser. Neither the whole JSON tree nor the whole list of elements is ever held in memory, so assertions on
+ * responses containing millions of elements run in constant memory.
+ * <p>
+ * The array is either the whole response body or is addressed using a <a href="https://tools.ietf.org/html/rfc6901">JSON
+ * Pointer</a>, such as {@code /data/items}. For example, the following checks every sushi returned by a bulk endpoint:
+ * </p>
+ * <pre>{@code
+ * JsonArrayView sushiArray = Bastion.request(GeneralRequest.get("http://localhost/sushi/export"))
+ *                                   .call()
+ *                                   .getView(JsonArrayView.class).get();
+ * try (Stream<Sushi> sushi = sushiArray.stream("/data/items", Sushi.class)) {
+ *     sushi.forEach(item -> assertThat(item.getPrice()).isPositive());
+ * }
+ * }</pre>
+ * <p>
+ * Each stream or iterator reads the response body from the start, so the view can be consumed any number of times. Streams
+ * and iterators hold the body open until they are exhausted or closed, so they should be closed if they are abandoned
+ * early.
+ * </p>
+ */
+public final class JsonArrayView {
+
+    private final Response response;
+    private final JsonMappers jsonMappers;
+
+    JsonArrayView(Response response, JsonMappers jsonMappers) {
+        this.response = Objects.requireNonNull(response);
+        this.jsonMappers = Objects.requireNonNull(jsonMappers);
+    }
+
+    /**
+     * @return A lazily read stream of the elements of the top-level JSON array
+     */
+    public Stream<JsonNode> stream() {
+        return stream("", JsonNode.class);
+    }
+
+    /**
+     * @param elementType The non-{@literal null} type to bind each element of the top-level JSON array to
+     * @param <T>         The type of the elements
+     * @return A lazily read stream of the elements of the top-level JSON array
+     */
+    public <T> Stream<T> stream(Class<T> elementType) {
+        return stream("", elementType);
+    }
+
+    /**
+     * @param jsonPointer The non-{@literal null} JSON Pointer to the array, such as {@code /data/items}, or the empty
+     *                    string for the top-level array
+     * @param elementType The non-{@literal null} type to bind each element of the array to
+     * @param <T>         The type of the elements
+     * @return A lazily read stream of the elements of the array
+     */
+    public <T> Stream<T> stream(String jsonPointer, Class<T> elementType) {
+        ElementIterator<T> iterator = iterator(jsonPointer, elementType);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * @param elementType The non-{@literal null} type to bind each element of the top-level JSON array to
+     * @param <T>         The type of the elements
+     * @return A lazily read iterator over the elements of the top-level JSON array
+     */
+    public <T> ElementIterator<T> iterator(Class<T> elementType) {
+        return iterator("", elementType);
+    }
+
+    /**
+     * @param jsonPointer The non-{@literal null} JSON Pointer to the array, such as {@code /data/items}, or the empty
+     *                    string for the top-level array
+     * @param elementType The non-{@literal null} type to bind each element of the array to
+     * @param <T>         The type of the elements
+     * @return A lazily read iterator over the elements of the array
+     * @throws IllegalArgumentException if the JSON Pointer is malformed
+     * @throws IllegalStateException    if the response does not contain a JSON array at the given JSON Pointer
+     */
+    public <T> ElementIterator<T> iterator(String jsonPointer, Class<T> elementType) {
+        Objects.requireNonNull(jsonPointer);
+        Objects.requireNonNull(elementType);
+        JsonPointer pointer = JsonPointer.compile(jsonPointer);
+        ObjectReader reader = jsonMappers.readerFor(elementType);
+        InputStream body = response.getBody();
+        try {
+            JsonParser parser = reader.getFactory().createParser(body);
+            ElementIterator<T> iterator = new ElementIterator<>(parser, reader);
+            if (!moveToArray(parser, pointer)) {
+                iterator.close();
+                throw new IllegalStateException(String.format("The response does not contain a JSON array at \"%s\".", jsonPointer));
+            }
+            return iterator;
+        } catch (IOException exception) {
+            closeQuietly(body);
+            throw new IllegalStateException("An unexpected error occurred while reading JSON data", exception);
+        }
+    }
+
+    /**
+     * Advances the parser to the start of the array addressed by the given pointer, skipping the contents of every value
+     * which is not on the pointer's path without parsing it into a tree.
+     */
+    private static boolean moveToArray(JsonParser parser, JsonPointer pointer) throws IOException {
+        JsonToken token = parser.nextToken();
+        while ((token != null) && !pointer.matches()) {
+            if (token == JsonToken.START_OBJECT) {
+                token = moveToProperty(parser, pointer.getMatchingProperty());
+            } else if ((token == JsonToken.START_ARRAY) && (pointer.getMatchingIndex() >= 0)) {
+                token = moveToIndex(parser, pointer.getMatchingIndex());
+            } else {
+                return false;
+            }
+            pointer = pointer.tail();
+        }
+        return token == JsonToken.START_ARRAY;
+    }
+
+    private static JsonToken moveToProperty(JsonParser parser, String property) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            JsonToken value = parser.nextToken();
+            if (parser.getCurrentName().equals(property)) {
+                return value;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private static JsonToken moveToIndex(JsonParser parser, int index) throws IOException {
+        for (int current = 0; ; current++) {
+            JsonToken value = parser.nextToken();
+            if ((value == null) || (value == JsonToken.END_ARRAY)) {
+                return null;
+            }
+            if (current == index) {
+                return value;
+            }
+            parser.skipChildren();
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // Nothing more can be read from the body anyway
+        }
+    }
+
+    /**
+     * An iterator which reads the elements of a JSON array from a response body one at a time. The body is closed once the
+     * last element has been read or when the iterator is closed, whichever comes first.
+     *
+     * @param <T> The type of the elements
+     */
+    public static final class ElementIterator<T> implements Iterator<T>, Closeable {
+
+        private final JsonParser parser;
+        private final ObjectReader reader;
+        private boolean advanced;
+        private boolean exhausted;
+
+        private ElementIterator(JsonParser parser, ObjectReader reader) {
+            this.parser = parser;
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (exhausted) {
+                return false;
+            }
+            if (!advanced) {
+                try {
+                    JsonToken token = parser.nextToken();
+                    if ((token == null) || (token == JsonToken.END_ARRAY)) {
+                        close();
+                        return false;
+                    }
+                } catch (IOException exception) {
+                    close();
+                    throw new IllegalStateException("An unexpected error occurred while reading JSON data", exception);
+                }
+                advanced = true;
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            advanced = false;
+            try {
+                return reader.readValue(parser);
+            } catch (IOException exception) {
+                close();
+                throw new IllegalStateException("An unexpected error occurred while reading JSON data", exception);
+            }
+        }
+
+        /**
+         * Stops reading the array and closes the response body.
+         */
+        @Override
+        public void close() {
+            exhausted = true;
+            closeQuietly(parser);
+        }
+    }
+}
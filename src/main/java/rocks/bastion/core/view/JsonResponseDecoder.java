@@ -1,13 +1,19 @@
 package rocks.bastion.core.view;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.http.entity.ContentType;
+import rocks.bastion.core.BastionFactory;
 import rocks.bastion.core.Response;
+import rocks.bastion.core.configuration.JsonMappers;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * A {@link ResponseDecoder} which will interpret an HTTP response containing JSON content body. This implementation uses
@@ -15,13 +21,34 @@ import java.io.IOException;
  * <p>
  * The decoder creates the following views: first, it
  * parses the HTTP response's JSON content into a {@link JsonNode} which is abstract syntax tree representing the given JSON
- * (known as a JSON tree). Then, if the user has supplied a target model type, it attempts to bind the JSON tree into an instance
- * of that type (and the entire hierarchy of the given type).
+ * (known as a JSON tree). The tree is taken from the response's {@link Response#getDocuments() documents}, so it is shared
+ * with the JSON assertions run on the same response. Then, if the user has supplied a target model type, it attempts to bind the JSON tree into an instance
+ * of that type (and the entire hierarchy of the given type), using the reader for that type cached by the decoder's
+ * {@link JsonMappers}.
  * </p>
  */
 public class JsonResponseDecoder implements ResponseDecoder {
 
-    private static ObjectMapper jsonObjectMapper = null;
+    static final List<String> MEDIA_RANGES = Collections.unmodifiableList(Arrays.asList(
+            ContentType.APPLICATION_JSON.getMimeType(), "application/*+json"));
+
+    private final JsonMappers jsonMappers;
+
+    /**
+     * Creates a decoder which binds models using the {@link JsonMappers} of the default Bastion configuration.
+     */
+    public JsonResponseDecoder() {
+        this(BastionFactory.getDefaultBastionFactory().getConfiguration().getJsonMappers());
+    }
+
+    /**
+     * @param jsonMappers The non-{@literal null} mappers used to bind JSON trees to models, usually those of the
+     *                    {@link rocks.bastion.core.configuration.Configuration} in use
+     */
+    public JsonResponseDecoder(JsonMappers jsonMappers) {
+        Objects.requireNonNull(jsonMappers);
+        this.jsonMappers = jsonMappers;
+    }
 
     @Override
     public Bindings decode(Response response, DecodingHints hints) {
@@ -31,8 +58,7 @@ public class JsonResponseDecoder implements ResponseDecoder {
         }
         try {
             Bindings bindings = new Bindings();
-            JsonNode decodedJsonTree;
-            decodedJsonTree = getObjectMapper().readTree(response.getBody());
+            JsonNode decodedJsonTree = response.getDocuments().getJson();
             bindings.addAllBindings(Bindings.hierarchy(JsonNode.class, decodedJsonTree));
             bindings.addAllBindings(decodeTreeUsingHints(decodedJsonTree, hints));
             return bindings;
@@ -43,25 +69,38 @@ public class JsonResponseDecoder implements ResponseDecoder {
         }
     }
 
-    private static synchronized ObjectMapper getObjectMapper() {
-        if (jsonObjectMapper == null) {
-            jsonObjectMapper = new ObjectMapper();
-        }
-        return jsonObjectMapper;
+    /**
+     * Produces the JSON tree's type and its supertypes and, if a model type was requested, the model's type and its supertypes.
+     */
+    @Override
+    public boolean canProduce(Class<?> viewType, DecodingHints hints) {
+        return viewType.isAssignableFrom(JsonNode.class) || hints.getModelType().filter(viewType::isAssignableFrom).isPresent();
     }
 
     @SuppressWarnings("unchecked")
-    private Bindings decodeTreeUsingHints(TreeNode decodedJsonTree, DecodingHints hints) {
-        return hints.getModelType().map(modelType -> {
-            try {
-                return Bindings.hierarchy((Class<? super Object>) modelType, getObjectMapper().treeToValue(decodedJsonTree, modelType));
-            } catch (JsonProcessingException ignored) {
-                return null;
-            }
-        }).orElse(new Bindings());
+    private Bindings decodeTreeUsingHints(JsonNode decodedJsonTree, DecodingHints hints) throws IOException {
+        if (!hints.getModelType().isPresent()) {
+            return new Bindings();
+        }
+        Class<?> modelType = hints.getModelType().get();
+        try {
+            Object model = jsonMappers.readerFor(modelType).readValue(decodedJsonTree);
+            return Bindings.hierarchy((Class<? super Object>) modelType, model);
+        } catch (JsonProcessingException ignored) {
+            return new Bindings();
+        }
+    }
+
+    /**
+     * Decodes {@code application/json} and any type with the {@code +json} structured syntax suffix, such as
+     * {@code application/vnd.sushi+json}.
+     */
+    @Override
+    public Collection<String> getMediaRanges() {
+        return MEDIA_RANGES;
     }
 
     private boolean supportsContentType(ContentType responseContentType) {
-        return responseContentType.getMimeType().equals(ContentType.APPLICATION_JSON.getMimeType());
+        return MEDIA_RANGES.stream().anyMatch(range -> ResponseDecoderRegistry.matches(range, responseContentType.getMimeType()));
     }
 }
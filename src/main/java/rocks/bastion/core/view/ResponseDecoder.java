@@ -2,6 +2,9 @@ package rocks.bastion.core.view;
 
 import rocks.bastion.core.Response;
 
+import java.util.Collection;
+import java.util.Collections;
+
 /**
  * Interprets and decodes an HTTP response into a model object. Bastion will ask {@linkplain ResponseDecoder}s to decode the
  * HTTP response if possible. A typical implementation will first look at the response's {@code Content-type} header and attempt
@@ -11,6 +14,9 @@ import rocks.bastion.core.Response;
  * <br><br>
  * Once registered with Bastion, the {@linkplain ResponseDecoder}s will form a strategy for turning an arbitrary HTTP response
  * to a number of usable Java object (so-called views) available in Bastion tests and assertions.
+ * <br><br>
+ * Decoding is lazy: a decoder is only run the first time a view which it {@link #canProduce(Class, DecodingHints) can
+ * produce} is requested for a response, and it is run at most once per response.
  */
 public interface ResponseDecoder {
 
@@ -28,4 +34,43 @@ public interface ResponseDecoder {
      * @return A non-{@literal null} {@link Bindings} object
      */
     Bindings decode(Response response, DecodingHints hints);
+
+    /**
+     * Declares whether this decoder could produce a view of the given type, so that Bastion only runs the decoder when
+     * such a view is requested. This is called before the response is decoded, so the answer should depend only on the
+     * view type and the hints. Returning {@literal true} for a type which the decoder ends up not binding is allowed,
+     * but returning {@literal false} for a type which it would bind hides that view.
+     * <p>
+     * By default, this returns {@literal true} for every type, so the decoder is run the first time any view is requested.
+     *
+     * @param viewType The type of view which was requested
+     * @param hints    Additional hints which will be given to {@link #decode(Response, DecodingHints)}
+     * @return {@literal true} if {@link #decode(Response, DecodingHints)} might bind a view of the given type
+     */
+    default boolean canProduce(Class<?> viewType, DecodingHints hints) {
+        return true;
+    }
+
+    /**
+     * Declares the media ranges of the responses which this decoder can decode, such as {@code application/json},
+     * {@code application/*+json} or {@code text/*}. Bastion only offers a response to the decoders whose media ranges
+     * match its {@code Content-Type}, as described in {@link ResponseDecoderRegistry}.
+     * <p>
+     * By default, this returns the full wildcard, so the decoder is offered every response.
+     *
+     * @return The non-empty media ranges which this decoder decodes
+     */
+    default Collection<String> getMediaRanges() {
+        return Collections.singletonList("*/*");
+    }
+
+    /**
+     * Declares the priority of this decoder over other decoders which bind views of the same type for the same response.
+     * The view bound by the decoder with the highest priority wins. Defaults to {@literal 0}.
+     *
+     * @return The priority of this decoder
+     */
+    default int getPriority() {
+        return 0;
+    }
 }
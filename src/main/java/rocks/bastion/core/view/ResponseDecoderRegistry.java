@@ -0,0 +1,179 @@
+package rocks.bastion.core.view;
+
+import org.apache.http.entity.ContentType;
+import rocks.bastion.core.Response;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Keeps the {@link ResponseDecoder}s registered with Bastion indexed by the media ranges they decode, so that the
+ * decoders which apply to a response are found by looking up its MIME type rather than by offering the response to every
+ * decoder. A media range is one of:</p>
+ * <ul>
+ * <li>An exact MIME type, such as {@code application/json}.</li>
+ * <li>A structured syntax suffix, such as {@code application/*+json}, which matches vendor types like
+ * {@code application/vnd.sushi+json}.</li>
+ * <li>A type wildcard, such as {@code text/*}.</li>
+ * <li>The full wildcard {@code *}{@code /*}, which matches every response.</li>
+ * </ul>
+ * <p>The decoders which apply to a MIME type are ordered so that the one with the highest {@link ResponseDecoder#getPriority()
+ * priority} wins when several decoders bind a view of the same type. Among decoders of equal priority, the one registered
+ * last wins, however specific the media range it was registered for. The applicable decoders are computed once per MIME
+ * type and kept until another decoder is registered.</p>
+ * <p>A response which has no {@code Content-Type} header is treated as {@code text/plain}.</p>
+ * <p>This class is thread-safe.</p>
+ */
+public final class ResponseDecoderRegistry {
+
+    private static final String ANY_TYPE = "*/*";
+
+    private final Map<String, List<Registration>> registrations;
+    private volatile Map<String, List<ResponseDecoder>> resolvedDecoders;
+    private long nextSequence;
+
+    public ResponseDecoderRegistry() {
+        registrations = new HashMap<>();
+        resolvedDecoders = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Registers the given decoder for the media ranges and priority it declares.
+     *
+     * @param decoder The non-{@literal null} decoder to register
+     */
+    public void register(ResponseDecoder decoder) {
+        Objects.requireNonNull(decoder);
+        register(decoder, decoder.getPriority(), decoder.getMediaRanges());
+    }
+
+    /**
+     * Registers the given decoder for the given media ranges and priority, ignoring those declared by the decoder.
+     *
+     * @param decoder     The non-{@literal null} decoder to register
+     * @param priority    The priority of the decoder over others which bind views of the same type
+     * @param mediaRanges The non-empty media ranges which the decoder decodes, such as {@code application/*+json}
+     */
+    public synchronized void register(ResponseDecoder decoder, int priority, Collection<String> mediaRanges) {
+        Objects.requireNonNull(decoder);
+        Objects.requireNonNull(mediaRanges);
+        if (mediaRanges.isEmpty()) {
+            throw new IllegalArgumentException("A decoder should be registered for at least one media range.");
+        }
+        long sequence = nextSequence++;
+        for (String mediaRange : mediaRanges) {
+            String normalisedRange = normaliseMediaRange(mediaRange);
+            registrations.computeIfAbsent(normalisedRange, range -> new ArrayList<>())
+                    .add(new Registration(decoder, priority, sequence));
+        }
+        // Replace the lookups rather than clearing them, so that a lookup racing this registration cannot store a list
+        // computed before it in the lookups used after it
+        resolvedDecoders = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the decoders which apply to the given response, ordered such that a later decoder overrides the views bound by
+     * an earlier one. The returned list can be given to a {@link ViewBinder}.
+     *
+     * @param response The non-{@literal null} response to decode
+     * @return The applicable decoders
+     */
+    public List<ResponseDecoder> getDecoders(Response response) {
+        Objects.requireNonNull(response);
+        return getDecoders(response.getContentType().orElse(ContentType.DEFAULT_TEXT).getMimeType());
+    }
+
+    /**
+     * Gets the decoders which apply to responses with the given MIME type, ordered such that a later decoder overrides the
+     * views bound by an earlier one.
+     *
+     * @param mimeType The non-{@literal null} MIME type, such as {@code application/json}
+     * @return The applicable decoders
+     */
+    public List<ResponseDecoder> getDecoders(String mimeType) {
+        Objects.requireNonNull(mimeType);
+        String normalisedType = mimeType.trim().toLowerCase(Locale.ROOT);
+        return resolvedDecoders.computeIfAbsent(normalisedType, this::resolve);
+    }
+
+    /**
+     * Checks whether the given MIME type falls within the given media range.
+     *
+     * @param mediaRange The non-{@literal null} media range, such as {@code application/*+json}
+     * @param mimeType   The non-{@literal null} MIME type, such as {@code application/vnd.sushi+json}
+     * @return {@literal true} if the MIME type is within the media range
+     */
+    public static boolean matches(String mediaRange, String mimeType) {
+        Objects.requireNonNull(mimeType);
+        String normalisedType = mimeType.trim().toLowerCase(Locale.ROOT);
+        return candidateRanges(normalisedType).contains(normaliseMediaRange(mediaRange));
+    }
+
+    private synchronized List<ResponseDecoder> resolve(String mimeType) {
+        Map<ResponseDecoder, Registration> applicable = new LinkedHashMap<>();
+        for (String range : candidateRanges(mimeType)) {
+            for (Registration registration : registrations.getOrDefault(range, Collections.emptyList())) {
+                applicable.putIfAbsent(registration.decoder, registration);
+            }
+        }
+        List<Registration> ordered = new ArrayList<>(applicable.values());
+        ordered.sort(Comparator.comparingInt((Registration registration) -> registration.priority)
+                .thenComparingLong(registration -> registration.sequence));
+        List<ResponseDecoder> decoders = new ArrayList<>(ordered.size());
+        ordered.forEach(registration -> decoders.add(registration.decoder));
+        return Collections.unmodifiableList(decoders);
+    }
+
+    /**
+     * Lists the media ranges which a MIME type falls within, from the most to the least specific.
+     */
+    private static List<String> candidateRanges(String mimeType) {
+        List<String> ranges = new ArrayList<>(4);
+        int slash = mimeType.indexOf('/');
+        if (slash <= 0) {
+            ranges.add(ANY_TYPE);
+            return ranges;
+        }
+        String type = mimeType.substring(0, slash);
+        ranges.add(mimeType);
+        int plus = mimeType.lastIndexOf('+');
+        if (plus > slash) {
+            ranges.add(type + "/*" + mimeType.substring(plus));
+        }
+        ranges.add(type + "/*");
+        ranges.add(ANY_TYPE);
+        return ranges;
+    }
+
+    private static String normaliseMediaRange(String mediaRange) {
+        Objects.requireNonNull(mediaRange);
+        String normalisedRange = mediaRange.trim().toLowerCase(Locale.ROOT);
+        int slash = normalisedRange.indexOf('/');
+        if ((slash <= 0) || (slash == normalisedRange.length() - 1) || (normalisedRange.indexOf('/', slash + 1) != -1)) {
+            throw new IllegalArgumentException(String.format("\"%s\" is not a valid media range.", mediaRange));
+        }
+        return normalisedRange;
+    }
+
+    private static final class Registration {
+
+        private final ResponseDecoder decoder;
+        private final int priority;
+        private final long sequence;
+
+        private Registration(ResponseDecoder decoder, int priority, long sequence) {
+            this.decoder = decoder;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+}
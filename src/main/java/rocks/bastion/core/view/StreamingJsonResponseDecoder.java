@@ -0,0 +1,50 @@
+package rocks.bastion.core.view;
+
+import rocks.bastion.core.BastionFactory;
+import rocks.bastion.core.Response;
+import rocks.bastion.core.configuration.JsonMappers;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * A {@link ResponseDecoder} which binds a {@link JsonArrayView} to JSON responses. Unlike the {@link JsonResponseDecoder},
+ * this decoder does not parse the response: the view reads the elements of a JSON array from the response body only as
+ * they are consumed. The decoder is registered alongside the {@link JsonResponseDecoder} for the same media ranges and is
+ * only run when a {@link JsonArrayView} is requested, so asking for the view does not build the JSON tree.
+ */
+public class StreamingJsonResponseDecoder implements ResponseDecoder {
+
+    private final JsonMappers jsonMappers;
+
+    /**
+     * Creates a decoder whose views bind elements using the {@link JsonMappers} of the default Bastion configuration.
+     */
+    public StreamingJsonResponseDecoder() {
+        this(BastionFactory.getDefaultBastionFactory().getConfiguration().getJsonMappers());
+    }
+
+    /**
+     * @param jsonMappers The non-{@literal null} mappers used to bind array elements, usually those of the
+     *                    {@link rocks.bastion.core.configuration.Configuration} in use
+     */
+    public StreamingJsonResponseDecoder(JsonMappers jsonMappers) {
+        Objects.requireNonNull(jsonMappers);
+        this.jsonMappers = jsonMappers;
+    }
+
+    @Override
+    public Bindings decode(Response response, DecodingHints hints) {
+        return Bindings.hierarchy(JsonArrayView.class, new JsonArrayView(response, jsonMappers));
+    }
+
+    @Override
+    public boolean canProduce(Class<?> viewType, DecodingHints hints) {
+        return viewType == JsonArrayView.class;
+    }
+
+    @Override
+    public Collection<String> getMediaRanges() {
+        return JsonResponseDecoder.MEDIA_RANGES;
+    }
+}
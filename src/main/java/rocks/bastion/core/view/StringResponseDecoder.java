@@ -1,12 +1,10 @@
 package rocks.bastion.core.view;
 
-import com.google.common.io.CharStreams;
 import org.apache.http.Consts;
 import org.apache.http.entity.ContentType;
 import rocks.bastion.core.Response;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.nio.charset.Charset;
 
 /**
@@ -21,10 +19,14 @@ public class StringResponseDecoder implements ResponseDecoder {
     public Bindings decode(Response response, DecodingHints hints) {
         try {
             Charset responseCharset = response.getContentType().map(ContentType::getCharset).orElse(Consts.ISO_8859_1);
-            return Bindings.hierarchy(String.class, CharStreams.toString(new InputStreamReader(response.getBody(), responseCharset)));
+            return Bindings.hierarchy(String.class, response.getDocuments().getText(responseCharset));
         } catch (IOException ignored) {
             return new Bindings();
         }
     }
 
+    @Override
+    public boolean canProduce(Class<?> viewType, DecodingHints hints) {
+        return viewType.isAssignableFrom(String.class);
+    }
 }
@@ -2,14 +2,22 @@ package rocks.bastion.core.view;
 
 import rocks.bastion.core.Response;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Responsible for extracting as many different views as possible of the given response. A view binder is first constructed using a
  * {@link rocks.bastion.core.Response response object} and a list of {@link ResponseDecoder response decoders}. The binder will execute
  * the decoders, in order, and build a map of types to views. If any response decoder returns a mapping which already exists, the new
  * mapping overwrites the earlier mapping.
+ * <p>
+ * Decoders are not run when the response is bound but when a view is first requested from the returned {@link Bindings}.
+ * Only the decoders which {@link ResponseDecoder#canProduce(Class, DecodingHints) can produce} the requested type are run,
+ * starting from the last one, and each decoder is run at most once. A response whose views are never requested is
+ * therefore never decoded.
+ * </p>
  */
 public final class ViewBinder {
 
@@ -18,15 +26,33 @@ public final class ViewBinder {
 
     public ViewBinder(Response response, List<ResponseDecoder> decoders) {
         this.response = Objects.requireNonNull(response);
-        this.decoders = Objects.requireNonNull(decoders);
+        this.decoders = new ArrayList<>(Objects.requireNonNull(decoders));
     }
 
     public Bindings bind(DecodingHints hints) {
-        Bindings bindings = new Bindings();
-        for (ResponseDecoder decoder : decoders) {
-            bindings.addAllBindings(decoder.decode(response, hints));
-        }
-        return bindings;
+        Objects.requireNonNull(hints);
+        Bindings[] decoded = new Bindings[decoders.size()];
+        return Bindings.lazy(viewType -> resolve(viewType, hints, decoded));
     }
 
+    /**
+     * Finds the view of the given type bound by the last decoder which binds it, which is the view that would win if all
+     * the decoders were run in order.
+     */
+    private Optional<?> resolve(Class<?> viewType, DecodingHints hints, Bindings[] decoded) {
+        for (int index = decoders.size() - 1; index >= 0; index--) {
+            ResponseDecoder decoder = decoders.get(index);
+            if (!decoder.canProduce(viewType, hints)) {
+                continue;
+            }
+            if (decoded[index] == null) {
+                decoded[index] = decoder.decode(response, hints);
+            }
+            Optional<?> view = decoded[index].getViewForType(viewType);
+            if (view.isPresent()) {
+                return view;
+            }
+        }
+        return Optional.empty();
+    }
 }
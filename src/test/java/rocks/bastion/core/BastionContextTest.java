@@ -0,0 +1,168 @@
+package rocks.bastion.core;
+
+import org.junit.Test;
+import rocks.bastion.Bastion;
+import rocks.bastion.core.configuration.Configuration;
+import rocks.bastion.core.event.BastionErrorEvent;
+import rocks.bastion.core.event.BastionFailureEvent;
+import rocks.bastion.core.event.BastionFinishedEvent;
+import rocks.bastion.core.event.BastionListener;
+import rocks.bastion.core.event.BastionStartedEvent;
+import rocks.bastion.support.embedded.TestWithEmbeddedServer;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BastionContextTest extends TestWithEmbeddedServer {
+
+    @Test
+    public void open_globalsChangedInsideContext_defaultConfigurationUnchanged() {
+        Configuration defaultConfiguration = BastionFactory.getDefaultBastionFactory().getConfiguration();
+
+        try (BastionContext context = Bastion.withConfiguration(new Configuration())) {
+            Bastion.globals().addHeader("X-Tenant", "omakase");
+
+            assertThat(BastionFactory.getDefaultBastionFactory()).isSameAs(context.getFactory());
+            assertThat(tenantHeaders(Bastion.prepare(GeneralRequest.get("http://localhost/sushi")))).containsExactly("omakase");
+        }
+
+        assertThat(BastionFactory.getDefaultBastionFactory().getConfiguration()).isSameAs(defaultConfiguration);
+        assertThat(tenantHeaders(Bastion.prepare(GeneralRequest.get("http://localhost/sushi")))).isEmpty();
+    }
+
+    @Test
+    public void close_nestedContexts_restoresEnclosingContext() {
+        try (BastionContext outer = BastionContext.open()) {
+            try (BastionContext inner = BastionContext.open()) {
+                assertThat(BastionContext.current()).contains(inner);
+            }
+            assertThat(BastionContext.current()).contains(outer);
+        }
+        assertThat(BastionContext.current()).isEmpty();
+    }
+
+    @Test
+    public void close_outerContextBeforeInner_throwsException() {
+        BastionContext outer = BastionContext.open();
+        BastionContext inner = BastionContext.open();
+        try {
+            assertThatThrownBy(outer::close).isInstanceOf(IllegalStateException.class)
+                                            .hasMessage("A Bastion context must be closed by the thread which opened it, innermost context first");
+        } finally {
+            inner.close();
+            outer.close();
+        }
+        assertThat(BastionContext.current()).isEmpty();
+    }
+
+    @Test
+    public void open_parallelThreads_eachThreadSeesOwnGlobals() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch allOpened = new CountDownLatch(4);
+        try {
+            List<Future<List<String>>> futures = IntStream.range(0, 4).mapToObj(tenant -> executor.submit(() -> {
+                try (BastionContext ignored = BastionContext.open()) {
+                    Bastion.globals().addHeader("X-Tenant", "tenant-" + tenant);
+                    allOpened.countDown();
+                    allOpened.await(5, TimeUnit.SECONDS);
+                    return tenantHeaders(Bastion.prepare(GeneralRequest.get("http://localhost/sushi")));
+                }
+            })).collect(Collectors.toList());
+
+            for (int tenant = 0; tenant < 4; tenant++) {
+                assertThat(futures.get(tenant).get(5, TimeUnit.SECONDS)).containsExactly("tenant-" + tenant);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void propagate_taskRunOnAnotherThread_seesContextAndLeavesThreadClean() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AtomicReference<BastionFactory> factoryInTask = new AtomicReference<>();
+            BastionContext context = BastionContext.open();
+            try {
+                executor.submit(BastionContext.propagate(() -> factoryInTask.set(BastionFactory.getDefaultBastionFactory()))).get(5, TimeUnit.SECONDS);
+            } finally {
+                context.close();
+            }
+
+            assertThat(factoryInTask.get()).isSameAs(context.getFactory());
+            assertThat(executor.submit(BastionContext::current).get(5, TimeUnit.SECONDS)).isEmpty();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void callAsync_insideContext_listenersSeeContext() throws Exception {
+        AtomicReference<BastionFactory> factoryInListener = new AtomicReference<>();
+        DefaultBastionFactory factory = new DefaultBastionFactory() {
+            @Override
+            protected void prepareBastion(BastionBuilderImpl<?> bastion) {
+                super.prepareBastion(bastion);
+                bastion.registerListener(new FinishedListener(() -> factoryInListener.set(BastionFactory.getDefaultBastionFactory())));
+            }
+        };
+
+        try (BastionContext ignored = BastionContext.open(factory)) {
+            Bastion.request(GeneralRequest.get(getUrl("/nigiri"))).withAssertions(StatusCodeAssertions.expecting(200))
+                   .callAsync().get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(factoryInListener.get()).isSameAs(factory);
+    }
+
+    @Test
+    public void run_lambda_contextClosedAfterwards() {
+        Configuration configuration = new Configuration();
+
+        BastionContext.run(configuration, () -> assertThat(Bastion.globals()).isSameAs(configuration.getGlobalRequestAttributes()));
+
+        assertThat(BastionContext.current()).isEmpty();
+        assertThat(BastionContext.call(configuration, () -> BastionFactory.getDefaultBastionFactory().getConfiguration())).isSameAs(configuration);
+    }
+
+    private static List<String> tenantHeaders(PreparedRequest request) {
+        return request.getHeaders().stream().filter(header -> header.getName().equals("X-Tenant")).map(ApiHeader::getValue)
+                      .collect(Collectors.toList());
+    }
+
+    private static final class FinishedListener implements BastionListener {
+
+        private final Runnable action;
+
+        private FinishedListener(Runnable action) {
+            this.action = action;
+        }
+
+        @Override
+        public void callStarted(BastionStartedEvent event) {
+        }
+
+        @Override
+        public void callFinished(BastionFinishedEvent event) {
+            action.run();
+        }
+
+        @Override
+        public void callFailed(BastionFailureEvent event) {
+        }
+
+        @Override
+        public void callError(BastionErrorEvent event) {
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package rocks.bastion.core;
+
+import org.junit.Test;
+import rocks.bastion.Bastion;
+import rocks.bastion.core.builder.PostExecutionBuilder;
+import rocks.bastion.core.event.*;
+import rocks.bastion.support.embedded.Sushi;
+import rocks.bastion.support.embedded.TestWithEmbeddedServer;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CallAsyncTest extends TestWithEmbeddedServer {
+
+    @Test
+    public void callAsync_validRequest_futureCompletesWithModel() throws Exception {
+        CompletableFuture<? extends PostExecutionBuilder<? extends Sushi>> future = Bastion.request(GeneralRequest.get(getUrl("/nigiri")))
+                .bind(Sushi.class)
+                .withAssertions(StatusCodeAssertions.expecting(200))
+                .callAsync();
+
+        Sushi sushi = future.get(5, TimeUnit.SECONDS).getModel();
+        assertThat(sushi.getName()).isEqualTo("Salmon Nigiri");
+    }
+
+    @Test
+    public void callAsync_failingAssertions_futureCompletesExceptionally() {
+        CompletableFuture<? extends PostExecutionBuilder<?>> future = Bastion.request(GeneralRequest.get(getUrl("/nigiri")))
+                .withAssertions(StatusCodeAssertions.expecting(404))
+                .callAsync();
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                                                                  .hasCauseInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    public void callAsync_listenersRegistered_eventsFiredInOrderOffCallerThread() throws Exception {
+        RecordingListener listener = new RecordingListener();
+        BastionBuilderImpl<Object> builder = new BastionBuilderImpl<>("", GeneralRequest.get(getUrl("/nigiri")));
+        builder.setConfiguration(BastionFactory.getDefaultBastionFactory().getConfiguration());
+        builder.registerListener(listener);
+
+        builder.withAssertions((statusCode, response, model) -> {
+            throw new AssertionError("Expected failure");
+        }).callAsync().get(5, TimeUnit.SECONDS);
+
+        assertThat(listener.events).containsExactly("started", "failed", "finished");
+        assertThat(listener.threads).doesNotContain(Thread.currentThread());
+    }
+
+    @Test
+    public void callAsync_calledTwice_throwsException() {
+        BastionBuilderImpl<Object> builder = new BastionBuilderImpl<>("", GeneralRequest.get(getUrl("/nigiri")));
+        builder.setConfiguration(BastionFactory.getDefaultBastionFactory().getConfiguration());
+        builder.callAsync().join();
+        assertThatThrownBy(builder::callAsync).isInstanceOf(IllegalStateException.class)
+                                              .hasMessage("call() has been called twice in a row");
+    }
+
+    private static final class RecordingListener implements BastionListener {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void callStarted(BastionStartedEvent event) {
+            record("started");
+        }
+
+        @Override
+        public void callFinished(BastionFinishedEvent event) {
+            record("finished");
+        }
+
+        @Override
+        public void callFailed(BastionFailureEvent event) {
+            record("failed");
+        }
+
+        @Override
+        public void callError(BastionErrorEvent event) {
+            record("error");
+        }
+
+        private void record(String event) {
+            events.add(event);
+            threads.add(Thread.currentThread());
+        }
+    }
+}
@@ -1,15 +1,30 @@
 package rocks.bastion.core;
 
+import com.google.common.io.ByteStreams;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import rocks.bastion.Bastion;
 import rocks.bastion.core.json.JsonResponseAssertions;
 import rocks.bastion.support.embedded.Sushi;
 import rocks.bastion.support.embedded.TestWithEmbeddedServer;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class FileRequestTest extends TestWithEmbeddedServer {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void post() throws Exception {
         Bastion.request("Create Sushi", FileRequest.post("http://localhost:9876/sushi", "classpath:/json/create_sushi_request.json"))
@@ -92,13 +107,43 @@ public class FileRequestTest extends TestWithEmbeddedServer {
     @Test
     public void body() throws Exception {
         FileRequest request = FileRequest.post("http://localhost:9876/sushi", "classpath:/json/create_sushi_request.json");
-        assertThat(request.body()).describedAs("Request Body").isEqualTo("{\n" +
+        assertThat(request.body()).describedAs("Request Body").isInstanceOf(Path.class);
+        assertThat(new String(Files.readAllBytes((Path) request.body()), StandardCharsets.UTF_8)).describedAs("Request Body").isEqualTo("{\n" +
                 "  \"name\": \"sashimi\",\n" +
                 "  \"price\": \"5.60\",\n" +
                 "  \"type\": \"SASHIMI\"\n" +
                 "}");
     }
 
+    @Test
+    public void body_resourceInsideJar_eachCallReturnsUnreadBuffer() throws Exception {
+        File jar = temporaryFolder.newFile("sushi.jar");
+        try (ZipOutputStream output = new ZipOutputStream(new FileOutputStream(jar))) {
+            output.putNextEntry(new ZipEntry("sushi.json"));
+            output.write("{ \"name\": \"sashimi\" }".getBytes(StandardCharsets.UTF_8));
+        }
+
+        FileRequest request = FileRequest.post("http://localhost:9876/sushi", "jar:" + jar.toURI() + "!/sushi.json");
+
+        assertThat(request.body()).describedAs("Request Body").isInstanceOf(ByteBuffer.class);
+        assertThat(StandardCharsets.UTF_8.decode((ByteBuffer) request.body()).toString()).isEqualTo("{ \"name\": \"sashimi\" }");
+        assertThat(StandardCharsets.UTF_8.decode((ByteBuffer) request.body()).toString()).isEqualTo("{ \"name\": \"sashimi\" }");
+    }
+
+    @Test
+    public void post_binaryFile_bytesSentUnchanged() throws Exception {
+        FileRequest request = FileRequest.post("http://localhost:9876/sushi/photo", "classpath:/rocks/bastion/core/request/nigiri.jpg");
+        byte[] expected = Files.readAllBytes((Path) request.body());
+
+        Response response = Bastion.request("Upload photo", request)
+                .withAssertions(StatusCodeAssertions.expecting(200))
+                .call()
+                .getResponse();
+
+        assertThat(response.getContentType().get().getMimeType()).isEqualTo("image/jpeg");
+        assertThat(ByteStreams.toByteArray(response.getBody())).isEqualTo(expected);
+    }
+
     @Test
     public void timeout() throws Exception {
         FileRequest request = FileRequest.post("http://localhost:9876/sushi", "classpath:/json/create_sushi_request.json")
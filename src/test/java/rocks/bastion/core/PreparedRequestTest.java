@@ -0,0 +1,97 @@
+package rocks.bastion.core;
+
+import com.google.common.io.ByteStreams;
+import org.apache.http.entity.ContentType;
+import org.junit.Test;
+import rocks.bastion.core.configuration.Configuration;
+import rocks.bastion.support.embedded.TestWithEmbeddedServer;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PreparedRequestTest extends TestWithEmbeddedServer {
+
+    @Test
+    public void execute_calledConcurrently_everyExecutionReceivesResponse() throws Exception {
+        PreparedRequest preparedRequest = PreparedRequest.prepare(GeneralRequest.get(getUrl("/nigiri")), new Configuration());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Response>> executions = Collections.nCopies(40, preparedRequest::execute);
+            for (Future<Response> response : executor.invokeAll(executions)) {
+                assertThat(response.get().getStatusCode()).isEqualTo(200);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void prepare_globalAttributesChangedAfterwards_preparedRequestUnchanged() {
+        Configuration configuration = new Configuration();
+        configuration.getGlobalRequestAttributes().setGlobalHeaders(new ArrayList<>(Collections.singletonList(new ApiHeader("X-Shop", "Sushi Bar"))));
+        PreparedRequest preparedRequest = PreparedRequest.prepare(GeneralRequest.get(getUrl("/sushi/{id}")).addRouteParam("id", "5"), configuration);
+
+        configuration.getGlobalRequestAttributes().setGlobalHeaders(Collections.singletonList(new ApiHeader("X-Shop", "Ramen Bar")));
+
+        assertThat(preparedRequest.getMethod()).isEqualTo("GET");
+        assertThat(preparedRequest.getUrl()).isEqualTo("http://localhost:9876/sushi/5");
+        assertThat(preparedRequest.getHeaders()).contains(new ApiHeader("X-Shop", "Sushi Bar"));
+    }
+
+    @Test
+    public void execute_inputStreamBody_sameBytesSentEveryTime() throws Exception {
+        byte[] content = "nigiri".getBytes(StandardCharsets.UTF_8);
+        PreparedRequest preparedRequest = PreparedRequest.prepare(new RequestExecutorTest.PhotoUploadRequest(getUrl("/sushi/photo"), new ByteArrayInputStream(content)), new Configuration());
+
+        for (int execution = 0; execution < 2; execution++) {
+            Response response = preparedRequest.execute();
+            assertThat(ByteStreams.toByteArray(response.getBody())).isEqualTo(content);
+        }
+    }
+
+    @Test
+    public void execute_textBody_sentEncodedInUtf8() throws Exception {
+        PreparedRequest preparedRequest = PreparedRequest.prepare(GeneralRequest.post(getUrl("/sushi/photo"), "寿司"), new Configuration());
+
+        Response response = preparedRequest.execute();
+
+        assertThat(ByteStreams.toByteArray(response.getBody())).isEqualTo("寿司".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void prepare_textBodyOnGetRequest_sameHeadersAsExecutor() {
+        HttpRequest request = withoutContentType(HttpMethod.GET, "ignored");
+
+        PreparedRequest preparedRequest = PreparedRequest.prepare(request, new Configuration());
+
+        assertThat(preparedRequest.getHeaders()).containsExactlyElementsOf(new RequestExecutor(request, new Configuration()).getHeaders());
+        assertThat(preparedRequest.getHeaders()).extracting(ApiHeader::getName).doesNotContain("Content-Type");
+    }
+
+    @Test
+    public void prepare_textBodyOnPostRequest_textContentTypeAdded() {
+        PreparedRequest preparedRequest = PreparedRequest.prepare(withoutContentType(HttpMethod.POST, "nigiri"), new Configuration());
+
+        assertThat(preparedRequest.getHeaders()).contains(new ApiHeader("Content-Type", "text/plain; charset=UTF-8"));
+    }
+
+    private static HttpRequest withoutContentType(HttpMethod method, String body) {
+        return new GeneralRequest(method, "http://localhost:9876/sushi", body) {
+            @Override
+            public Optional<ContentType> contentType() {
+                return Optional.empty();
+            }
+        };
+    }
+
+}
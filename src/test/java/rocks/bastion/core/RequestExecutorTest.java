@@ -1,11 +1,26 @@
 package rocks.bastion.core;
 
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CharStreams;
+import org.apache.http.entity.ContentType;
 import org.junit.Test;
 import rocks.bastion.core.configuration.Configuration;
 import rocks.bastion.support.CreateSushiRequest;
 import rocks.bastion.support.embedded.TestWithEmbeddedServer;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 /**
  * Created by ChiaraFSC on 07/06/2016.
@@ -17,4 +32,118 @@ public class RequestExecutorTest extends TestWithEmbeddedServer {
         Response response = new RequestExecutor(new CreateSushiRequest(), new Configuration()).execute();
         assertEquals(201, response.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void resolvedUrl_queryAndRouteParams_encodedIntoUrl() {
+        GeneralRequest request = GeneralRequest.get("http://localhost:9876/sushi/{id}")
+                .addQueryParam("name", "salmon nigiri")
+                .addRouteParam("id", "5");
+        assertEquals("http://localhost:9876/sushi/5?name=salmon+nigiri", new RequestExecutor(request, new Configuration()).getResolvedUrl());
+    }
+
+    @Test
+    public void resolvedUrl_queryParamNameWithReservedCharacters_nameEncoded() {
+        GeneralRequest request = GeneralRequest.get("http://localhost:9876/sushi")
+                .addQueryParam("fish & rice=", "tuna")
+                .addQueryParam("wasabi gr\u00f6\u00dfe", "klein");
+        assertEquals("http://localhost:9876/sushi?fish+%26+rice%3D=tuna&wasabi+gr%C3%B6%C3%9Fe=klein",
+                new RequestExecutor(request, new Configuration()).getResolvedUrl());
+    }
+
+    @Test
+    public void execute_requestTimeoutElapsed_subsequentRequestsOnSameConfigurationUnaffected() {
+        Configuration configuration = new Configuration();
+        GeneralRequest slowRequest = GeneralRequest.get(getUrl("/chikuzen-ni"));
+        slowRequest.setTimeout(500L);
+        assertThatThrownBy(() -> new RequestExecutor(slowRequest, configuration).execute()).isInstanceOf(AssertionError.class)
+                .hasMessage("Failed to receive response before timeout of [500] ms");
+
+        Response response = new RequestExecutor(GeneralRequest.get(getUrl("/nigiri")), configuration).execute();
+        assertEquals(200, response.getStatusCode());
+    }
+
+    @Test
+    public void execute_bodyLargerThanMemoryThreshold_bodyReadableFromFile() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.getHttpClientConfiguration().setResponseBodyMemoryThreshold(10);
+
+        RawResponse response = (RawResponse) new RequestExecutor(GeneralRequest.get(getUrl("/nigiri")), configuration).execute();
+
+        assertFalse(response.getResponseBody().isInMemory());
+        assertThat(CharStreams.toString(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))).contains("Salmon Nigiri");
+    }
+
+    @Test
+    public void execute_typedBinaryBodies_sentWithoutConversion() throws Exception {
+        byte[] content = new byte[70_000];
+        new Random(7).nextBytes(content);
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(content.length);
+        directBuffer.put(content).flip();
+
+        assertEchoed(content, content, false);
+        assertEchoed(ByteBuffer.wrap(content), content, false);
+        assertEchoed(directBuffer, content, false);
+        assertEchoed(StreamingBody.of(() -> new ByteArrayInputStream(content), content.length), content, false);
+        assertEchoed(StreamingBody.chunked(() -> new ByteArrayInputStream(content)), content, true);
+        assertEchoed(new ByteArrayInputStream(content), content, true);
+    }
+
+    private void assertEchoed(Object body, byte[] expected, boolean expectChunked) throws Exception {
+        Response response = new RequestExecutor(new PhotoUploadRequest(getUrl("/sushi/photo"), body), new Configuration()).execute();
+        assertEquals(200, response.getStatusCode());
+        assertThat(ByteStreams.toByteArray(response.getBody())).isEqualTo(expected);
+        String expectedTransferEncoding = expectChunked ? "chunked" : "null";
+        assertThat(response.getHeaders()).contains(new ApiHeader("X-Received-Transfer-Encoding", expectedTransferEncoding));
+    }
+
+    static final class PhotoUploadRequest implements HttpRequest {
+
+        private final String url;
+        private final Object body;
+
+        PhotoUploadRequest(String url, Object body) {
+            this.url = url;
+            this.body = body;
+        }
+
+        @Override
+        public String name() {
+            return "Upload photo";
+        }
+
+        @Override
+        public String url() {
+            return url;
+        }
+
+        @Override
+        public HttpMethod method() {
+            return HttpMethod.POST;
+        }
+
+        @Override
+        public Optional<ContentType> contentType() {
+            return Optional.of(ContentType.create("image/jpeg"));
+        }
+
+        @Override
+        public Collection<ApiHeader> headers() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Collection<ApiQueryParam> queryParams() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Collection<RouteParam> routeParams() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Object body() {
+            return body;
+        }
+    }
+}
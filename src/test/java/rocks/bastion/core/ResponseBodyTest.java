@@ -0,0 +1,84 @@
+package rocks.bastion.core;
+
+import com.google.common.io.ByteStreams;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseBodyTest {
+
+    @Test
+    public void read_bodySmallerThanThreshold_keptInMemory() throws Exception {
+        byte[] content = randomBytes(100);
+        ResponseBody body = ResponseBody.read(new ByteArrayInputStream(content), 1024);
+
+        assertThat(body.isInMemory()).isTrue();
+        assertThat(body.size()).isEqualTo(100);
+        assertThat(ByteStreams.toByteArray(body.newInputStream())).isEqualTo(content);
+    }
+
+    @Test
+    public void read_bodyExactlyThreshold_keptInMemory() throws Exception {
+        byte[] content = randomBytes(1024);
+        ResponseBody body = ResponseBody.read(new ByteArrayInputStream(content), 1024);
+
+        assertThat(body.isInMemory()).isTrue();
+        assertThat(ByteStreams.toByteArray(body.newInputStream())).isEqualTo(content);
+    }
+
+    @Test
+    public void read_bodyLargerThanThreshold_spilledToFile() throws Exception {
+        byte[] content = randomBytes(100_000);
+        ResponseBody body = ResponseBody.read(new ByteArrayInputStream(content), 1024);
+
+        assertThat(body.isInMemory()).isFalse();
+        assertThat(body.size()).isEqualTo(100_000);
+        assertThat(ByteStreams.toByteArray(body.newInputStream())).isEqualTo(content);
+    }
+
+    @Test
+    public void newInputStream_spilledBody_readersAreIndependent() throws Exception {
+        byte[] content = randomBytes(50_000);
+        ResponseBody body = ResponseBody.read(new ByteArrayInputStream(content), 0);
+
+        InputStream first = body.newInputStream();
+        InputStream second = body.newInputStream();
+        assertThat(first.read()).isEqualTo(content[0] & 0xFF);
+        assertThat(first.skip(10)).isEqualTo(10);
+
+        assertThat(ByteStreams.toByteArray(second)).isEqualTo(content);
+        assertThat(first.read()).isEqualTo(content[11] & 0xFF);
+    }
+
+    @Test
+    public void newInputStream_bodyLargerThanOneMapping_readAcrossSegments() throws Exception {
+        byte[] content = randomBytes(50_000);
+        ResponseBody body = ResponseBody.read(new ByteArrayInputStream(content), 0);
+
+        InputStream first = body.newInputStream(4096);
+        assertThat(first.skip(4095)).isEqualTo(4095);
+        assertThat(first.read()).isEqualTo(content[4095] & 0xFF);
+        assertThat(first.read()).isEqualTo(content[4096] & 0xFF);
+
+        assertThat(ByteStreams.toByteArray(body.newInputStream())).isEqualTo(content);
+    }
+
+    @Test
+    public void read_emptyBody_emptyInMemory() throws Exception {
+        ResponseBody body = ResponseBody.read(new ByteArrayInputStream(new byte[0]), 0);
+
+        assertThat(body.isInMemory()).isTrue();
+        assertThat(body.size()).isZero();
+        assertThat(body.newInputStream().read()).isEqualTo(-1);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
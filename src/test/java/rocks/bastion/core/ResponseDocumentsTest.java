@@ -0,0 +1,118 @@
+package rocks.bastion.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.http.entity.ContentType;
+import org.junit.Test;
+import rocks.bastion.core.configuration.Configuration;
+import rocks.bastion.core.configuration.JsonConfiguration;
+import rocks.bastion.core.json.JsonResponseAssertions;
+import rocks.bastion.core.json.JsonSchemaAssertions;
+import rocks.bastion.core.view.Bindings;
+import rocks.bastion.core.view.DecodingHints;
+import rocks.bastion.core.view.JsonResponseDecoder;
+import rocks.bastion.core.view.StringResponseDecoder;
+import rocks.bastion.core.view.ViewBinder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResponseDocumentsTest {
+
+    @Test
+    public void decodersAndAssertions_jsonResponse_bodyParsedOnce() throws Exception {
+        CountingResponse response = new CountingResponse("{ \"name\":\"Salmon Nigiri\", \"price\":23.55 }");
+
+        Bindings views = new ViewBinder(response, Arrays.asList(new JsonResponseDecoder(), new StringResponseDecoder()))
+                .bind(new DecodingHints(null));
+        ModelResponse<Object> modelResponse = new ModelResponse<>(response, null, views);
+        JsonResponseAssertions.fromString(200, "{ \"name\":\"Salmon Nigiri\", \"price\":23.55 }").execute(200, modelResponse, null);
+        JsonSchemaAssertions.fromString("{ \"type\":\"object\", \"required\":[\"name\"] }").execute(200, modelResponse, null);
+
+        assertThat(response.bodyReads.get()).isEqualTo(1);
+        assertThat(modelResponse.getView(JsonNode.class)).containsSame(modelResponse.getDocuments().getJson());
+    }
+
+    @Test
+    public void getJson_invalidJson_sameErrorThrownWithoutReparsing() {
+        CountingResponse response = new CountingResponse("{ \"name\": ");
+
+        assertThatThrownBy(() -> response.getDocuments().getJson()).isInstanceOf(JsonProcessingException.class);
+        assertThatThrownBy(() -> response.getDocuments().getJson()).isInstanceOf(JsonProcessingException.class);
+        assertThat(response.bodyReads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void getDocuments_responseWithoutOwnDocuments_sameDocumentsAndBodyParsedOnce() throws Exception {
+        AtomicInteger bodyReads = new AtomicInteger();
+        Response response = new Response() {
+            @Override
+            public Optional<ContentType> getContentType() {
+                return Optional.of(ContentType.APPLICATION_JSON);
+            }
+
+            @Override
+            public int getStatusCode() {
+                return 200;
+            }
+
+            @Override
+            public String getStatusText() {
+                return "OK";
+            }
+
+            @Override
+            public Collection<ApiHeader> getHeaders() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public InputStream getBody() {
+                bodyReads.incrementAndGet();
+                return new ByteArrayInputStream("{ \"name\":\"Tamago\" }".getBytes(StandardCharsets.UTF_8));
+            }
+        };
+
+        assertThat(response.getDocuments()).isSameAs(response.getDocuments());
+        assertThat(response.getDocuments().getJson()).isSameAs(response.getDocuments().getJson());
+        assertThat(bodyReads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void getJson_parserFeatureConfigured_bodyParsedWithConfiguredFeature() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.setJsonConfiguration(new JsonConfiguration().setFeature("ALLOW_COMMENTS", true));
+        CountingResponse response = new CountingResponse("{ /* Nigiri */ \"name\":\"Salmon Nigiri\" }");
+
+        try (BastionContext ignored = BastionContext.open(configuration)) {
+            assertThat(response.getDocuments().getJson().get("name").asText()).isEqualTo("Salmon Nigiri");
+            JsonResponseAssertions.fromString(200, "{ \"name\":\"Salmon Nigiri\" // the expected name\n }")
+                    .execute(200, new ModelResponse<>(response, null, new Bindings()), null);
+        }
+    }
+
+    private static final class CountingResponse extends RawResponse {
+
+        private final AtomicInteger bodyReads = new AtomicInteger();
+
+        private CountingResponse(String body) {
+            super(200, "OK", Collections.singletonList(new ApiHeader("Content-Type", "application/json")),
+                    new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        public InputStream getBody() {
+            bodyReads.incrementAndGet();
+            return super.getBody();
+        }
+    }
+}
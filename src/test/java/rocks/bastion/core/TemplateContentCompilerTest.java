@@ -1,14 +1,23 @@
 package rocks.bastion.core;
 
 import com.google.common.collect.Maps;
+import com.samskivert.mustache.Mustache;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class TemplateContentCompilerTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void compile_validVariable_returnsCompiledMessage() throws Exception {
         TemplateContentCompiler compiler = new TemplateContentCompiler("{ \"name\": \"{{ name }}\" }");
@@ -34,4 +43,41 @@ public class TemplateContentCompilerTest {
         compiler.getContent();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void compile_sameTemplateText_compiledOnce() throws Exception {
+        String template = "{ \"fish\": \"{{ fish }}\" }";
+
+        assertThat(TemplateCache.compile(Mustache.compiler(), template).getTemplate())
+                .isSameAs(TemplateCache.compile(Mustache.compiler(), new String(template)).getTemplate());
+    }
+
+    @Test
+    public void fromResource_differentVariables_sameTemplateRenderedWithEach() throws Exception {
+        Path templateFile = temporaryFolder.newFile("sushi.json").toPath();
+        Files.write(templateFile, "{ \"name\": \"{{ name }}\" }".getBytes(StandardCharsets.UTF_8));
+        String location = templateFile.toUri().toString();
+
+        TemplateContentCompiler salmon = TemplateContentCompiler.fromResource(location);
+        salmon.addVariableAssignment("name", "salmon");
+        TemplateContentCompiler tuna = TemplateContentCompiler.fromResource(location);
+        tuna.addVariableAssignment("name", "tuna");
+
+        assertThat(salmon.getContent()).isEqualTo("{ \"name\": \"salmon\" }");
+        assertThat(tuna.getContent()).isEqualTo("{ \"name\": \"tuna\" }");
+        assertThat(tuna.getTemplate()).isSameAs(salmon.getTemplate());
+    }
+
+    @Test
+    public void fromResource_fileChanged_templateReloaded() throws Exception {
+        Path templateFile = temporaryFolder.newFile("nigiri.json").toPath();
+        Files.write(templateFile, "{ \"name\": \"{{ name }}\" }".getBytes(StandardCharsets.UTF_8));
+        String location = templateFile.toUri().toString();
+        assertThat(TemplateContentCompiler.fromResource(location).getTemplate()).isEqualTo("{ \"name\": \"{{ name }}\" }");
+
+        Files.write(templateFile, "{ \"fish\": \"{{ name }}\", \"rice\": true }".getBytes(StandardCharsets.UTF_8));
+
+        TemplateContentCompiler compiler = TemplateContentCompiler.fromResource(location);
+        compiler.addVariableAssignment("name", "salmon");
+        assertThat(compiler.getContent()).isEqualTo("{ \"fish\": \"salmon\", \"rice\": true }");
+    }
+}
@@ -2,13 +2,20 @@ package rocks.bastion.core.assertions;
 
 import com.google.common.collect.Maps;
 import org.assertj.core.api.Assertions;
+import org.junit.After;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import rocks.bastion.core.ModelResponse;
 import rocks.bastion.core.json.InvalidJsonException;
 import rocks.bastion.core.json.JsonResponseAssertions;
+import rocks.bastion.core.resource.ResourceLoader;
 import rocks.bastion.support.embedded.Sushi;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.HashMap;
 
 /**
@@ -16,6 +23,16 @@ import java.util.HashMap;
  */
 public class JsonResponseAssertionsTest {
 
+    private static final long DEFAULT_MAPPING_THRESHOLD = ResourceLoader.getMappingThreshold();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @After
+    public void restoreMappingThreshold() {
+        ResourceLoader.setMappingThreshold(DEFAULT_MAPPING_THRESHOLD);
+    }
+
     @Test
     public void fromModel_differentValue_assertShouldFail() {
         Assertions.assertThatThrownBy(() -> {
@@ -47,6 +64,14 @@ public class JsonResponseAssertionsTest {
         assertions.execute(200, response, response.getModel());
     }
 
+    @Test
+    public void execute_wildcardIgnoredField_shouldAssertSuccessfully() throws Exception {
+        JsonResponseAssertions assertions = JsonResponseAssertions.fromString(200, "{ \"items\":[{ \"name\":\"kyle\", \"id\":1 }, { \"name\":\"luke\", \"id\":2 }] }")
+                .ignoreValuesForProperties("/items/*/id");
+        ModelResponse<String> response = TestModelResponse.prepare("{ \"items\":[{ \"name\":\"kyle\", \"id\":51 }, { \"name\":\"luke\", \"id\":52 }] }");
+        assertions.execute(200, response, response.getModel());
+    }
+
     @Test
     public void execute_ignoredOrderForArrayField_shouldAssertSuccessfully() throws Exception {
         JsonResponseAssertions assertions = JsonResponseAssertions.fromString(200, "{ \"array\":[\"first\",\"second\",\"third\"] }").ignoreOrderForArrayProperties("/array");
@@ -162,4 +187,26 @@ public class JsonResponseAssertionsTest {
         Assert.fail("An assertion error should have been thrown by the JSON Response Assertions");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void execute_fromMappedFileJsonMismatches_shouldThrowErrorWithDiff() throws Exception {
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), "{ \"key\":\"kyle\", \"surname\":\"pullicino\" }".getBytes(StandardCharsets.UTF_8));
+        ResourceLoader.setMappingThreshold(16);
+        JsonResponseAssertions assertions = JsonResponseAssertions.fromResource(200, file.toURI().toString());
+        ModelResponse<String> matchingResponse = TestModelResponse.prepare("{ \"surname\":\"pullicino\", \"key\":\"kyle\" }");
+        ModelResponse<String> response = TestModelResponse.prepare("{ \"key\":\"kyle1\", \"surname\":\"pullicino\" }");
+
+        assertions.execute(200, matchingResponse, matchingResponse.getModel());
+        Assertions.assertThatThrownBy(() -> assertions.execute(200, response, response.getModel()))
+                .hasMessageEndingWith(" [{\"op\":\"replace\",\"path\":\"/key\",\"value\":\"kyle\"}]");
+    }
+
+    @Test(expected = InvalidJsonException.class)
+    public void fromResource_mappedFileWithInvalidJson_shouldThrowException() throws Exception {
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), "{ \"key\":\"kyle\", \"surname\":\"pullicino\" ".getBytes(StandardCharsets.UTF_8));
+        ResourceLoader.setMappingThreshold(16);
+        JsonResponseAssertions.fromResource(200, file.toURI().toString());
+    }
+
+}
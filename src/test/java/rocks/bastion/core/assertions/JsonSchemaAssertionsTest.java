@@ -118,4 +118,24 @@ public class JsonSchemaAssertionsTest {
         assertions.execute(201, response, response.getModel());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void execute_fromResourceWithRelativeRef_shouldAssertSuccessfully() {
+        JsonSchemaAssertions assertions = JsonSchemaAssertions.fromResource("classpath:/json/schema/sushi.json");
+        ModelResponse<String> response = TestModelResponse.prepare("{ \"name\":\"Salmon Nigiri\", \"price\":5.5 }");
+        assertions.execute(200, response, response.getModel());
+    }
+
+    @Test
+    public void execute_fromResourceWithRelativeRefMismatch_assertionErrorShouldBeThrown() {
+        try {
+            JsonSchemaAssertions assertions = JsonSchemaAssertions.fromResource("classpath:/json/schema/sushi.json");
+            ModelResponse<String> response = TestModelResponse.prepare("{ \"name\":\"Salmon Nigiri\", \"price\":-1 }");
+            assertions.execute(200, response, response.getModel());
+        } catch (AssertionError assertionError) {
+            Assert.assertTrue("Assertion Failed Message", assertionError.getMessage().contains("numeric instance is lower than the required minimum"));
+            return;
+        }
+
+        Assert.fail("An assertion error should have been thrown by the JSON Schema Assertions");
+    }
+}
@@ -8,10 +8,12 @@ import rocks.bastion.core.ApiHeader;
 import rocks.bastion.core.ApiQueryParam;
 import rocks.bastion.core.BastionFactory;
 import rocks.bastion.core.RouteParam;
+import rocks.bastion.core.transport.ApacheHttpTransport;
 
 import java.util.Collection;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
     
 public class BastionConfigurationTest {
 
@@ -77,5 +79,36 @@ public class BastionConfigurationTest {
         assertThat(routeParams).containsExactly(new RouteParam("routeParam1", "value1"));
 
         assertThat(globals.getGlobalRequestTimeout()).isEqualTo(15000);
+
+        HttpClientConfiguration httpClientConfiguration = config.getHttpClientConfiguration();
+        assertThat(httpClientConfiguration).isNotNull();
+        assertThat(httpClientConfiguration.getMaxConnections()).isEqualTo(20);
+        assertThat(httpClientConfiguration.getMaxConnectionsPerRoute()).isEqualTo(5);
+        assertThat(httpClientConfiguration.isKeepAlive()).isFalse();
+        assertThat(httpClientConfiguration.getKeepAliveTimeout()).isEqualTo(5000);
+        assertThat(httpClientConfiguration.getIdleConnectionTimeout()).isEqualTo(10000);
+        assertThat(httpClientConfiguration.getConnectTimeout()).isEqualTo(2000);
+        assertThat(httpClientConfiguration.getSocketTimeout()).isEqualTo(3000);
+        assertThat(httpClientConfiguration.getResponseBodyMemoryThreshold()).isEqualTo(4096);
+
+        JsonConfiguration jsonConfiguration = config.getJsonConfiguration();
+        assertThat(jsonConfiguration).isNotNull();
+        assertThat(jsonConfiguration.getFeatures()).containsOnly(entry("WRITE_DATES_AS_TIMESTAMPS", true));
+        assertThat(jsonConfiguration.getDateFormat()).isEqualTo("yyyy-MM-dd");
+        assertThat(jsonConfiguration.getTimeZone()).isEqualTo("Europe/Malta");
+        assertThat(config.getJsonMappers().getObjectMapper().getSerializationConfig().getTimeZone().getID()).isEqualTo("Europe/Malta");
+    }
+
+    @Test
+    public void defaultConfiguration_httpClientCreatedOnceAndShared() {
+        Configuration config = new Configuration();
+        assertThat(config.getHttpClientConfiguration().isKeepAlive()).isTrue();
+        assertThat(config.getHttpClient()).isNotNull().isSameAs(config.getHttpClient());
+    }
+
+    @Test
+    public void defaultConfiguration_transportSendsRequestsWithPooledHttpClient() {
+        Configuration config = new Configuration();
+        assertThat(config.getTransport()).isInstanceOf(ApacheHttpTransport.class).isSameAs(config.getTransport());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package rocks.bastion.core.configuration;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import rocks.bastion.core.ApiHeader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigurationWatcherTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void start_fileChanged_globalsReplacedAndSnapshotsUnaffected() throws Exception {
+        File file = writeConfiguration(temporaryFolder.newFile("bastion.yml"), "token-1", 1000);
+        Configuration configuration = new BastionConfigurationLoader(file.toURI().toString()).load();
+        GlobalRequestAttributes.Snapshot inFlight = configuration.getGlobalRequestAttributes().snapshot();
+        BlockingQueue<Configuration> reloads = new LinkedBlockingQueue<>();
+
+        try (ConfigurationWatcher ignored = new ConfigurationWatcher(file.toURI().toString(), configuration).setPollInterval(50)
+                                                                                                               .onReload(reloads::add).start()) {
+            writeConfiguration(file, "token-2", 2000);
+
+            assertThat(reloads.poll(10, TimeUnit.SECONDS)).isNotNull();
+        }
+
+        assertThat(configuration.getGlobalRequestAttributes().getGlobalHeaders()).containsExactly(new ApiHeader("Authorization", "token-2"));
+        assertThat(configuration.getGlobalRequestAttributes().getGlobalRequestTimeout()).isEqualTo(2000);
+        assertThat(inFlight.getGlobalHeaders()).containsExactly(new ApiHeader("Authorization", "token-1"));
+    }
+
+    @Test
+    public void start_sameLengthEditWithUnchangedModificationTime_reloadedOnEvent() throws Exception {
+        // Elsewhere, the JDK's watch service itself polls modification times, so only Linux reports such an edit
+        Assume.assumeTrue(System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("linux"));
+        File file = writeConfiguration(temporaryFolder.newFile("bastion.yml"), "token-1", 1000);
+        FileTime modified = Files.getLastModifiedTime(file.toPath());
+        Configuration configuration = new BastionConfigurationLoader(file.toURI().toString()).load();
+        BlockingQueue<Configuration> reloads = new LinkedBlockingQueue<>();
+
+        try (ConfigurationWatcher ignored = new ConfigurationWatcher(file.toURI().toString(), configuration).onReload(reloads::add).start()) {
+            writeConfiguration(file, "token-2", 1000);
+            Files.setLastModifiedTime(file.toPath(), modified);
+
+            assertThat(reloads.poll(10, TimeUnit.SECONDS)).isNotNull();
+        }
+
+        assertThat(configuration.getGlobalRequestAttributes().getGlobalHeaders()).containsExactly(new ApiHeader("Authorization", "token-2"));
+    }
+
+    @Test
+    public void reload_invalidFile_configurationUnchangedAndFailureReported() throws Exception {
+        File file = writeConfiguration(temporaryFolder.newFile("bastion.yml"), "token-1", 1000);
+        Configuration configuration = new BastionConfigurationLoader(file.toURI().toString()).load();
+        BlockingQueue<RuntimeException> failures = new LinkedBlockingQueue<>();
+        ConfigurationWatcher watcher = new ConfigurationWatcher(file.toURI().toString(), configuration).onFailure(failures::add);
+
+        Files.write(file.toPath(), "globalRequestAttributes:\n  globalRequestTimeout: -5\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(watcher.reload()).isFalse();
+        assertThat(failures).hasSize(1);
+        assertThat(watcher.getLastFailure()).isInstanceOf(InvalidConfigurationException.class).hasMessageContaining("cannot be negative");
+        assertThat(configuration.getGlobalRequestAttributes().getGlobalHeaders()).containsExactly(new ApiHeader("Authorization", "token-1"));
+        assertThat(watcher.getReloadCount()).isZero();
+    }
+
+    @Test
+    public void reload_validFile_httpClientKept() throws Exception {
+        File file = writeConfiguration(temporaryFolder.newFile("bastion.yml"), "token-1", 1000);
+        Configuration configuration = new BastionConfigurationLoader(file.toURI().toString()).load();
+        Object httpClient = configuration.getHttpClient();
+        ConfigurationWatcher watcher = new ConfigurationWatcher(file.toURI().toString(), configuration);
+
+        writeConfiguration(file, "token-2", 1000);
+
+        assertThat(watcher.reload()).isTrue();
+        assertThat(watcher.getReloadCount()).isEqualTo(1);
+        assertThat(configuration.getHttpClient()).isSameAs(httpClient);
+        assertThat(configuration.getGlobalRequestAttributes().getGlobalHeaders()).containsExactly(new ApiHeader("Authorization", "token-2"));
+    }
+
+    private static File writeConfiguration(File file, String token, long timeout) throws IOException {
+        String yaml = "globalRequestAttributes:\n"
+                + "  globalHeaders:\n"
+                + "  - name: \"Authorization\"\n"
+                + "    value: \"" + token + "\"\n"
+                + "  globalRequestTimeout: " + timeout + "\n";
+        Files.write(file.toPath(), yaml.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,91 @@
+package rocks.bastion.core.configuration;
+
+import org.junit.Test;
+import rocks.bastion.core.ApiHeader;
+import rocks.bastion.core.ApiQueryParam;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GlobalRequestAttributesTest {
+
+    @Test
+    public void snapshot_attributesChangedLater_snapshotUnchanged() {
+        GlobalRequestAttributes globals = new GlobalRequestAttributes().addHeader("X-Shop", "Sushi Bar").timeout(500);
+        GlobalRequestAttributes.Snapshot snapshot = globals.snapshot();
+
+        globals.addHeader("X-Chef", "Jiro").removeHeader("X-Shop", "Sushi Bar").addQueryParam("menu", "omakase").timeout(900);
+
+        assertThat(snapshot.getGlobalHeaders()).containsExactly(new ApiHeader("X-Shop", "Sushi Bar"));
+        assertThat(snapshot.getGlobalQueryParams()).isEmpty();
+        assertThat(snapshot.getGlobalRequestTimeout()).isEqualTo(500);
+        assertThat(globals.getGlobalHeaders()).containsExactly(new ApiHeader("X-Chef", "Jiro"));
+        assertThat(globals.getGlobalQueryParams()).containsExactly(new ApiQueryParam("menu", "omakase"));
+        assertThat(globals.getGlobalRequestTimeout()).isEqualTo(900);
+    }
+
+    @Test
+    public void getGlobalHeaders_modifyReturnedCollection_throwsException() {
+        GlobalRequestAttributes globals = new GlobalRequestAttributes();
+
+        assertThatThrownBy(() -> globals.getGlobalHeaders().add(new ApiHeader("X-Shop", "Sushi Bar"))).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void setGlobalHeaders_givenCollectionModifiedLater_attributesUnchanged() {
+        List<ApiHeader> headers = new ArrayList<>();
+        headers.add(new ApiHeader("X-Shop", "Sushi Bar"));
+        GlobalRequestAttributes globals = new GlobalRequestAttributes().setGlobalHeaders(headers);
+
+        headers.clear();
+
+        assertThat(globals.getGlobalHeaders()).containsExactly(new ApiHeader("X-Shop", "Sushi Bar"));
+    }
+
+    @Test
+    public void addHeader_concurrentWritersAndReaders_noChangeLost() throws Exception {
+        GlobalRequestAttributes globals = new GlobalRequestAttributes();
+        int writers = 4;
+        int headersPerWriter = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int writer = 0; writer < writers; writer++) {
+                String name = "X-Writer-" + writer;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int header = 0; header < headersPerWriter; header++) {
+                        globals.addHeader(name, Integer.toString(header));
+                    }
+                    return null;
+                }));
+            }
+            Future<?> reader = executor.submit(() -> {
+                start.await();
+                while (globals.getGlobalHeaders().size() < writers * headersPerWriter) {
+                    // Iterating while other threads add headers must never fail
+                    globals.getGlobalHeaders().forEach(ApiHeader::getName);
+                }
+                return null;
+            });
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+            reader.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(globals.getGlobalHeaders()).hasSize(writers * headersPerWriter);
+    }
+}
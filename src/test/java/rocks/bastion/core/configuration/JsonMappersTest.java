@@ -0,0 +1,83 @@
+package rocks.bastion.core.configuration;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JsonMappersTest {
+
+    @Test
+    public void readerAndWriterFor_sameType_builtOnceAndReused() {
+        JsonMappers mappers = new JsonMappers(new JsonConfiguration());
+
+        assertThat(mappers.readerFor(Sushi.class)).isNotNull().isSameAs(mappers.readerFor(Sushi.class));
+        assertThat(mappers.writerFor(Sushi.class)).isNotNull().isSameAs(mappers.writerFor(Sushi.class));
+        assertThat(mappers.readerFor(Sushi.class)).isNotSameAs(mappers.readerFor(JsonNode.class));
+    }
+
+    @Test
+    public void propertyNamingStrategy_snakeCase_appliedToReadersAndWriters() throws Exception {
+        JsonMappers mappers = new JsonMappers(new JsonConfiguration().setPropertyNamingStrategy("SNAKE_CASE"));
+
+        Sushi sushi = mappers.readerFor(Sushi.class).readValue("{ \"fish_name\":\"Salmon\" }");
+
+        assertThat(sushi.getFishName()).isEqualTo("Salmon");
+        assertThat(mappers.writerFor(Sushi.class).writeValueAsString(sushi)).isEqualTo("{\"fish_name\":\"Salmon\"}");
+    }
+
+    @Test
+    public void features_failOnUnknownPropertiesDisabled_unknownPropertiesIgnored() throws Exception {
+        JsonMappers mappers = new JsonMappers(new JsonConfiguration().setFeature("FAIL_ON_UNKNOWN_PROPERTIES", false));
+
+        Sushi sushi = mappers.readerFor(Sushi.class).readValue("{ \"fishName\":\"Tuna\", \"price\":5 }");
+
+        assertThat(sushi.getFishName()).isEqualTo("Tuna");
+    }
+
+    @Test
+    public void setFeature_unknownFeature_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> new JsonConfiguration().setFeature("FAIL_ON_SUSHI", true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("\"FAIL_ON_SUSHI\" is not a Jackson feature.");
+    }
+
+    @Test
+    public void setFeature_nameSharedByParserAndGenerator_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> new JsonConfiguration().setFeature("STRICT_DUPLICATE_DETECTION", true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("\"STRICT_DUPLICATE_DETECTION\" is ambiguous: use one of JsonParser.Feature.STRICT_DUPLICATE_DETECTION, "
+                        + "JsonGenerator.Feature.STRICT_DUPLICATE_DETECTION instead.");
+    }
+
+    @Test
+    public void features_qualifiedGeneratorFeature_onlyGeneratorFeatureEnabled() {
+        JsonMappers mappers = new JsonMappers(new JsonConfiguration().setFeature("JsonGenerator.Feature.STRICT_DUPLICATE_DETECTION", true));
+
+        assertThat(mappers.getObjectMapper().getFactory().isEnabled(JsonGenerator.Feature.STRICT_DUPLICATE_DETECTION)).isTrue();
+        assertThat(mappers.getObjectMapper().getFactory().isEnabled(JsonParser.Feature.STRICT_DUPLICATE_DETECTION)).isFalse();
+    }
+
+    @Test
+    public void modules_unknownModuleClass_throwsInvalidConfigurationException() {
+        JsonConfiguration configuration = new JsonConfiguration().addModule("rocks.bastion.NoSuchModule");
+
+        assertThatThrownBy(() -> new JsonMappers(configuration)).isInstanceOf(InvalidConfigurationException.class);
+    }
+
+    public static class Sushi {
+
+        private String fishName;
+
+        public String getFishName() {
+            return fishName;
+        }
+
+        public void setFishName(String fishName) {
+            this.fishName = fishName;
+        }
+    }
+}
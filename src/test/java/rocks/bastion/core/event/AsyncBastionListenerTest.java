@@ -0,0 +1,265 @@
+package rocks.bastion.core.event;
+
+import org.junit.Test;
+import rocks.bastion.core.GeneralRequest;
+import rocks.bastion.core.HttpRequest;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncBastionListenerTest {
+
+    @Test
+    public void callFinished_slowListener_returnsWithoutWaiting() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingListener slowListener = new RecordingListener(release);
+
+        try (AsyncBastionListener listener = new AsyncBastionListener(slowListener)) {
+            long startNanos = System.nanoTime();
+            listener.callStarted(new BastionStartedEvent(request("/nigiri")));
+            listener.callFinished(new BastionFinishedEvent(request("/nigiri"), null));
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)).isLessThan(1000);
+
+            release.countDown();
+            assertThat(listener.flush(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(slowListener.events).containsExactly("started /nigiri", "finished /nigiri");
+        assertThat(slowListener.threads).doesNotContain(Thread.currentThread());
+    }
+
+    @Test
+    public void callStarted_manyEvents_passedOnInOrder() throws Exception {
+        RecordingListener recorder = new RecordingListener(new CountDownLatch(0));
+
+        try (AsyncBastionListener listener = new AsyncBastionListener(recorder, 16, AsyncBastionListener.OverflowPolicy.BLOCK)) {
+            IntStream.range(0, 500).forEach(index -> listener.callStarted(new BastionStartedEvent(request("/" + index))));
+        }
+
+        assertThat(recorder.events).isEqualTo(IntStream.range(0, 500).mapToObj(index -> "started /" + index).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void callStarted_dropPolicyAndBufferFull_eventsDiscarded() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingListener slowListener = new RecordingListener(release);
+        AsyncBastionListener listener = new AsyncBastionListener(slowListener, 4, AsyncBastionListener.OverflowPolicy.DROP);
+
+        listener.callStarted(new BastionStartedEvent(request("/blocked")));
+        slowListener.awaitFirstEvent();
+        IntStream.range(0, 10).forEach(index -> listener.callStarted(new BastionStartedEvent(request("/" + index))));
+        release.countDown();
+        listener.close();
+
+        assertThat(listener.getDroppedCount()).isEqualTo(6);
+        assertThat(slowListener.events).containsExactly("started /blocked", "started /0", "started /1", "started /2", "started /3");
+    }
+
+    @Test
+    public void callStarted_samplePolicyAndBufferNearlyFull_oneEventPerSampleKept() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingListener slowListener = new RecordingListener(release);
+        AsyncBastionListener listener = new AsyncBastionListener(slowListener, 8, AsyncBastionListener.OverflowPolicy.SAMPLE).setSampleRate(3);
+
+        listener.callStarted(new BastionStartedEvent(request("/blocked")));
+        slowListener.awaitFirstEvent();
+        IntStream.range(0, 13).forEach(index -> listener.callStarted(new BastionStartedEvent(request("/" + index))));
+        release.countDown();
+        listener.close();
+
+        assertThat(slowListener.events).containsExactly("started /blocked", "started /0", "started /1", "started /2", "started /3",
+                                                        "started /4", "started /5", "started /6", "started /9");
+        assertThat(listener.getDroppedCount()).isEqualTo(5);
+    }
+
+    @Test
+    public void close_eventsFiredAfterwards_discarded() {
+        RecordingListener recorder = new RecordingListener(new CountDownLatch(0));
+        AsyncBastionListener listener = new AsyncBastionListener(recorder);
+
+        listener.callStarted(new BastionStartedEvent(request("/nigiri")));
+        listener.close();
+        listener.callStarted(new BastionStartedEvent(request("/maki")));
+
+        assertThat(recorder.events).containsExactly("started /nigiri");
+        assertThat(listener.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void callStarted_listenerThrowsException_laterEventsStillPassedOn() throws Exception {
+        RecordingListener recorder = new RecordingListener(new CountDownLatch(0));
+        BastionListener failingListener = new ForwardingListener(recorder) {
+            @Override
+            public void callStarted(BastionStartedEvent event) {
+                if (event.getRequest().url().equals("/broken")) {
+                    throw new IllegalStateException("Simulated");
+                }
+                super.callStarted(event);
+            }
+        };
+
+        try (AsyncBastionListener listener = new AsyncBastionListener(failingListener, 1, AsyncBastionListener.OverflowPolicy.BLOCK)) {
+            listener.callStarted(new BastionStartedEvent(request("/broken")));
+            listener.callStarted(new BastionStartedEvent(request("/nigiri")));
+            listener.callStarted(new BastionStartedEvent(request("/maki")));
+            assertThat(listener.flush(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(recorder.events).containsExactly("started /nigiri", "started /maki");
+    }
+
+    @Test
+    public void callStarted_listenerThrowsVirtualMachineError_dispatcherStopsAndLaterEventsDiscarded() throws Exception {
+        RecordingListener recorder = new RecordingListener(new CountDownLatch(0));
+        BastionListener failingListener = new ForwardingListener(recorder) {
+            @Override
+            public void callStarted(BastionStartedEvent event) {
+                if (event.getRequest().url().equals("/broken")) {
+                    throw new StackOverflowError("Simulated");
+                }
+                super.callStarted(event);
+            }
+        };
+        AsyncBastionListener listener = new AsyncBastionListener(failingListener, 8, AsyncBastionListener.OverflowPolicy.BLOCK);
+
+        listener.callStarted(new BastionStartedEvent(request("/broken")));
+        listener.callStarted(new BastionStartedEvent(request("/nigiri")));
+        listener.close();
+        listener.callStarted(new BastionStartedEvent(request("/maki")));
+
+        assertThat(recorder.events).isEmpty();
+        assertThat(listener.getDroppedCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void close_calledByWrappedListener_returnsWithoutWaitingForItself() throws Exception {
+        RecordingListener recorder = new RecordingListener(new CountDownLatch(0));
+        AtomicReference<AsyncBastionListener> self = new AtomicReference<>();
+        CountDownLatch closed = new CountDownLatch(1);
+        BastionListener closingListener = new ForwardingListener(recorder) {
+            @Override
+            public void callFinished(BastionFinishedEvent event) {
+                self.get().close();
+                super.callFinished(event);
+                closed.countDown();
+            }
+        };
+        AsyncBastionListener listener = new AsyncBastionListener(closingListener);
+        self.set(listener);
+
+        listener.callStarted(new BastionStartedEvent(request("/nigiri")));
+        listener.callFinished(new BastionFinishedEvent(request("/nigiri"), null));
+
+        assertThat(closed.await(5, TimeUnit.SECONDS)).isTrue();
+        listener.callStarted(new BastionStartedEvent(request("/maki")));
+        assertThat(recorder.events).containsExactly("started /nigiri", "finished /nigiri");
+        assertThat(listener.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void constructor_listenerNeverClosed_canBeGarbageCollected() throws Exception {
+        RecordingListener recorder = new RecordingListener(new CountDownLatch(0));
+        AsyncBastionListener listener = new AsyncBastionListener(recorder);
+        listener.callStarted(new BastionStartedEvent(request("/nigiri")));
+        assertThat(listener.flush(5, TimeUnit.SECONDS)).isTrue();
+        WeakReference<AsyncBastionListener> reference = new WeakReference<>(listener);
+        listener = null;
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((reference.get() != null) && (System.nanoTime() < deadline)) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        assertThat(reference.get()).isNull();
+        assertThat(recorder.events).containsExactly("started /nigiri");
+    }
+
+    private static HttpRequest request(String path) {
+        return GeneralRequest.get(path);
+    }
+
+    private static class ForwardingListener implements BastionListener {
+
+        private final BastionListener delegate;
+
+        private ForwardingListener(BastionListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void callStarted(BastionStartedEvent event) {
+            delegate.callStarted(event);
+        }
+
+        @Override
+        public void callFinished(BastionFinishedEvent event) {
+            delegate.callFinished(event);
+        }
+
+        @Override
+        public void callFailed(BastionFailureEvent event) {
+            delegate.callFailed(event);
+        }
+
+        @Override
+        public void callError(BastionErrorEvent event) {
+            delegate.callError(event);
+        }
+    }
+
+    private static final class RecordingListener implements BastionListener {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final List<Thread> threads = new CopyOnWriteArrayList<>();
+        private final CountDownLatch firstEvent = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        private RecordingListener(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void callStarted(BastionStartedEvent event) {
+            record("started", event);
+        }
+
+        @Override
+        public void callFinished(BastionFinishedEvent event) {
+            record("finished", event);
+        }
+
+        @Override
+        public void callFailed(BastionFailureEvent event) {
+            record("failed", event);
+        }
+
+        @Override
+        public void callError(BastionErrorEvent event) {
+            record("error", event);
+        }
+
+        private void awaitFirstEvent() throws InterruptedException {
+            assertThat(firstEvent.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        private void record(String type, BastionEvent event) {
+            firstEvent.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(type + " " + event.getRequest().url());
+            threads.add(Thread.currentThread());
+        }
+    }
+}
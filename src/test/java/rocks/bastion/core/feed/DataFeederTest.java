@@ -0,0 +1,133 @@
+package rocks.bastion.core.feed;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import rocks.bastion.core.HttpMethod;
+import rocks.bastion.core.HttpRequest;
+import rocks.bastion.core.resource.InvalidResourceException;
+import rocks.bastion.core.resource.ResourceNotFoundException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DataFeederTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void rows_csv_headerNamesVariablesAndQuotedValuesAreUnescaped() {
+        List<Map<String, String>> rows = DataFeeder.fromCsv("classpath:/rocks/bastion/core/feed/sushi.csv").rows().collect(Collectors.toList());
+
+        assertThat(rows).extracting(row -> row.get("name")).containsExactly("Salmon Nigiri", "Tuna, Seared", "The \"Dragon\" Roll", "Eel Nigiri");
+        assertThat(rows.get(1)).containsEntry("type", "SASHIMI").containsEntry("price", "8");
+    }
+
+    @Test
+    public void rows_jsonLines_propertiesAreVariables() {
+        List<Map<String, String>> rows = DataFeeder.fromJsonLines("classpath:/rocks/bastion/core/feed/sushi.jsonl").rows().collect(Collectors.toList());
+
+        assertThat(rows).extracting(row -> row.get("name")).containsExactly("Salmon Nigiri", "Tuna Sashimi", "Dragon Roll");
+        assertThat(rows.get(1)).containsEntry("price", "8").containsEntry("tags", "[\"raw\",\"fish\"]");
+    }
+
+    @Test
+    public void rows_csvRowWithMissingValue_throwsException() throws Exception {
+        String source = writeFeed("name,price\nSalmon Nigiri,5\nTuna Sashimi\n");
+
+        assertThatThrownBy(() -> DataFeeder.fromCsv(source).rows().count())
+                .isInstanceOf(InvalidResourceException.class)
+                .hasMessageContaining("Row 2").hasMessageContaining("has 1 values but its header has 2 columns");
+    }
+
+    @Test
+    public void fromCsv_missingResource_throwsException() {
+        assertThatThrownBy(() -> DataFeeder.fromCsv("classpath:/rocks/bastion/core/feed/missing.csv"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void rows_circular_startsOverAfterLastRow() {
+        Stream<Map<String, String>> rows = DataFeeder.fromJsonLines("classpath:/rocks/bastion/core/feed/sushi.jsonl").circular().rows();
+
+        try (Stream<Map<String, String>> closedRows = rows) {
+            assertThat(closedRows.limit(7).map(row -> row.get("name")).collect(Collectors.toList()))
+                    .containsExactly("Salmon Nigiri", "Tuna Sashimi", "Dragon Roll", "Salmon Nigiri", "Tuna Sashimi", "Dragon Roll", "Salmon Nigiri");
+        }
+    }
+
+    @Test
+    public void rows_random_everyRowVisitedOnceInRepeatableOrder() throws Exception {
+        DataFeeder feeder = DataFeeder.fromCsv(writeNumberedFeed(100)).random(42).shuffleWindow(10);
+
+        List<String> firstOrder = ids(feeder.rows());
+        List<String> secondOrder = ids(feeder.rows());
+
+        assertThat(firstOrder).hasSize(100).containsOnlyElementsOf(ids(DataFeeder.fromCsv(writeNumberedFeed(100)).rows()))
+                              .doesNotHaveDuplicates();
+        assertThat(firstOrder).isNotEqualTo(ids(DataFeeder.fromCsv(writeNumberedFeed(100)).rows()));
+        assertThat(secondOrder).isEqualTo(firstOrder);
+    }
+
+    @Test
+    public void rows_shards_partitionRows() throws Exception {
+        DataFeeder feeder = DataFeeder.fromCsv(writeNumberedFeed(10));
+
+        assertThat(ids(feeder.rows(0, 3))).containsExactly("0", "3", "6", "9");
+        assertThat(ids(feeder.rows(1, 3))).containsExactly("1", "4", "7");
+        assertThat(ids(feeder.rows(2, 3))).containsExactly("2", "5", "8");
+    }
+
+    @Test
+    public void rows_streamNotConsumed_readsOnlyRowsTaken() throws Exception {
+        Iterator<Map<String, String>> rows = DataFeeder.fromCsv(writeNumberedFeed(10)).rows().iterator();
+
+        assertThat(rows.next()).containsEntry("id", "0");
+        assertThat(rows.next()).containsEntry("id", "1");
+    }
+
+    @Test
+    public void jsonRequests_templatedUrlAndBody_renderedForEachRow() {
+        RequestFeed feed = DataFeeder.fromCsv("classpath:/rocks/bastion/core/feed/sushi.csv")
+                .jsonRequests(HttpMethod.PUT, "http://localhost/sushi/{{ type }}", "classpath:/rocks/bastion/core/feed/sushi-template.json");
+
+        List<HttpRequest> requests = feed.stream().collect(Collectors.toList());
+
+        assertThat(requests).hasSize(4);
+        assertThat(requests.get(1).url()).isEqualTo("http://localhost/sushi/SASHIMI");
+        assertThat(requests.get(1).body().toString()).contains("\"name\": \"Tuna, Seared\"").contains("\"price\": 8");
+        assertThat(feed.isFinite()).isTrue();
+        assertThat(feed.name()).isEqualTo("Requests fed from classpath:/rocks/bastion/core/feed/sushi.csv");
+    }
+
+    private String writeNumberedFeed(int rows) throws IOException {
+        return writeFeed("id\n" + IntStream.range(0, rows).mapToObj(Integer::toString).collect(Collectors.joining("\n")));
+    }
+
+    private String writeFeed(String content) throws IOException {
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file.toURI().toString();
+    }
+
+    private static List<String> ids(Stream<Map<String, String>> rows) {
+        List<String> ids = new ArrayList<>();
+        try (Stream<Map<String, String>> closedRows = rows) {
+            closedRows.forEach(row -> ids.add(row.get("id")));
+        }
+        return ids;
+    }
+}
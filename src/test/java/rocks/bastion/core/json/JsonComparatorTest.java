@@ -0,0 +1,99 @@
+package rocks.bastion.core.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.junit.Test;
+import rocks.bastion.core.configuration.JsonMappers;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonComparatorTest {
+
+    @Test
+    public void isEquivalent_noRules_structuralEquality() throws Exception {
+        JsonComparator comparator = new JsonComparator(Collections.emptyList(), Collections.emptyList());
+
+        assertThat(comparator.isEquivalent(json("{ \"a\":1, \"b\":[1, 2] }"), json("{ \"b\":[1, 2], \"a\":1 }"))).isTrue();
+        assertThat(comparator.isEquivalent(json("{ \"a\":1, \"b\":[1, 2] }"), json("{ \"a\":1, \"b\":[2, 1] }"))).isFalse();
+        assertThat(comparator.isEquivalent(json("{ \"a\":1 }"), json("{ \"a\":1, \"b\":null }"))).isFalse();
+    }
+
+    @Test
+    public void isEquivalent_ignoredPath_valueNotComparedButPropertyRequired() throws Exception {
+        JsonComparator comparator = new JsonComparator(Arrays.asList("/id", "/owner/~1name"), Collections.emptyList());
+
+        assertThat(comparator.isEquivalent(json("{ \"id\":1, \"owner\": { \"/name\":\"kyle\" } }"),
+                json("{ \"id\":\"abc\", \"owner\": { \"/name\":\"luke\" } }"))).isTrue();
+        assertThat(comparator.isEquivalent(json("{ \"owner\": { \"/name\":\"kyle\" } }"),
+                json("{ \"id\":1, \"owner\": { \"/name\":\"kyle\" } }"))).isFalse();
+        assertThat(comparator.isEquivalent(json("{ \"id\":1, \"owner\": { \"/name\":\"kyle\", \"age\":3 } }"),
+                json("{ \"id\":1, \"owner\": { \"/name\":\"kyle\", \"age\":4 } }"))).isFalse();
+    }
+
+    @Test
+    public void isEquivalent_unorderedArray_comparedAsMultiset() throws Exception {
+        JsonComparator comparator = new JsonComparator(Collections.emptyList(), Collections.singletonList("/data/items"));
+
+        assertThat(comparator.isEquivalent(json("{ \"data\": { \"items\":[1, {\"x\":2}, 1] } }"),
+                json("{ \"data\": { \"items\":[{\"x\":2}, 1, 1] } }"))).isTrue();
+        assertThat(comparator.isEquivalent(json("{ \"data\": { \"items\":[1, 2, 2] } }"),
+                json("{ \"data\": { \"items\":[1, 1, 2] } }"))).isFalse();
+        assertThat(comparator.isEquivalent(json("{ \"data\": { \"items\":[1, 2] } }"),
+                json("{ \"data\": { \"items\":[2, 1, 3] } }"))).isFalse();
+    }
+
+    @Test
+    public void isEquivalent_largeUnorderedArray_comparedInLinearTime() {
+        ArrayNode actual = JsonNodeFactory.instance.arrayNode();
+        ArrayNode expected = JsonNodeFactory.instance.arrayNode();
+        for (int index = 0; index < 50_000; index++) {
+            actual.addObject().put("id", index);
+            expected.addObject().put("id", 49_999 - index);
+        }
+        JsonComparator comparator = new JsonComparator(Collections.emptyList(), Collections.singletonList(""));
+
+        assertThat(comparator.isEquivalent(actual, expected)).isTrue();
+    }
+
+    @Test
+    public void isEquivalent_wildcardIgnoredPath_appliedToEveryArrayElement() throws Exception {
+        JsonComparator comparator = new JsonComparator(Collections.singletonList("/items/*/createdAt"), Collections.emptyList());
+
+        assertThat(comparator.isEquivalent(json("{ \"items\":[{ \"id\":1, \"createdAt\":10 }, { \"id\":2, \"createdAt\":20 }] }"),
+                json("{ \"items\":[{ \"id\":1, \"createdAt\":0 }, { \"id\":2, \"createdAt\":0 }] }"))).isTrue();
+        assertThat(comparator.isEquivalent(json("{ \"items\":[{ \"id\":1, \"createdAt\":10 }, { \"id\":3, \"createdAt\":20 }] }"),
+                json("{ \"items\":[{ \"id\":1, \"createdAt\":0 }, { \"id\":2, \"createdAt\":0 }] }"))).isFalse();
+        assertThat(comparator.isValueIgnored("/items/7/createdAt")).isTrue();
+        assertThat(comparator.isValueIgnored("/items/7/id")).isFalse();
+    }
+
+    @Test
+    public void isEquivalent_recursiveDescentIgnoredPath_matchesAtAnyDepth() throws Exception {
+        JsonComparator comparator = new JsonComparator(Collections.singletonList("/**/id"), Collections.emptyList());
+
+        assertThat(comparator.isEquivalent(json("{ \"id\":1, \"owner\": { \"id\":2, \"pets\":[{ \"id\":3, \"name\":\"rex\" }] } }"),
+                json("{ \"id\":9, \"owner\": { \"id\":8, \"pets\":[{ \"id\":7, \"name\":\"rex\" }] } }"))).isTrue();
+        assertThat(comparator.isEquivalent(json("{ \"owner\": { \"pets\":[{ \"id\":3, \"name\":\"rex\" }] } }"),
+                json("{ \"owner\": { \"pets\":[{ \"id\":7, \"name\":\"max\" }] } }"))).isFalse();
+        assertThat(comparator.isInsideIgnoredValue("/owner/id/x")).isTrue();
+    }
+
+    @Test
+    public void isEquivalent_unorderedArrayWithIgnoredElementValues_elementsMatchedRegardlessOfIgnoredValues() throws Exception {
+        JsonComparator comparator = new JsonComparator(Collections.singletonList("/items/*/createdAt"), Collections.singletonList("/items"));
+
+        assertThat(comparator.isEquivalent(json("{ \"items\":[{ \"id\":2, \"createdAt\":20 }, { \"id\":1, \"createdAt\":10 }] }"),
+                json("{ \"items\":[{ \"id\":1, \"createdAt\":0 }, { \"id\":2, \"createdAt\":0 }] }"))).isTrue();
+        assertThat(comparator.isEquivalent(json("{ \"items\":[{ \"id\":2, \"createdAt\":20 }, { \"id\":1 }] }"),
+                json("{ \"items\":[{ \"id\":1, \"createdAt\":0 }, { \"id\":2, \"createdAt\":0 }] }"))).isFalse();
+    }
+
+    private static JsonNode json(String json) throws IOException {
+        return JsonMappers.defaults().readTree(json);
+    }
+}
@@ -0,0 +1,58 @@
+package rocks.bastion.core.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.main.JsonSchema;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import rocks.bastion.core.configuration.JsonMappers;
+import rocks.bastion.core.resource.ResourceLoader;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonSchemaCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void get_sameSchemaText_compiledOnce() throws Exception {
+        String schema = "{ \"type\":\"object\", \"required\":[\"cached\"] }";
+
+        assertThat(JsonSchemaCache.get(schema, null)).isNotNull().isSameAs(JsonSchemaCache.get(new String(schema), null));
+        assertThat(JsonSchemaCache.get(schema, null)).isNotSameAs(JsonSchemaCache.get("{ \"type\":\"array\" }", null));
+    }
+
+    @Test
+    public void get_sameSchemaFromDifferentLocations_compiledPerLocation() throws Exception {
+        String location = "classpath:/json/schema/sushi.json";
+        String schema = new ResourceLoader(location).load();
+
+        assertThat(JsonSchemaCache.get(schema, location)).isSameAs(JsonSchemaCache.get(schema, "classpath:json/schema/sushi.json"));
+        assertThat(JsonSchemaCache.get(schema, location)).isNotSameAs(JsonSchemaCache.get(schema, null));
+    }
+
+    @Test
+    public void get_referencedFileEdited_dependentSchemaRecompiledAndOthersKept() throws Exception {
+        File common = temporaryFolder.newFile("common.json");
+        File sushi = temporaryFolder.newFile("sushi.json");
+        String schema = "{ \"type\":\"object\", \"properties\":{ \"price\":{ \"$ref\":\"common.json#/definitions/price\" } } }";
+        String unrelatedSchema = "{ \"type\":\"object\", \"required\":[\"unrelated\"] }";
+        Files.write(sushi.toPath(), schema.getBytes(StandardCharsets.UTF_8));
+        Files.write(common.toPath(), "{ \"definitions\":{ \"price\":{ \"type\":\"number\" } } }".getBytes(StandardCharsets.UTF_8));
+        JsonNode order = JsonMappers.defaults().readTree("{ \"price\":\"free\" }");
+        JsonSchema unrelated = JsonSchemaCache.get(unrelatedSchema, null);
+
+        assertThat(JsonSchemaCache.get(schema, sushi.toURI().toString()).validate(order).isSuccess()).isFalse();
+
+        Files.write(common.toPath(), "{ \"definitions\":{ \"price\":{ \"type\":[\"number\", \"string\"] } } }".getBytes(StandardCharsets.UTF_8));
+        JsonSchemaCache.revalidateReferencedSchemas();
+
+        assertThat(JsonSchemaCache.get(schema, sushi.toURI().toString()).validate(order).isSuccess()).isTrue();
+        assertThat(JsonSchemaCache.get(unrelatedSchema, null)).isSameAs(unrelated);
+    }
+}
@@ -0,0 +1,29 @@
+package rocks.bastion.core.load;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class ArrivalScheduleTest {
+
+    @Test
+    public void intendedOffsetNanos_noRampUp_evenlySpaced() {
+        ArrivalSchedule schedule = new ArrivalSchedule(500, Duration.ZERO);
+        assertThat(schedule.intendedOffsetNanos(0)).isZero();
+        assertThat(schedule.intendedOffsetNanos(1)).isEqualTo(Duration.ofMillis(2).toNanos());
+        assertThat(schedule.intendedOffsetNanos(500)).isEqualTo(Duration.ofSeconds(1).toNanos());
+    }
+
+    @Test
+    public void intendedOffsetNanos_withRampUp_rateGrowsLinearly() {
+        ArrivalSchedule schedule = new ArrivalSchedule(100, Duration.ofSeconds(10));
+        // Half the target rate is reached half way through the ramp-up: 100 * 5^2 / 20 = 125 requests by then
+        assertThat(schedule.intendedOffsetNanos(125)).isCloseTo(Duration.ofSeconds(5).toNanos(), within(1000L));
+        // The whole ramp-up sends 100 * 10 / 2 = 500 requests, after which requests are 10 ms apart
+        assertThat(schedule.intendedOffsetNanos(500)).isCloseTo(Duration.ofSeconds(10).toNanos(), within(1000L));
+        assertThat(schedule.intendedOffsetNanos(600)).isCloseTo(Duration.ofSeconds(11).toNanos(), within(1000L));
+    }
+}
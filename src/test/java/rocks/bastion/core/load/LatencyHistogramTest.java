@@ -0,0 +1,76 @@
+package rocks.bastion.core.load;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void getValueAtPercentile_emptyHistogram_returnsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getValueAtPercentile(99)).isEqualTo(Duration.ZERO);
+        assertThat(histogram.getMax()).isEqualTo(Duration.ZERO);
+        assertThat(histogram.getMin()).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void getValueAtPercentile_uniformValues_withinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long millis = 1; millis <= 10000; millis++) {
+            histogram.record(Duration.ofMillis(millis).toNanos());
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(10000);
+        assertThat(histogram.getMin()).isEqualTo(Duration.ofMillis(1));
+        assertThat(histogram.getMax()).isEqualTo(Duration.ofMillis(10000));
+        assertPercentile(histogram, 50, 5000);
+        assertPercentile(histogram, 90, 9000);
+        assertPercentile(histogram, 99, 9900);
+        assertPercentile(histogram, 99.9, 9990);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(Duration.ofMillis(10000));
+    }
+
+    @Test
+    public void record_smallValues_countedExactly() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5);
+        histogram.record(7);
+        histogram.record(-3);
+
+        assertThat(histogram.getValueAtPercentile(0)).isEqualTo(Duration.ZERO);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(Duration.ofNanos(5));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(Duration.ofNanos(7));
+    }
+
+    @Test
+    public void add_twoHistograms_combinesCounts() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(Duration.ofMillis(10).toNanos());
+        second.record(Duration.ofMillis(20).toNanos());
+
+        LatencyHistogram combined = first.copy();
+        combined.add(second);
+
+        assertThat(combined.getCount()).isEqualTo(2);
+        assertThat(combined.getMax()).isEqualTo(Duration.ofMillis(20));
+        assertThat(combined.getMean()).isEqualTo(Duration.ofMillis(15));
+        assertThat(first.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void getValueAtPercentile_outOfRange_throwsException() {
+        assertThatThrownBy(() -> new LatencyHistogram().getValueAtPercentile(101)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertPercentile(LatencyHistogram histogram, double percentile, long expectedMillis) {
+        long expectedNanos = Duration.ofMillis(expectedMillis).toNanos();
+        assertThat(histogram.getValueAtPercentile(percentile).toNanos()).isCloseTo(expectedNanos, within(expectedNanos / 1000));
+    }
+}
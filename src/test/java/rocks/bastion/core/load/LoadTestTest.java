@@ -0,0 +1,199 @@
+package rocks.bastion.core.load;
+
+import org.junit.Test;
+import rocks.bastion.Bastion;
+import rocks.bastion.core.GeneralRequest;
+import rocks.bastion.core.HttpMethod;
+import rocks.bastion.core.StatusCodeAssertions;
+import rocks.bastion.core.feed.DataFeeder;
+import rocks.bastion.core.feed.RequestFeed;
+import rocks.bastion.support.embedded.TestWithEmbeddedServer;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LoadTestTest extends TestWithEmbeddedServer {
+
+    @Test
+    public void run_fixedIterations_allRequestsRecorded() {
+        LoadTestSummary summary = Bastion.load("Nigiri", GeneralRequest.get(getUrl("/nigiri")))
+                .workers(4)
+                .forIterations(100)
+                .run();
+
+        assertThat(summary.getName()).isEqualTo("GET http://localhost:9876/nigiri - Nigiri");
+        assertThat(summary.getRequestCount()).isEqualTo(100);
+        assertThat(summary.getErrorCount()).isZero();
+        assertThat(summary.getLatency().getCount()).isEqualTo(100);
+        assertThat(summary.getThroughput()).isPositive();
+        assertThat(summary.getLatencyAtPercentile(50)).isLessThanOrEqualTo(summary.getLatencyAtPercentile(99))
+                                                      .isGreaterThan(Duration.ZERO);
+        assertThat(summary.getLatencyAtPercentile(99.9)).isLessThanOrEqualTo(summary.getMaxLatency());
+    }
+
+    @Test
+    public void run_fixedDuration_stopsAfterDuration() {
+        LoadTestSummary summary = Bastion.load(GeneralRequest.get(getUrl("/nigiri")))
+                .workers(2)
+                .forDuration(Duration.ofMillis(300))
+                .run();
+
+        assertThat(summary.getRequestCount()).isPositive();
+        assertThat(summary.getElapsed()).isGreaterThanOrEqualTo(Duration.ofMillis(300)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void run_failingAssertionsOnEveryResponse_failuresCounted() {
+        LoadTestSummary summary = Bastion.load(GeneralRequest.get(getUrl("/nigiri")))
+                .forIterations(10)
+                .withAssertions(StatusCodeAssertions.expecting(404))
+                .run();
+
+        assertThat(summary.getAssertionsRunCount()).isEqualTo(10);
+        assertThat(summary.getAssertionFailureCount()).isEqualTo(10);
+        assertThat(summary.getFirstError()).containsInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    public void run_assertionsOnStringModel_modelIsResponseBody() {
+        LoadTestSummary summary = Bastion.load(GeneralRequest.get(getUrl("/nigiri")))
+                .forIterations(5)
+                .withAssertions((statusCode, response, model) -> assertThat(model).contains("Salmon Nigiri"))
+                .run();
+
+        assertThat(summary.getAssertionFailureCount()).isZero();
+        assertThat(summary.getAssertionsRunCount()).isEqualTo(5);
+    }
+
+    @Test
+    public void run_zeroSampling_assertionsNeverRun() {
+        LoadTestSummary summary = Bastion.load(GeneralRequest.get(getUrl("/nigiri")))
+                .forIterations(10)
+                .withAssertions(StatusCodeAssertions.expecting(404))
+                .sampling(0)
+                .run();
+
+        assertThat(summary.getAssertionsRunCount()).isZero();
+        assertThat(summary.getAssertionFailureCount()).isZero();
+    }
+
+    @Test
+    public void run_requestTimesOut_errorCounted() {
+        GeneralRequest request = GeneralRequest.get(getUrl("/chikuzen-ni"));
+        request.setTimeout(200);
+        LoadTestSummary summary = Bastion.load(request).forIterations(2).run();
+
+        assertThat(summary.getErrorCount()).isEqualTo(2);
+        assertThat(summary.getLatency().getCount()).isEqualTo(2);
+        assertThat(summary.getFirstError()).containsInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    public void run_openLoopForDuration_sendsAtTargetRate() {
+        LoadTestSummary summary = Bastion.load(GeneralRequest.get(getUrl("/nigiri")))
+                .atRate(100)
+                .forDuration(Duration.ofMillis(500))
+                .run();
+
+        assertThat(summary.getRequestCount()).isBetween(45L, 50L);
+        assertThat(summary.getErrorCount()).isZero();
+        assertThat(summary.getUncorrectedLatency().getCount()).isEqualTo(summary.getRequestCount());
+        assertThat(summary.getLateCount()).isZero();
+    }
+
+    @Test
+    public void run_openLoopWithRampUp_sendsFewerRequestsDuringRampUp() {
+        LoadTestSummary summary = Bastion.load(GeneralRequest.get(getUrl("/nigiri")))
+                .atRate(100)
+                .rampUp(Duration.ofMillis(400))
+                .forDuration(Duration.ofMillis(400))
+                .run();
+
+        // 100 requests/s * 0.4 s / 2
+        assertThat(summary.getRequestCount()).isBetween(18L, 20L);
+    }
+
+    @Test
+    public void run_openLoopServerSlowerThanRate_correctedLatencyIncludesTimeWaitingToBeSent() {
+        LoadTestSummary summary = Bastion.load(GeneralRequest.get(getUrl("/tempura")))
+                .workers(1)
+                .atRate(50)
+                .forIterations(10)
+                .run();
+
+        assertThat(summary.getRequestCount()).isEqualTo(10);
+        assertThat(summary.getLateCount()).isEqualTo(9);
+        // Each request takes ~100 ms but one is due every 20 ms, so the last request is sent ~800 ms late
+        assertThat(summary.getUncorrectedLatency().getMax()).isLessThan(Duration.ofMillis(500));
+        assertThat(summary.getLatency().getMax()).isGreaterThan(Duration.ofMillis(700));
+        assertThat(summary.getLatency().getValueAtPercentile(50)).isGreaterThan(summary.getUncorrectedLatency().getValueAtPercentile(50));
+    }
+
+    @Test
+    public void run_closedLoop_correctedAndUncorrectedLatencyAreTheSame() {
+        LoadTestSummary summary = Bastion.load(GeneralRequest.get(getUrl("/nigiri"))).forIterations(5).run();
+        assertThat(summary.getUncorrectedLatency()).isSameAs(summary.getLatency());
+    }
+
+    @Test
+    public void run_rampUpWithoutRate_throwsException() {
+        assertThatThrownBy(() -> Bastion.load(GeneralRequest.get(getUrl("/nigiri"))).rampUp(Duration.ofSeconds(1)).forIterations(1).run())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("rampUp() was set without atRate(): a ramp-up only applies to an open-loop run with a target rate");
+    }
+
+    @Test
+    public void run_noStopCondition_throwsException() {
+        assertThatThrownBy(() -> Bastion.load(GeneralRequest.get(getUrl("/nigiri"))).run()).isInstanceOf(IllegalStateException.class)
+                .hasMessage("forIterations() or forDuration() must be called before run()");
+    }
+
+    @Test
+    public void run_finiteFeed_everyRequestSentOnce() {
+        RequestFeed feed = DataFeeder.fromCsv("classpath:/rocks/bastion/core/feed/sushi.csv")
+                .jsonRequests(HttpMethod.POST, getUrl("/sushi"), "classpath:/rocks/bastion/core/feed/sushi-template.json");
+        LoadTestSummary summary = Bastion.load("Menu", feed)
+                .workers(3)
+                .withAssertions(StatusCodeAssertions.expecting(201))
+                .run();
+
+        assertThat(summary.getName()).isEqualTo("Requests fed from classpath:/rocks/bastion/core/feed/sushi.csv - Menu");
+        assertThat(summary.getRequestCount()).isEqualTo(4);
+        assertThat(summary.getErrorCount()).isZero();
+        assertThat(summary.getAssertionFailureCount()).isZero();
+    }
+
+    @Test
+    public void run_feedShardedByWorker_everyRequestSentOnce() {
+        RequestFeed feed = DataFeeder.fromJsonLines("classpath:/rocks/bastion/core/feed/sushi.jsonl")
+                .shardedByWorker()
+                .jsonRequests(HttpMethod.POST, getUrl("/sushi"), "classpath:/rocks/bastion/core/feed/sushi-template.json");
+        LoadTestSummary summary = Bastion.load(feed).workers(2).run();
+
+        assertThat(summary.getRequestCount()).isEqualTo(3);
+        assertThat(summary.getErrorCount()).isZero();
+    }
+
+    @Test
+    public void run_openLoopCircularFeedForIterations_feedRepeated() {
+        RequestFeed feed = DataFeeder.fromJsonLines("classpath:/rocks/bastion/core/feed/sushi.jsonl")
+                .circular()
+                .jsonRequests(HttpMethod.POST, getUrl("/sushi"), "classpath:/rocks/bastion/core/feed/sushi-template.json");
+        LoadTestSummary summary = Bastion.load(feed).atRate(200).forIterations(10).run();
+
+        assertThat(summary.getRequestCount()).isEqualTo(10);
+        assertThat(summary.getErrorCount()).isZero();
+    }
+
+    @Test
+    public void run_circularFeedWithoutStopCondition_throwsException() {
+        RequestFeed feed = DataFeeder.fromJsonLines("classpath:/rocks/bastion/core/feed/sushi.jsonl")
+                .circular()
+                .jsonRequests(HttpMethod.POST, getUrl("/sushi"), "classpath:/rocks/bastion/core/feed/sushi-template.json");
+
+        assertThatThrownBy(() -> Bastion.load(feed).run()).isInstanceOf(IllegalStateException.class)
+                .hasMessage("forIterations() or forDuration() must be called before run()");
+    }
+}
@@ -1,9 +1,16 @@
 package rocks.bastion.core.printer;
 
 import org.apache.http.entity.ContentType;
+import org.junit.After;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import rocks.bastion.core.*;
+import rocks.bastion.core.resource.ResourceLoader;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -16,6 +23,16 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 public class HttpRequestPrinterTest {
 
+    private static final long DEFAULT_MAPPING_THRESHOLD = ResourceLoader.getMappingThreshold();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @After
+    public void restoreMappingThreshold() {
+        ResourceLoader.setMappingThreshold(DEFAULT_MAPPING_THRESHOLD);
+    }
+
     @Test
     public void getAsString() throws Exception {
         HttpRequestPrinter printer = new HttpRequestPrinter(prepareRequest());
@@ -31,6 +48,32 @@ public class HttpRequestPrinterTest {
                 "}");
     }
 
+    @Test
+    public void getAsString_jsonFileRequest_printsFileContent() throws Exception {
+        HttpRequestPrinter printer = new HttpRequestPrinter(FileRequest.post("http://test.test/sushi", "classpath:/rocks/bastion/core/request/test-body.json"));
+
+        assertThat(printer.getAsString()).endsWith("\r\n\r\n{\n  \"name\": \"john\",\n  \"timestamp\": \"2016-10-15T20:00:25+0100\",\n"
+                + "  \"favourites\": {\n    \"food\": \"apples\",\n    \"colours\": [\"blue\", \"red\"],\n    \"number\": 23\n  }\n}");
+    }
+
+    @Test
+    public void getAsString_jsonFileLargerThanMappingThreshold_printsFirstBytes() throws Exception {
+        File file = temporaryFolder.newFile("order.json");
+        Files.write(file.toPath(), "{\"sushi\":\"nigiri\",\"count\":12}".getBytes(StandardCharsets.UTF_8));
+        ResourceLoader.setMappingThreshold(16);
+
+        HttpRequestPrinter printer = new HttpRequestPrinter(FileRequest.post("http://test.test/sushi", file.toURI().toString()));
+
+        assertThat(printer.getAsString()).endsWith("\r\n\r\n{\"sushi\":\"nigiri\r\n[13 more bytes]");
+    }
+
+    @Test
+    public void getAsString_imageFileRequest_printsPlaceholder() throws Exception {
+        HttpRequestPrinter printer = new HttpRequestPrinter(FileRequest.post("http://test.test/sushi/photo", "classpath:/rocks/bastion/core/request/nigiri.jpg"));
+
+        assertThat(printer.getAsString()).contains("Content-Type: image/jpeg\r\n").endsWith(".jpg]");
+    }
+
     private HttpRequest prepareRequest() {
         return new HttpRequest() {
             @Override
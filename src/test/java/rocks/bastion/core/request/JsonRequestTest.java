@@ -1,25 +1,71 @@
 package rocks.bastion.core.request;
 
 import org.apache.http.entity.ContentType;
+import org.junit.After;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import rocks.bastion.core.ApiHeader;
 import rocks.bastion.core.ApiQueryParam;
 import rocks.bastion.core.HttpMethod;
 import rocks.bastion.core.json.InvalidJsonException;
 import rocks.bastion.core.json.JsonRequest;
+import rocks.bastion.core.resource.ResourceLoader;
 import rocks.bastion.core.resource.ResourceNotFoundException;
 import rocks.bastion.support.embedded.Sushi;
 
+import java.io.File;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class JsonRequestTest {
 
+    private static final long DEFAULT_MAPPING_THRESHOLD = ResourceLoader.getMappingThreshold();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @After
+    public void restoreMappingThreshold() {
+        ResourceLoader.setMappingThreshold(DEFAULT_MAPPING_THRESHOLD);
+    }
+
+    @Test
+    public void fromResource_largeFile_bodyIsMappedFile() throws Exception {
+        String json = "{ \"key\":\"value\", \"array\":[ \"1\", \"test\" ] }";
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), json.getBytes(StandardCharsets.UTF_8));
+        ResourceLoader.setMappingThreshold(16);
+
+        JsonRequest request = JsonRequest.fromResource(HttpMethod.POST, "http://test.test", file.toURI().toString());
+
+        assertThat(request.body()).isInstanceOf(MappedByteBuffer.class);
+        assertThat(StandardCharsets.UTF_8.decode((ByteBuffer) request.body()).toString()).isEqualTo(json);
+        assertThat(StandardCharsets.UTF_8.decode((ByteBuffer) request.body()).toString()).isEqualTo(json);
+        assertThat(request.contentType()).hasValueSatisfying(contentType -> assertThat(contentType.getMimeType()).isEqualTo("application/json"));
+    }
+
+    @Test
+    public void fromResource_largeFileWithInvalidJson_shouldThrowException() throws Exception {
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), "{ \"key\":\"value\", \"array\":[ \"1\", \"test\" }".getBytes(StandardCharsets.UTF_8));
+        ResourceLoader.setMappingThreshold(16);
+
+        assertThatThrownBy(() -> JsonRequest.fromResource(HttpMethod.POST, "http://test.test", file.toURI().toString()))
+                .isInstanceOf(InvalidJsonException.class)
+                .hasMessageStartingWith("The resource " + file.toURI() + " is not valid JSON text");
+    }
+
     @Test(expected = InvalidJsonException.class)
     public void fromString_invalidJson_shouldThrowException() throws Exception {
         JsonRequest request = JsonRequest.fromString(HttpMethod.POST, "http://test.test", "{ \"key\":\"value\", \"array\":[ \"1\", \"test\" }");
@@ -0,0 +1,113 @@
+package rocks.bastion.core.resource;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResourceLoaderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void load_classpathResourceLoadedTwice_sameContent() {
+        String source = "classpath:/json/create_sushi_request.json";
+
+        assertThat(new ResourceLoader(source).load()).contains("\"name\": \"sashimi\"").isEqualTo(new ResourceLoader(source).load());
+        assertThat(new ResourceLoader(source).getPath()).isPresent();
+    }
+
+    @Test
+    public void loadBytes_modifyReturnedArray_cachedContentUnchanged() {
+        String source = "classpath:/json/create_sushi_request.json";
+        byte[] bytes = new ResourceLoader(source).loadBytes();
+        Arrays.fill(bytes, (byte) 0);
+
+        assertThat(new ResourceLoader(source).loadBytes()).isNotEqualTo(bytes);
+    }
+
+    @Test
+    public void loadBuffer_readOnlyViewOfContent() {
+        ResourceLoader resourceLoader = new ResourceLoader("classpath:/json/create_sushi_request.json");
+        ByteBuffer buffer = resourceLoader.loadBuffer();
+        buffer.get();
+
+        assertThat(buffer.isReadOnly()).isTrue();
+        assertThat(resourceLoader.loadBuffer().remaining()).isEqualTo(resourceLoader.loadBytes().length).isEqualTo(buffer.remaining() + 1);
+    }
+
+    @Test
+    public void load_charset_decodesContent() throws Exception {
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), "Ōtoro".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(new ResourceLoader(file.toURI().toString()).load(StandardCharsets.UTF_8)).isEqualTo("Ōtoro");
+    }
+
+    @Test
+    public void load_fileChanged_readAgain() throws Exception {
+        File file = temporaryFolder.newFile();
+        String source = file.toURI().toString();
+        Files.write(file.toPath(), "Salmon".getBytes(StandardCharsets.UTF_8));
+        assertThat(new ResourceLoader(source).load()).isEqualTo("Salmon");
+
+        Files.write(file.toPath(), "Yellowtail".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(new ResourceLoader(source).load()).isEqualTo("Yellowtail");
+    }
+
+    @Test
+    public void constructor_cachedFileDeleted_throwsException() throws Exception {
+        File file = temporaryFolder.newFile();
+        String source = file.toURI().toString();
+        Files.write(file.toPath(), "Salmon".getBytes(StandardCharsets.UTF_8));
+        new ResourceLoader(source).load();
+
+        Files.delete(file.toPath());
+
+        assertThatThrownBy(() -> new ResourceLoader(source)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void loadBuffer_largeFile_memoryMapped() throws Exception {
+        File file = temporaryFolder.newFile();
+        byte[] content = new byte[(int) ResourceCache.DEFAULT_MAPPING_THRESHOLD];
+        Arrays.fill(content, (byte) 'a');
+        Files.write(file.toPath(), content);
+
+        ByteBuffer buffer = new ResourceLoader(file.toURI().toString()).loadBuffer();
+
+        assertThat(buffer.isDirect()).isTrue();
+        assertThat(buffer.remaining()).isEqualTo((int) ResourceCache.DEFAULT_MAPPING_THRESHOLD);
+    }
+
+    @Test
+    public void isMapped_fileAboveConfiguredThreshold_memoryMapped() throws Exception {
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), "Salmon Nigiri".getBytes(StandardCharsets.UTF_8));
+        long defaultThreshold = ResourceLoader.getMappingThreshold();
+        ResourceLoader.setMappingThreshold(8);
+        try {
+            ResourceLoader resourceLoader = new ResourceLoader(file.toURI().toString());
+
+            assertThat(resourceLoader.isMapped()).isTrue();
+            assertThat(resourceLoader.load(StandardCharsets.UTF_8)).isEqualTo("Salmon Nigiri");
+        } finally {
+            ResourceLoader.setMappingThreshold(defaultThreshold);
+        }
+    }
+
+    @Test
+    public void constructor_missingResource_throwsException() {
+        assertThatThrownBy(() -> new ResourceLoader("classpath:/rocks/bastion/core/resource/missing.json")).isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,31 @@
+package rocks.bastion.core.transport;
+
+import org.apache.http.client.config.RequestConfig;
+import org.junit.Test;
+import rocks.bastion.core.HttpRequest;
+import rocks.bastion.core.configuration.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ApacheHttpTransportTest {
+
+    @Test
+    public void prepareRequestConfig_timeoutLongerThanIntRange_clampedInsteadOfWrapped() {
+        RequestConfig requestConfig = new ApacheHttpTransport(new Configuration()).prepareRequestConfig(Integer.MAX_VALUE + 1L);
+
+        assertThat(requestConfig.getConnectTimeout()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(requestConfig.getSocketTimeout()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void prepareRequestConfig_globalTimeoutsLongerThanIntRange_clampedInsteadOfWrapped() {
+        Configuration configuration = new Configuration();
+        configuration.getHttpClientConfiguration().setConnectTimeout(Long.MAX_VALUE);
+        configuration.getHttpClientConfiguration().setSocketTimeout(4_000_000_000L);
+
+        RequestConfig requestConfig = new ApacheHttpTransport(configuration).prepareRequestConfig(HttpRequest.USE_GLOBAL_TIMEOUT);
+
+        assertThat(requestConfig.getConnectTimeout()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(requestConfig.getSocketTimeout()).isEqualTo(Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,134 @@
+package rocks.bastion.core.transport;
+
+import com.google.common.io.CharStreams;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import rocks.bastion.Bastion;
+import rocks.bastion.core.ApiHeader;
+import rocks.bastion.core.BastionFactory;
+import rocks.bastion.core.GeneralRequest;
+import rocks.bastion.core.HttpMethod;
+import rocks.bastion.core.HttpRequest;
+import rocks.bastion.core.RawResponse;
+import rocks.bastion.core.RequestExecutor;
+import rocks.bastion.core.Response;
+import rocks.bastion.core.StatusCodeAssertions;
+import rocks.bastion.core.configuration.Configuration;
+import rocks.bastion.core.json.JsonRequest;
+import rocks.bastion.core.json.JsonResponseAssertions;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InProcessTransportTest {
+
+    private HttpTransport originalTransport;
+
+    @Before
+    public void setupInProcessTransport() {
+        Configuration configuration = BastionFactory.getDefaultBastionFactory().getConfiguration();
+        originalTransport = configuration.getTransport();
+        configuration.setTransport(new InProcessTransport()
+                .handle(HttpMethod.GET, "/sushi/{id}", request -> jsonResponse(200, "OK", "{ \"id\":5, \"name\":\"Salmon Nigiri\", \"price\":23.55 }"))
+                .handle(HttpMethod.POST, "/sushi", request -> jsonResponse(201, "Created", readBody(request))));
+    }
+
+    @After
+    public void restoreTransport() {
+        BastionFactory.getDefaultBastionFactory().getConfiguration().setTransport(originalTransport);
+    }
+
+    @Test
+    public void request_inProcessTransport_assertionsRunWithoutServer() {
+        Bastion.request("Get Sushi", GeneralRequest.get("http://sushi-shop.test/sushi/5"))
+                .withAssertions(JsonResponseAssertions.fromString(200, "{ \"id\":5, \"name\":\"Salmon Nigiri\", \"price\":23.55 }"))
+                .call();
+        Bastion.request("Create Sushi", JsonRequest.postFromString("http://sushi-shop.test/sushi", "{ \"name\":\"Tuna Nigiri\" }"))
+                .withAssertions(JsonResponseAssertions.fromString(201, "{ \"name\":\"Tuna Nigiri\" }"))
+                .call();
+    }
+
+    @Test
+    public void send_noRouteMatches_notFoundReturned() {
+        Bastion.request("Delete Sushi", GeneralRequest.delete("http://sushi-shop.test/sushi/5", ""))
+                .withAssertions(StatusCodeAssertions.expecting(404))
+                .call();
+        Bastion.request("Get Menu", GeneralRequest.get("http://sushi-shop.test/sushi/5/menu"))
+                .withAssertions(StatusCodeAssertions.expecting(404))
+                .call();
+    }
+
+    @Test
+    public void send_routesForAnyMethod_firstRegisteredRouteWins() throws Exception {
+        InProcessTransport transport = new InProcessTransport()
+                .handle("/sushi/*", request -> textResponse(200, "OK", "any " + request.getMethod()))
+                .handle(HttpMethod.PUT, "/sushi/5", request -> textResponse(200, "OK", "put"));
+
+        Response response = transport.send(new TransportRequest("PUT", URI.create("http://sushi-shop.test/sushi/5"), Collections.emptyList(), null,
+                HttpRequest.USE_GLOBAL_TIMEOUT));
+
+        assertThat(CharStreams.toString(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))).isEqualTo("any PUT");
+    }
+
+    @Test
+    public void send_resolvedRequest_passedToHandler() throws Exception {
+        AtomicReference<TransportRequest> received = new AtomicReference<>();
+        Configuration configuration = new Configuration();
+        configuration.getGlobalRequestAttributes().setGlobalHeaders(Collections.singletonList(new ApiHeader("X-Shop", "Sushi Bar")));
+        configuration.setTransport(new InProcessTransport(request -> {
+            received.set(request);
+            return textResponse(201, "Created", "Order placed");
+        }));
+
+        GeneralRequest request = GeneralRequest.post("http://sushi-shop.test/sushi/{id}", "{ \"name\": \"Tuna Nigiri\" }")
+                .addRouteParam("id", "5")
+                .addQueryParam("fresh", "very fresh");
+        Response response = new RequestExecutor(request, configuration).execute();
+
+        assertThat(response.getStatusCode()).isEqualTo(201);
+        assertThat(CharStreams.toString(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))).isEqualTo("Order placed");
+        assertThat(received.get().getMethod()).isEqualTo("POST");
+        assertThat(received.get().getUri()).isEqualTo(URI.create("http://sushi-shop.test/sushi/5?fresh=very+fresh"));
+        assertThat(received.get().getHeader("x-shop")).contains("Sushi Bar");
+        assertThat(received.get().getHeader("Content-Type")).contains("text/plain; charset=ISO-8859-1");
+        assertThat(received.get().getBody()).isEqualTo("{ \"name\": \"Tuna Nigiri\" }");
+    }
+
+    @Test
+    public void send_handlerReturnsNoResponse_throwsIllegalStateException() {
+        Configuration configuration = new Configuration();
+        configuration.setTransport(new InProcessTransport(request -> null));
+
+        assertThatThrownBy(() -> new RequestExecutor(GeneralRequest.get("http://sushi-shop.test/nigiri"), configuration).execute())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("The handler returned no response for GET http://sushi-shop.test/nigiri");
+    }
+
+    private static String readBody(TransportRequest request) {
+        try (InputStreamReader reader = new InputStreamReader(request.openBody(), StandardCharsets.UTF_8)) {
+            return CharStreams.toString(reader);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static Response jsonResponse(int statusCode, String statusText, String body) {
+        return new RawResponse(statusCode, statusText, Collections.singletonList(new ApiHeader("Content-Type", "application/json")),
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Response textResponse(int statusCode, String statusText, String body) {
+        return new RawResponse(statusCode, statusText, Collections.singletonList(new ApiHeader("Content-Type", "text/plain")),
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,106 @@
+package rocks.bastion.core.view;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Test;
+import rocks.bastion.core.ApiHeader;
+import rocks.bastion.core.RawResponse;
+import rocks.bastion.core.Response;
+import rocks.bastion.core.configuration.JsonMappers;
+import rocks.bastion.support.embedded.Sushi;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JsonArrayViewTest {
+
+    @Test
+    public void stream_topLevelArray_elementsBoundToModel() {
+        JsonArrayView view = viewOf("[{ \"name\":\"Salmon Nigiri\", \"price\":5.5 }, { \"name\":\"Tuna Maki\", \"price\":4 }]");
+
+        try (Stream<Sushi> sushi = view.stream(Sushi.class)) {
+            assertThat(sushi.map(Sushi::getName).collect(Collectors.toList())).containsExactly("Salmon Nigiri", "Tuna Maki");
+        }
+        try (Stream<Sushi> sushi = view.stream(Sushi.class)) {
+            assertThat(sushi.map(Sushi::getPrice).reduce(BigDecimal.ZERO, BigDecimal::add)).isEqualByComparingTo("9.5");
+        }
+    }
+
+    @Test
+    public void stream_nestedArrayByJsonPointer_siblingsSkipped() {
+        JsonArrayView view = viewOf("{ \"meta\": { \"items\": [0] }, \"data\": { \"count\": 2, \"items\": [1, { \"n\": 2 }, null] } }");
+
+        try (Stream<JsonNode> items = view.stream("/data/items", JsonNode.class)) {
+            assertThat(items.map(JsonNode::toString).collect(Collectors.toList())).containsExactly("1", "{\"n\":2}", "null");
+        }
+    }
+
+    @Test
+    public void iterator_arrayInsideArray_addressedByIndex() {
+        JsonArrayView view = viewOf("{ \"pages\": [[\"a\"], [\"b\", \"c\"]] }");
+
+        List<String> elements = new ArrayList<>();
+        JsonArrayView.ElementIterator<String> iterator = view.iterator("/pages/1", String.class);
+        iterator.forEachRemaining(elements::add);
+
+        assertThat(elements).containsExactly("b", "c");
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void iterator_noArrayAtPointer_throwsIllegalStateException() {
+        JsonArrayView view = viewOf("{ \"data\": { \"items\": 3 } }");
+
+        assertThatThrownBy(() -> view.iterator("/data/items", JsonNode.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("The response does not contain a JSON array at \"/data/items\".");
+        assertThatThrownBy(() -> view.iterator("/data/missing", JsonNode.class)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void iterator_closedEarly_stopsReading() {
+        JsonArrayView view = viewOf("[1, 2, 3]");
+
+        JsonArrayView.ElementIterator<Integer> iterator = view.iterator(Integer.class);
+        assertThat(iterator.next()).isEqualTo(1);
+        iterator.close();
+
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void decoder_jsonArrayViewRequested_jsonDecoderNotRun() {
+        ResponseDecoderRegistry registry = new ResponseDecoderRegistry();
+        registry.register(new JsonResponseDecoder() {
+            @Override
+            public Bindings decode(Response response, DecodingHints hints) {
+                throw new AssertionError("The JSON tree should not be built");
+            }
+        });
+        registry.register(new StreamingJsonResponseDecoder());
+        registry.register(new StringResponseDecoder());
+        Response response = response("[true, false]");
+
+        Bindings bindings = new ViewBinder(response, registry.getDecoders(response)).bind(new DecodingHints(null));
+
+        assertThat(bindings.getViewForType(JsonArrayView.class)).isPresent();
+        assertThat(bindings.getViewForType(JsonArrayView.class).get().stream(Boolean.class).collect(Collectors.toList())).containsExactly(true, false);
+    }
+
+    private static JsonArrayView viewOf(String json) {
+        return new JsonArrayView(response(json), JsonMappers.defaults());
+    }
+
+    private static Response response(String body) {
+        return new RawResponse(200, "OK", Collections.singletonList(new ApiHeader("Content-Type", "application/json")),
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
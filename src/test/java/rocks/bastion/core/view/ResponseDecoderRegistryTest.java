@@ -0,0 +1,119 @@
+package rocks.bastion.core.view;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Test;
+import rocks.bastion.core.ApiHeader;
+import rocks.bastion.core.RawResponse;
+import rocks.bastion.core.Response;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResponseDecoderRegistryTest {
+
+    @Test
+    public void getDecoders_vendorJsonType_jsonDecoderApplies() {
+        ResponseDecoderRegistry registry = defaultRegistry();
+        Response response = response("application/vnd.sushi+json", "{ \"name\":\"Salmon Nigiri\" }");
+
+        Bindings bindings = new ViewBinder(response, registry.getDecoders(response)).bind(new DecodingHints(null));
+
+        assertThat(bindings.getViewForType(JsonNode.class)).hasValueSatisfying(json -> assertThat(json.get("name").asText()).isEqualTo("Salmon Nigiri"));
+        assertThat(bindings.getViewForType(String.class)).hasValue("{ \"name\":\"Salmon Nigiri\" }");
+    }
+
+    @Test
+    public void getDecoders_nonJsonType_jsonDecoderNotOffered() {
+        ResponseDecoderRegistry registry = defaultRegistry();
+
+        assertThat(registry.getDecoders("text/html")).hasSize(1).hasOnlyElementsOfType(StringResponseDecoder.class);
+        assertThat(registry.getDecoders("application/jsonp")).hasSize(1).hasOnlyElementsOfType(StringResponseDecoder.class);
+    }
+
+    @Test
+    public void getDecoders_samePriority_lastRegisteredWins() {
+        ResponseDecoderRegistry registry = new ResponseDecoderRegistry();
+        ResponseDecoder exact = new StringResponseDecoder();
+        ResponseDecoder suffix = new StringResponseDecoder();
+        ResponseDecoder wildcard = new StringResponseDecoder();
+        registry.register(exact, 0, Collections.singletonList("application/vnd.sushi+json"));
+        registry.register(suffix, 0, Collections.singletonList("application/*+json"));
+        registry.register(wildcard, 0, Collections.singletonList("*/*"));
+
+        assertThat(registry.getDecoders("Application/Vnd.Sushi+JSON")).containsExactly(exact, suffix, wildcard);
+    }
+
+    @Test
+    public void getDecoders_jsonResponseWithDefaultDecoders_objectViewIsString() {
+        ResponseDecoderRegistry registry = new ResponseDecoderRegistry();
+        registry.register(new JsonResponseDecoder());
+        registry.register(new StreamingJsonResponseDecoder());
+        registry.register(new StringResponseDecoder());
+        Response response = response("application/json", "{ \"name\":\"Salmon Nigiri\" }");
+
+        Bindings bindings = new ViewBinder(response, registry.getDecoders(response)).bind(new DecodingHints(null));
+
+        assertThat(bindings.getViewForType(Object.class)).hasValue("{ \"name\":\"Salmon Nigiri\" }");
+    }
+
+    @Test
+    public void getDecoders_higherPriority_winsOverSpecificRange() {
+        ResponseDecoderRegistry registry = new ResponseDecoderRegistry();
+        ResponseDecoder exact = new StringResponseDecoder();
+        ResponseDecoder fallback = new StringResponseDecoder();
+        registry.register(exact, 0, Collections.singletonList("text/plain"));
+        registry.register(fallback, 10, Collections.singletonList("text/*"));
+
+        assertThat(registry.getDecoders("text/plain")).containsExactly(exact, fallback);
+    }
+
+    @Test
+    public void getDecoders_decoderRegisteredAfterLookup_lookupRecomputed() {
+        ResponseDecoderRegistry registry = defaultRegistry();
+        assertThat(registry.getDecoders("application/json")).isSameAs(registry.getDecoders("application/json"));
+
+        BinaryResponseDecoder<BigInteger> decoder = new BinaryResponseDecoder<>(BigInteger.class, body -> BigInteger.ONE, "application/*");
+        registry.register(decoder);
+
+        assertThat(registry.getDecoders("application/json")).contains(decoder);
+    }
+
+    @Test
+    public void register_invalidMediaRange_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> new ResponseDecoderRegistry().register(new StringResponseDecoder(), 0, Collections.singletonList("json")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("\"json\" is not a valid media range.");
+    }
+
+    @Test
+    public void binaryDecoder_registeredForOwnFormat_viewReadFromBytes() {
+        ResponseDecoderRegistry registry = defaultRegistry();
+        registry.register(new BinaryResponseDecoder<>(BigInteger.class, body -> new BigInteger(1, new byte[]{(byte) body.read(), (byte) body.read()}),
+                "application/x-sushi-count"));
+        Response response = new RawResponse(200, "OK", Collections.singletonList(new ApiHeader("Content-Type", "application/x-sushi-count")),
+                new ByteArrayInputStream(new byte[]{1, 0}));
+
+        Bindings bindings = new ViewBinder(response, registry.getDecoders(response)).bind(new DecodingHints(null));
+
+        assertThat(bindings.getViewForType(BigInteger.class)).hasValue(BigInteger.valueOf(256));
+        assertThat(bindings.getViewForType(Number.class)).hasValue(BigInteger.valueOf(256));
+        assertThat(bindings.getViewForType(JsonNode.class)).isEmpty();
+    }
+
+    private static ResponseDecoderRegistry defaultRegistry() {
+        ResponseDecoderRegistry registry = new ResponseDecoderRegistry();
+        registry.register(new JsonResponseDecoder());
+        registry.register(new StringResponseDecoder());
+        return registry;
+    }
+
+    private static Response response(String contentType, String body) {
+        return new RawResponse(200, "OK", Collections.singletonList(new ApiHeader("Content-Type", contentType)),
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -7,6 +7,7 @@ import rocks.bastion.core.Response;
 
 import java.io.ByteArrayInputStream;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -33,8 +34,40 @@ public class ViewBinderTest {
                 .hasValueSatisfying(buffer -> buffer.toString().equals("Bound string buffer"));
     }
 
+    @Test
+    public void bind_noViewRequested_decodersNotRun() throws Exception {
+        CountingDecoder decoder = new CountingDecoder();
+        new ViewBinder(emptyResponse(), Lists.newArrayList(decoder)).bind(new DecodingHints(null));
+        assertThat(decoder.decodeCount.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void bind_viewRequestedManyTimes_decoderRunOnce() throws Exception {
+        CountingDecoder decoder = new CountingDecoder();
+        Bindings bindings = new ViewBinder(emptyResponse(), Lists.newArrayList(decoder)).bind(new DecodingHints(null));
+
+        assertThat(bindings.getViewForType(Integer.class)).hasValue(42);
+        assertThat(bindings.getViewForType(Number.class)).hasValue(42);
+        assertThat(bindings.getViewForType(Integer.class)).hasValue(42);
+        assertThat(decoder.decodeCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void bind_viewTypeNotProducedByDecoder_decoderNotRun() throws Exception {
+        CountingDecoder decoder = new CountingDecoder();
+        Bindings bindings = new ViewBinder(emptyResponse(), Lists.newArrayList(new TestDecoder<>(String.class, "Bound string"), decoder))
+                .bind(new DecodingHints(null));
+
+        assertThat(bindings.getViewForType(String.class)).hasValue("Bound string");
+        assertThat(decoder.decodeCount.get()).isEqualTo(0);
+    }
+
+    private static RawResponse emptyResponse() {
+        return new RawResponse(200, "OK", Collections.emptyList(), new ByteArrayInputStream(new byte[0]));
+    }
+
     private ViewBinder viewBinderForStrings() {
-        return new ViewBinder(new RawResponse(200, "OK", Collections.emptyList(), new ByteArrayInputStream(new byte[0])),
+        return new ViewBinder(emptyResponse(),
                               Lists.newArrayList(new TestDecoder<>(String.class, "Bound string"),
                                                  new TestDecoder<>(StringBuffer.class,
                                                                    new StringBuffer("Bound string buffer"))));
@@ -55,4 +88,20 @@ public class ViewBinderTest {
             return Bindings.hierarchy(bindType, viewObject);
         }
     }
-}
\ No newline at end of file
+
+    private static final class CountingDecoder implements ResponseDecoder {
+
+        private final AtomicInteger decodeCount = new AtomicInteger();
+
+        @Override
+        public Bindings decode(Response response, DecodingHints hints) {
+            decodeCount.incrementAndGet();
+            return Bindings.hierarchy(Integer.class, 42);
+        }
+
+        @Override
+        public boolean canProduce(Class<?> viewType, DecodingHints hints) {
+            return viewType.isAssignableFrom(Integer.class);
+        }
+    }
+}
@@ -125,6 +125,25 @@ public class SushiService {
                 }
         );
 
+        post("/sushi/photo", (req, res) -> {
+            res.type(req.contentType());
+            res.header("X-Received-Length", String.valueOf(req.bodyAsBytes().length));
+            res.header("X-Received-Transfer-Encoding", String.valueOf(req.headers("Transfer-Encoding")));
+            return req.bodyAsBytes();
+        });
+
+        get("/tempura", (req, res) -> {
+                    res.header("Content-type", "application/json");
+                    Sushi sushi = new Sushi();
+                    sushi.setId(7L);
+                    sushi.setName("Tempura");
+                    //quickly fried, but never instant
+                    Thread.sleep(100L);
+                    sushi.setPrice(new BigDecimal("8.50"));
+                    return sushi;
+                }
+        );
+
         exception(RuntimeException.class, (ex, req, res) -> {
             res.header("Content-type", "application/json");
             res.body(json.render(INTERNAL_SERVER_ERROR.toResponse(res, getRootCauseMessage(ex))));
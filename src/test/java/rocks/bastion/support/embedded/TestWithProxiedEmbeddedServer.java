@@ -1,8 +1,5 @@
 package rocks.bastion.support.embedded;
 
-import com.mashape.unirest.http.Unirest;
-import com.mashape.unirest.http.options.Option;
-import com.mashape.unirest.http.options.Options;
 import org.apache.http.HttpHost;
 import org.apache.http.client.HttpClient;
 import org.apache.http.config.RegistryBuilder;
@@ -18,6 +15,8 @@ import org.apache.http.impl.conn.DefaultSchemePortResolver;
 import org.apache.http.impl.conn.SystemDefaultDnsResolver;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
+import rocks.bastion.core.BastionFactory;
+import rocks.bastion.core.configuration.Configuration;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
@@ -32,13 +31,14 @@ public class TestWithProxiedEmbeddedServer extends TestWithEmbeddedServer {
         DefaultSchemePortResolver schemePortResolver = prepareSchemePortResolver();
         BasicHttpClientConnectionManager connManager = prepareConnectionManager(dnsResolver, schemePortResolver);
         HttpClient httpClient = prepareHttpClient(connManager);
-        originalHttpClient = (HttpClient) Options.getOption(Option.HTTPCLIENT);
-        Unirest.setHttpClient(httpClient);
+        Configuration configuration = BastionFactory.getDefaultBastionFactory().getConfiguration();
+        originalHttpClient = configuration.getHttpClient();
+        configuration.setHttpClient(httpClient);
     }
 
     @AfterClass
     public static void cleanupProxying() {
-        Unirest.setHttpClient(originalHttpClient);
+        BastionFactory.getDefaultBastionFactory().getConfiguration().setHttpClient(originalHttpClient);
     }
 
     private static DefaultSchemePortResolver prepareSchemePortResolver() {